@@ -0,0 +1,80 @@
+package com.example.products.benchmarks;
+
+import com.example.products.dto.ChargeResult;
+import com.example.products.dto.ChargeTransaction;
+import com.example.products.service.ChargeEngine;
+import com.example.products.service.PricingRuleIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Charge calculation from the compiled charge tables: one transaction at a time, and
+ * an NDJSON run of {@value #RUN_SIZE} transactions including parsing and writing.
+ * Throughput is reported per transaction.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChargeEngineBenchmark {
+
+    static final int RUN_SIZE = 100_000;
+
+    private ChargeEngine chargeEngine;
+    private byte[] run;
+
+    @Setup
+    public void prepare(SeededContext context) {
+        chargeEngine = context.bean(ChargeEngine.class);
+        PricingRuleIndex pricingRuleIndex = context.bean(PricingRuleIndex.class);
+        // Measure the steady state: every product's charge table already compiled
+        for (long productId : context.productIds()) {
+            pricingRuleIndex.snapshot(productId);
+        }
+
+        StringBuilder lines = new StringBuilder(RUN_SIZE * 80);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < RUN_SIZE; i++) {
+            lines.append("{\"reference\":\"T").append(i)
+                    .append("\",\"productId\":").append(context.randomProductId())
+                    .append(",\"txnTypeId\":").append(context.randomTxnType())
+                    .append(",\"amount\":").append(random.nextInt(100, 5_000_000)).append('.').append(random.nextInt(10, 100))
+                    .append("}\n");
+        }
+        run = lines.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public ChargeResult single(SeededContext context) {
+        ChargeTransaction transaction = new ChargeTransaction();
+        transaction.setProductId(context.randomProductId());
+        transaction.setTxnTypeId(context.randomTxnType());
+        transaction.setAmount(BigDecimal.valueOf(ThreadLocalRandom.current().nextLong(10_000, 500_000_000), 2));
+        return chargeEngine.calculate(transaction);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RUN_SIZE)
+    public long stream() throws IOException {
+        return chargeEngine.calculate(new ByteArrayInputStream(run), OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.products.benchmarks;
+
+import com.example.products.entity.BusinessRule;
+import com.example.products.entity.Product;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cost of encoding 10k-row product and business-rule lists as JSON, CBOR and Smile,
+ * with and without gzip at the default level (what Tomcat's response compression
+ * uses). The encoded sizes are printed once per trial, before the measurements.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EncodingBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"none", "gzip"})
+    public String compression;
+
+    @Param("10000")
+    public int size;
+
+    private ObjectWriter productWriter;
+    private ObjectWriter ruleWriter;
+    private List<Product> products;
+    private List<BusinessRule> rules;
+    private boolean gzip;
+
+    @Setup
+    public void build() throws IOException {
+        Jackson2ObjectMapperBuilder builder = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile();
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+        // As in the application: ISO date strings in every format
+        ObjectMapper objectMapper = builder.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+        productWriter = objectMapper.writerFor(new TypeReference<List<Product>>() { });
+        ruleWriter = objectMapper.writerFor(new TypeReference<List<BusinessRule>>() { });
+        gzip = "gzip".equals(compression);
+
+        products = SerializationBenchmark.sampleProducts(size);
+        rules = SerializationBenchmark.sampleRules(size);
+        System.out.printf("%n%s/%s, %d rows: products %d bytes, business rules %d bytes%n",
+                format, compression, size, products().length, businessRules().length);
+    }
+
+    @Benchmark
+    public byte[] products() throws IOException {
+        return encode(productWriter, products);
+    }
+
+    @Benchmark
+    public byte[] businessRules() throws IOException {
+        return encode(ruleWriter, rules);
+    }
+
+    private byte[] encode(ObjectWriter writer, Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * 1024);
+        try (OutputStream out = gzip ? new GZIPOutputStream(bytes) : bytes) {
+            writer.writeValue(out, value);
+        }
+        return bytes.toByteArray();
+    }
+}
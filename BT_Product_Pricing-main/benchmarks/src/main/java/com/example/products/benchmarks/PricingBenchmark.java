@@ -0,0 +1,67 @@
+package com.example.products.benchmarks;
+
+import com.example.products.dto.RateMatrixView;
+import com.example.products.service.ProductService;
+import com.example.products.service.RateMatrixService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service-level pricing lookups: the interest rate served from the pricing index,
+ * and the RateMatrixService queries that still go to the database.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PricingBenchmark {
+
+    private ProductService productService;
+    private RateMatrixService rateMatrixService;
+
+    @Setup
+    public void resolve(SeededContext context) {
+        productService = context.bean(ProductService.class);
+        rateMatrixService = context.bean(RateMatrixService.class);
+        // Measure the steady state: every product's rules already in the pricing index
+        for (long productId : context.productIds()) {
+            productService.getInterestRate(productId);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal interestRate(SeededContext context) {
+        return productService.getInterestRate(context.randomProductId());
+    }
+
+    @Benchmark
+    public List<RateMatrixView> ratesByProductId(SeededContext context) {
+        return rateMatrixService.getRatesByProductId(context.randomProductId());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<RateMatrixView> ratesByCustomerCategory(SeededContext context) {
+        return rateMatrixService.getRatesByCustomerCategory(context.randomCategory());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<RateMatrixView> activeRates() {
+        return rateMatrixService.getActiveRates(SeededContext.TODAY);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.products.benchmarks;
+
+import com.example.products.entity.Product;
+import com.example.products.repository.ProductRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ProductRepository queries against the seeded database, bypassing the catalog
+ * cache so each call measures query, mapping and transaction overhead.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RepositoryBenchmark {
+
+    private ProductRepository productRepository;
+
+    @Setup
+    public void resolve(SeededContext context) {
+        productRepository = context.bean(ProductRepository.class);
+    }
+
+    @Benchmark
+    public Optional<Product> findById(SeededContext context) {
+        return productRepository.findById(context.randomProductId());
+    }
+
+    @Benchmark
+    public List<Product> createdOnOneDay() {
+        LocalDateTime start = SeededContext.NOW.minusDays(ThreadLocalRandom.current().nextInt(365)).toLocalDate().atStartOfDay();
+        return productRepository.findProductsCreatedBetween(start, start.plusDays(1));
+    }
+
+    @Benchmark
+    public List<Product> byBranch() {
+        return productRepository.findProductsByUser("BR" + ThreadLocalRandom.current().nextInt(SeededContext.BRANCHES));
+    }
+
+    @Benchmark
+    public List<Product> activeByType() {
+        return productRepository.findActiveProducts(SeededContext.TODAY,
+                "TYPE" + ThreadLocalRandom.current().nextInt(SeededContext.PRODUCT_TYPES));
+    }
+
+    @Benchmark
+    public List<Product> keysetPage(SeededContext context) {
+        return productRepository.findPageAfter(context.randomProductId(), PageRequest.ofSize(50));
+    }
+
+    @Benchmark
+    public List<Product> nameSearch() {
+        return productRepository.findByProductNameContainingIgnoreCase(
+                "deposit " + ThreadLocalRandom.current().nextInt(1_000));
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.products.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and latency percentiles (p0.99 in the SampleTime results) of
+ * database-bound endpoints over HTTP, with 400 concurrent clients, in platform
+ * and virtual-thread request mode. Run on JDK 21+ to get both modes.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(400)
+@Fork(1)
+public class RequestThreadingBenchmark {
+
+    // Keyset page: one uncached query per request
+    @Benchmark
+    public int productsPage(ServedContext served) throws IOException, InterruptedException {
+        return served.get("/cdx-api/product-pricing/page?size=20&after=" + served.randomProductId());
+    }
+
+    @Benchmark
+    public int ratesByProduct(ServedContext served) throws IOException, InterruptedException {
+        return served.get("/cdx-api/rate-matrix/product/" + served.randomProductId());
+    }
+
+    @Benchmark
+    public int rulesByProduct(ServedContext served) throws IOException, InterruptedException {
+        return served.get("/cdx-api/product-pricing/rules/product/" + served.randomProductId());
+    }
+}
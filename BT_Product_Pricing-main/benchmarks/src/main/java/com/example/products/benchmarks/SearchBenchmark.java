@@ -0,0 +1,50 @@
+package com.example.products.benchmarks;
+
+import com.example.products.dto.ProductSuggestion;
+import com.example.products.service.ProductSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency distribution of typeahead queries on the loaded search index. Every seeded
+ * product is named "Fixed Deposit n" with code "Pn", so "f" matches all of them
+ * (the broadest query), "p12" a code prefix of 111, "sit 12" a substring of the
+ * same 111 and "p9999" one code exactly.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SearchBenchmark {
+
+    @Param({"f", "p12", "sit 12", "p9999"})
+    public String query;
+
+    private ProductSearchIndex searchIndex;
+
+    @Setup
+    public void load(SeededContext context) {
+        searchIndex = context.bean(ProductSearchIndex.class);
+        // Measure the steady state: the index loaded from the seeded table
+        searchIndex.suggest("p", 1);
+    }
+
+    @Benchmark
+    public List<ProductSuggestion> suggest() {
+        return searchIndex.suggest(query, ProductSearchIndex.DEFAULT_LIMIT);
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.products.benchmarks;
+
+import com.example.products.ProductsApplication;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The application context on an embedded H2 database (MySQL mode), seeded once per
+ * trial with catalog volumes in line with production: 10k products, 4 rule bands,
+ * 5 customer-category rate rows and 3 charges per product.
+ */
+@State(Scope.Benchmark)
+public class SeededContext {
+
+    static final int PRODUCTS = 10_000;
+    static final int PRODUCT_TYPES = 20;
+    static final int BRANCHES = 50;
+    static final List<String> CATEGORIES = List.of("GENERAL", "SENIOR", "STAFF", "NRI", "CORPORATE");
+    // Transaction types charged: 1 has a percentage charge above a threshold, 2 a flat fee
+    static final long[] TXN_TYPES = {1, 2, 3};
+    static final LocalDate TODAY = LocalDate.of(2025, 10, 15);
+    static final LocalDateTime NOW = TODAY.atTime(10, 0);
+
+    // Command-line arguments, so they win over the MySQL settings in the application's properties
+    static final String[] ARGS = {
+            "--spring.datasource.url=jdbc:h2:mem:benchmarks;MODE=MySQL;DATABASE_TO_LOWER=TRUE;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password=",
+            "--spring.datasource.driver-class-name=org.h2.Driver",
+            "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+            "--spring.jpa.hibernate.ddl-auto=create-drop",
+            "--spring.jpa.show-sql=false",
+            "--products.batch.product-status.mode=disabled",
+            "--logging.level.root=WARN"
+    };
+
+    private ConfigurableApplicationContext context;
+    private long[] productIds;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(ProductsApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(ARGS);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        seed(jdbcTemplate);
+        productIds = jdbcTemplate.queryForList("SELECT product_id FROM products ORDER BY product_id", Long.class)
+                .stream().mapToLong(Long::longValue).toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public long[] productIds() {
+        return productIds;
+    }
+
+    public long randomProductId() {
+        return productIds[ThreadLocalRandom.current().nextInt(productIds.length)];
+    }
+
+    public long randomTxnType() {
+        return TXN_TYPES[ThreadLocalRandom.current().nextInt(TXN_TYPES.length)];
+    }
+
+    public String randomCategory() {
+        return CATEGORIES.get(ThreadLocalRandom.current().nextInt(CATEGORIES.size()));
+    }
+
+    static void seed(JdbcTemplate jdbcTemplate) {
+        List<Object[]> products = new ArrayList<>(PRODUCTS);
+        for (int i = 0; i < PRODUCTS; i++) {
+            LocalDate effective = TODAY.minusDays(i % 730);
+            products.add(new Object[]{"P" + i, "Fixed Deposit " + i, "TYPE" + (i % PRODUCT_TYPES),
+                    Date.valueOf(effective), i % 3 == 0 ? null : Date.valueOf(effective.plusYears(2)),
+                    "BR" + (i % BRANCHES), "INR", "ACTIVE", "Seeded product " + i,
+                    Timestamp.valueOf(NOW.minusHours(i)), Timestamp.valueOf(NOW.minusHours(i))});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO products (product_code, product_name, product_type, effective_date, "
+                + "expiry_date, branch, currency, status, description, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", products);
+
+        List<Long> ids = jdbcTemplate.queryForList("SELECT product_id FROM products ORDER BY product_id", Long.class);
+        int[][] terms = {{7, 90}, {91, 365}, {366, 730}, {731, 3650}};
+        List<Object[]> rules = new ArrayList<>(ids.size() * terms.length);
+        List<Object[]> rates = new ArrayList<>(ids.size() * CATEGORIES.size());
+        List<Object[]> charges = new ArrayList<>(ids.size() * 3);
+        long ruleId = 0;
+        long chargeId = 0;
+        for (int p = 0; p < ids.size(); p++) {
+            Long productId = ids.get(p);
+            for (int band = 0; band < terms.length; band++) {
+                rules.add(new Object[]{++ruleId, productId, terms[band][0], terms[band][1], 1_000, 10_000_000,
+                        5.5 + band * 0.5, "QUARTERLY", true, 1.0, false, 1_000, Timestamp.valueOf(NOW)});
+            }
+            LocalDate effective = TODAY.minusDays(p % 400);
+            for (int c = 0; c < CATEGORIES.size(); c++) {
+                rates.add(new Object[]{productId, CATEGORIES.get(c), 6.5 + c * 0.25, 8.0, 5.0,
+                        Date.valueOf(effective), p % 4 == 0 ? null : Date.valueOf(effective.plusYears(1)),
+                        Timestamp.valueOf(NOW)});
+            }
+            charges.add(new Object[]{++chargeId, productId, 1L, "Penalty", "Premature Withdrawal Penalty", 1.0,
+                    "Percentage", 10_000});
+            charges.add(new Object[]{++chargeId, productId, 2L, "Fee", "Transfer Fee", 25.0, "Flat", null});
+            charges.add(new Object[]{++chargeId, productId, null, "Tax", "Service Tax", 0.18, "Percentage", 0});
+        }
+        // rule_id and charge_id have no database default: ids are allocated by Hibernate's table generator
+        jdbcTemplate.batchUpdate("INSERT INTO business_rules (rule_id, product_id, min_term, max_term, min_amount, "
+                + "max_amount, interest_rate, compounding_frequency, premature_withdrawal_allowed, premature_penalty_rate, "
+                + "auto_renewal, min_balance_required, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rules);
+        jdbcTemplate.batchUpdate("INSERT INTO rate_matrix (product_id, customer_category, base_interest_rate, "
+                + "max_interest_rate, min_interest_rate, effective_date, expiry_date, created_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", rates);
+        jdbcTemplate.batchUpdate("INSERT INTO charges (charge_id, product_id, txn_type_id, charge_type, charge_name, "
+                + "rate, calculation_type, threshold_amount) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", charges);
+        jdbcTemplate.execute("ANALYZE");
+    }
+}
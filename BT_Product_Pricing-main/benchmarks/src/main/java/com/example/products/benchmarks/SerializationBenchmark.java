@@ -0,0 +1,110 @@
+package com.example.products.benchmarks;
+
+import com.example.products.entity.BusinessRule;
+import com.example.products.entity.Product;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of Product and BusinessRule lists as returned by the list endpoints.
+ * Needs no database; the ObjectMapper is built the way Spring Boot builds the application's.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int size;
+
+    private ObjectWriter productWriter;
+    private ObjectWriter ruleWriter;
+    private List<Product> products;
+    private List<BusinessRule> rules;
+
+    @Setup
+    public void build() {
+        var objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        productWriter = objectMapper.writerFor(new TypeReference<List<Product>>() { });
+        ruleWriter = objectMapper.writerFor(new TypeReference<List<BusinessRule>>() { });
+
+        products = sampleProducts(size);
+        rules = sampleRules(size);
+    }
+
+    @Benchmark
+    public byte[] products() throws JsonProcessingException {
+        return productWriter.writeValueAsBytes(products);
+    }
+
+    @Benchmark
+    public byte[] businessRules() throws JsonProcessingException {
+        return ruleWriter.writeValueAsBytes(rules);
+    }
+
+    // Rows as the list endpoints return them; also used by EncodingBenchmark
+    static List<Product> sampleProducts(int size) {
+        List<Product> products = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Product product = new Product();
+            product.setProductId((long) i + 1);
+            product.setProductCode("P" + i);
+            product.setProductName("Fixed Deposit " + i);
+            product.setProductType("TYPE" + (i % SeededContext.PRODUCT_TYPES));
+            product.setEffectiveDate(SeededContext.TODAY.minusDays(i % 730));
+            product.setExpiryDate(SeededContext.TODAY.plusYears(2));
+            product.setBranch("BR" + (i % SeededContext.BRANCHES));
+            product.setCurrency("INR");
+            product.setStatus("ACTIVE");
+            product.setDescription("Seeded product " + i);
+            product.setCreatedAt(SeededContext.NOW.minusHours(i));
+            product.setUpdatedAt(SeededContext.NOW);
+            products.add(product);
+        }
+        return products;
+    }
+
+    static List<BusinessRule> sampleRules(int size) {
+        List<BusinessRule> rules = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            BusinessRule rule = new BusinessRule();
+            rule.setRuleId((long) i + 1);
+            rule.setProductId((long) i / 4 + 1);
+            rule.setMinTerm(7);
+            rule.setMaxTerm(3650);
+            rule.setMinAmount(new BigDecimal("1000.00"));
+            rule.setMaxAmount(new BigDecimal("10000000.00"));
+            rule.setInterestRate(new BigDecimal("7.25"));
+            rule.setCompoundingFrequency("QUARTERLY");
+            rule.setPrematureWithdrawalAllowed(true);
+            rule.setPrematurePenaltyRate(new BigDecimal("1.00"));
+            rule.setAutoRenewal(false);
+            rule.setMinBalanceRequired(new BigDecimal("1000.00"));
+            rule.setCreatedAt(LocalDateTime.of(2025, 10, 15, 10, 0));
+            rules.add(rule);
+        }
+        return rules;
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.products.benchmarks;
+
+import com.example.products.ProductsApplication;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The application serving HTTP on a random port over the seeded H2 database, with
+ * request handling on platform threads (the default) or on virtual threads (the
+ * virtual-threads profile, JDK 21+). Every statement waits dbLatencyMillis first,
+ * so requests spend most of their time blocked on the database as they do on MySQL.
+ *
+ * Both modes get the same connection pool. It is larger than Tomcat's 200 platform
+ * request threads, so in platform mode the thread pool is the limit being measured.
+ */
+@State(Scope.Benchmark)
+public class ServedContext {
+
+    @Param({"platform", "virtual"})
+    public String threading;
+
+    @Param("5")
+    public long dbLatencyMillis;
+
+    @Param("300")
+    public int poolSize;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private long[] productIds;
+
+    @Setup(Level.Trial)
+    public void start() {
+        boolean virtual = "virtual".equals(threading);
+        if (virtual && Runtime.version().feature() < 21) {
+            // Spring Boot would silently fall back to platform threads and mislabel the results
+            throw new IllegalStateException("The virtual-threads profile needs JDK 21+, running on " + Runtime.version());
+        }
+        List<String> args = new ArrayList<>(Arrays.asList(SeededContext.ARGS));
+        args.add("--server.port=0");
+        args.add("--spring.datasource.hikari.maximum-pool-size=" + poolSize);
+        args.add("--spring.datasource.hikari.minimum-idle=" + poolSize);
+        // Measure queueing for a connection rather than the profile's fail-fast timeout
+        args.add("--spring.datasource.hikari.connection-timeout=60000");
+        if (virtual) {
+            args.add("--spring.profiles.active=virtual-threads");
+        }
+
+        context = new SpringApplicationBuilder(ProductsApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .initializers(app -> app.getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+                    @Override
+                    public Object postProcessAfterInitialization(Object bean, String beanName) {
+                        return bean instanceof DataSource dataSource && !(bean instanceof DelayedDataSource)
+                                ? new DelayedDataSource(dataSource, dbLatencyMillis)
+                                : bean;
+                    }
+                }))
+                .run(args.toArray(new String[0]));
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        SeededContext.seed(jdbcTemplate);
+        productIds = jdbcTemplate.queryForList("SELECT product_id FROM products ORDER BY product_id", Long.class)
+                .stream().mapToLong(Long::longValue).toArray();
+
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public long randomProductId() {
+        return productIds[ThreadLocalRandom.current().nextInt(productIds.length)];
+    }
+
+    /**
+     * GETs the path and returns the body length; anything but 200 fails the benchmark.
+     */
+    public int get(String path) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + path)).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + path + " returned " + response.statusCode());
+        }
+        return response.body().length;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.products.benchmarks;
+
+import com.example.products.dto.AuthorizationRequest;
+import com.example.products.dto.AuthorizationResult;
+import com.example.products.entity.TransactionType;
+import com.example.products.repository.TransactionTypeRepository;
+import com.example.products.service.TransactionLimitService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency distribution (p50/p99 from sample mode) of transaction limit checks by 64
+ * threads, either all on one account or each on a random one of 1000, in memory mode
+ * (compare-and-set counters) and persistent mode (a locked row per account; on H2
+ * here, so only the relative cost of row locking is meaningful).
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(64)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransactionLimitBenchmark {
+
+    static final int ACCOUNTS = 1000;
+
+    @Param({"memory", "persistent"})
+    public String mode;
+
+    private TransactionLimitService limitService;
+    private Long txnTypeId;
+
+    @Setup
+    public void prepare(SeededContext context) {
+        // No daily limits, so every check is approved and counted
+        TransactionType type = new TransactionType();
+        type.setProductId(context.productIds()[0]);
+        type.setTxnName("Benchmark transfer");
+        type.setIsAllowed(true);
+        type.setMaxAmount(new BigDecimal("100000"));
+        txnTypeId = context.bean(TransactionTypeRepository.class).save(type).getTxnTypeId();
+        limitService = new TransactionLimitService(context.bean(TransactionTypeRepository.class),
+                context.bean(JdbcTemplate.class), context.bean(PlatformTransactionManager.class), mode);
+    }
+
+    @Benchmark
+    public Optional<AuthorizationResult> oneAccount() {
+        return limitService.authorize(txnTypeId, request("ACC-HOT"));
+    }
+
+    @Benchmark
+    public Optional<AuthorizationResult> manyAccounts() {
+        return limitService.authorize(txnTypeId, request("ACC-" + ThreadLocalRandom.current().nextInt(ACCOUNTS)));
+    }
+
+    private static AuthorizationRequest request(String accountId) {
+        AuthorizationRequest request = new AuthorizationRequest();
+        request.setAccountId(accountId);
+        request.setAmount(new BigDecimal("250.00"));
+        return request;
+    }
+}
@@ -239,7 +239,7 @@ CREATE TABLE audits (
 CREATE TABLE rate_matrix (
     rate_id          BIGINT AUTO_INCREMENT PRIMARY KEY,
     product_id       BIGINT NOT NULL,
-    customer_category VARCHAR(50) NOT NULL,   -- e.g., Regular, Senior Citizen, NRI
+    customer_category VARCHAR(50) COLLATE utf8mb4_0900_ai_ci NOT NULL,   -- e.g., Regular, Senior Citizen, NRI; case-insensitive, looked up by plain equality
     min_term         INT NOT NULL,            -- in days
     max_term         INT NOT NULL,            -- in days
     interest_rate    DECIMAL(5,2) NOT NULL,  -- interest rate in %
@@ -496,3 +496,79 @@ LEFT JOIN transaction_types t ON c.txn_type_id = t.txn_type_id
 ORDER BY c.product_id, c.charge_id;
 
 select * from products;
+
+-- ========================
+-- SECONDARY INDEXES
+-- Backing ProductRepository / RateMatrixRepository queries and per-product child lookups. The JPA
+-- entities declare the same indexes, so ddl-auto creates them too; run these where the schema is
+-- managed by hand.
+-- ========================
+CREATE INDEX idx_products_created_at ON products (created_at);
+CREATE INDEX idx_products_type_dates ON products (product_type, effective_date, expiry_date);
+CREATE INDEX idx_products_branch ON products (branch);
+
+CREATE INDEX idx_rate_matrix_product_category ON rate_matrix (product_id, customer_category);
+CREATE INDEX idx_rate_matrix_category ON rate_matrix (customer_category);
+CREATE INDEX idx_rate_matrix_dates ON rate_matrix (effective_date, expiry_date);
+
+-- These take over from the implicit indexes of the product foreign keys
+CREATE INDEX idx_business_rules_product ON business_rules (product_id);
+CREATE INDEX idx_transaction_types_product ON transaction_types (product_id);
+CREATE INDEX idx_charges_product ON charges (product_id);
+
+-- ========================
+-- BATCH CHECKPOINTS
+-- Progress of chunked batch jobs (ProductStatusBatchJob). Needed where ddl-auto is none,
+-- e.g. the fast-startup profile.
+-- ========================
+CREATE TABLE IF NOT EXISTS batch_checkpoints (
+    job_name VARCHAR(100) PRIMARY KEY,
+    last_processed_id BIGINT NOT NULL,
+    rows_processed BIGINT NOT NULL,
+    rows_updated BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    owner VARCHAR(100),
+    started_at DATETIME(6),
+    updated_at DATETIME(6)
+);
+-- Where the table was created before the owner column:
+-- ALTER TABLE batch_checkpoints ADD COLUMN owner VARCHAR(100);
+
+-- ========================
+-- ID GENERATORS
+-- Pooled id blocks for business_rules, charges and transaction_types (see IdGenerators), which
+-- lets Hibernate batch their inserts. next_val is the top of the next block of 50, so seeding
+-- MAX(id) + 50 continues after the rows created under AUTO_INCREMENT.
+-- ========================
+CREATE TABLE IF NOT EXISTS id_generators (
+    sequence_name VARCHAR(255) PRIMARY KEY,
+    next_val BIGINT
+);
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'business_rules', COALESCE(MAX(rule_id), 0) + 50 FROM business_rules;
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'charges', COALESCE(MAX(charge_id), 0) + 50 FROM charges;
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'transaction_types', COALESCE(MAX(txn_type_id), 0) + 50 FROM transaction_types;
+
+-- ========================
+-- OPTIMISTIC LOCKING
+-- Version columns checked and incremented on every update of these entities.
+-- ========================
+ALTER TABLE products ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE charges ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE transaction_types ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+-- ========================
+-- TRANSACTION LIMIT COUNTERS
+-- Daily usage per account and transaction type, locked and updated by every TransactionLimitService
+-- check when products.limits.counters.mode is persistent.
+-- ========================
+CREATE TABLE IF NOT EXISTS txn_limit_counters (
+    account_id VARCHAR(64) NOT NULL,
+    txn_type_id BIGINT NOT NULL,
+    usage_date DATE NOT NULL,
+    used_amount DECIMAL(19,2) NOT NULL,
+    used_count INT NOT NULL,
+    PRIMARY KEY (account_id, txn_type_id)
+);
@@ -0,0 +1,23 @@
+#!/usr/bin/env bash
+# Builds a class data sharing (CDS) archive for the application jar.
+#
+# The jar is extracted into target/cds so classes load from plain jars on the
+# classpath, then a training run starts the context and exits right after refresh
+# (no requests served, no batch job run), dumping the loaded classes to the archive.
+#
+# Run with:
+#   java -XX:SharedArchiveFile=target/cds/application.jsa -jar target/cds/products/products-0.0.1-SNAPSHOT-exec.jar
+# The JVM version and classpath must match the training run, otherwise the archive is ignored.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+JAR="${JAR:-target/products-0.0.1-SNAPSHOT-exec.jar}"
+CDS_DIR="target/cds"
+
+rm -rf "$CDS_DIR"
+java -Djarmode=tools -jar "$JAR" extract --destination "$CDS_DIR/products"
+# Eager init during training so the archive also covers classes a lazy context loads on first request
+java -XX:ArchiveClassesAtExit="$CDS_DIR/application.jsa" -Dspring.context.exit=onRefresh \
+  -jar "$CDS_DIR/products/$(basename "$JAR")" --spring.profiles.active=fast-startup \
+  --spring.main.lazy-initialization=false "$@"
+echo "CDS archive written to $CDS_DIR/application.jsa"
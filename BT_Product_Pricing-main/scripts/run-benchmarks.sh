@@ -0,0 +1,16 @@
+#!/usr/bin/env bash
+# Builds the application and the JMH module, then runs the benchmarks with JSON results
+# written to benchmarks/results/<git describe>.json for comparison across versions.
+#
+# Usage: scripts/run-benchmarks.sh [jmh args...]
+#   e.g. scripts/run-benchmarks.sh PricingBenchmark -f 2
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+VERSION="$(git describe --always --dirty 2>/dev/null || echo local)"
+mkdir -p benchmarks/results
+
+mvn -B -q install -DskipTests
+mvn -B -q -f benchmarks/pom.xml package
+java -jar benchmarks/target/benchmarks.jar -rf json -rff "benchmarks/results/$VERSION.json" "$@"
+echo "Results written to benchmarks/results/$VERSION.json"
@@ -0,0 +1,73 @@
+#!/usr/bin/env bash
+# Measures time from JVM launch to the first successfully served request.
+#
+# Usage: scripts/startup-benchmark.sh [runs]
+#   Build first: mvn -B package -DskipTests            (default and fast-startup variants)
+#                mvn -B package -DskipTests -Paot      (adds the aot variant)
+#                scripts/build-cds-archive.sh          (adds the cds variants)
+#
+# Environment:
+#   JAR        application jar (default target/products-0.0.1-SNAPSHOT-exec.jar)
+#   PORT       port to start on (default 18080)
+#   PROBE_PATH request that counts as "served" (default a one-row catalog page, which touches the database)
+#   JAVA_OPTS  extra JVM options for every run
+#
+# Prints one CSV line per run (variant,run,millis) and a median per variant.
+set -euo pipefail
+
+RUNS="${1:-5}"
+cd "$(dirname "$0")/.."
+JAR="${JAR:-target/products-0.0.1-SNAPSHOT-exec.jar}"
+PORT="${PORT:-18080}"
+PROBE_PATH="${PROBE_PATH:-/cdx-api/product-pricing/page?size=1}"
+CDS_DIR="target/cds"
+JAVA_OPTS="${JAVA_OPTS:-}"
+
+declare -A VARIANTS=(
+  [default]="-jar $JAR"
+  [fast-startup]="-jar $JAR --spring.profiles.active=fast-startup"
+)
+if [[ -f "$CDS_DIR/application.jsa" ]]; then
+  VARIANTS[cds]="-XX:SharedArchiveFile=$CDS_DIR/application.jsa -jar $CDS_DIR/products/products-0.0.1-SNAPSHOT-exec.jar"
+  VARIANTS[fast-startup+cds]="${VARIANTS[cds]} --spring.profiles.active=fast-startup"
+fi
+if unzip -l "$JAR" 2>/dev/null | grep -q '__ApplicationContextInitializer'; then
+  VARIANTS[aot]="-Dspring.aot.enabled=true -jar $JAR --spring.profiles.active=fast-startup"
+fi
+
+now_ms() { date +%s%3N; }
+
+measure() {
+  local args="$1" start pid elapsed
+  start=$(now_ms)
+  # shellcheck disable=SC2086
+  java $JAVA_OPTS $args --server.port="$PORT" >/dev/null 2>&1 &
+  pid=$!
+  until curl -fs -o /dev/null "http://localhost:$PORT$PROBE_PATH"; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "application exited before serving a request: java $args" >&2
+      return 1
+    fi
+    sleep 0.05
+  done
+  elapsed=$(( $(now_ms) - start ))
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  echo "$elapsed"
+}
+
+echo "variant,run,millis"
+declare -A RESULTS=()
+for variant in "${!VARIANTS[@]}"; do
+  for run in $(seq 1 "$RUNS"); do
+    millis=$(measure "${VARIANTS[$variant]}")
+    echo "$variant,$run,$millis"
+    RESULTS[$variant]+="$millis "
+  done
+done
+
+echo
+for variant in "${!RESULTS[@]}"; do
+  median=$(tr ' ' '\n' <<<"${RESULTS[$variant]}" | grep -v '^$' | sort -n | awk '{a[NR]=$1} END {print a[int((NR+1)/2)]}')
+  printf '%-18s median %s ms\n' "$variant" "$median"
+done
@@ -1,41 +1,65 @@
 package com.example.products.batch;
 
-import com.example.products.entity.Product;
-import com.example.products.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Locale;
 
+/**
+ * Runs the product status job according to products.batch.product-status.mode:
+ * startup blocks boot until the job finishes, deferred starts it on a background
+ * thread once the application is ready to serve, and disabled never runs it.
+ */
 @Component
 public class ProductBatchRunner implements CommandLineRunner {
 
-    private final ProductRepository productRepository;
+    public enum Mode { STARTUP, DEFERRED, DISABLED }
 
-    public ProductBatchRunner(ProductRepository productRepository) {
-        this.productRepository = productRepository;
+    private static final Logger log = LoggerFactory.getLogger(ProductBatchRunner.class);
+
+    // Resolved only when the job runs, so a lazy context does not build the JPA stack for it at boot
+    private final ObjectProvider<ProductStatusBatchJob> productStatusBatchJob;
+    private final TaskExecutor taskExecutor;
+    private final Mode mode;
+
+    public ProductBatchRunner(ObjectProvider<ProductStatusBatchJob> productStatusBatchJob,
+                              @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                              TaskExecutor taskExecutor,
+                              @Value("${products.batch.product-status.mode:startup}") String mode) {
+        this.productStatusBatchJob = productStatusBatchJob;
+        this.taskExecutor = taskExecutor;
+        this.mode = Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
     }
 
     @Override
     public void run(String... args) throws Exception {
-        System.out.println("=== Running batch job: Valid Products ===");
-
-        List<Product> validProducts = productRepository.findAll()
-                .stream()
-                .filter(p -> {
-                    LocalDate today = LocalDate.now();
-                    boolean afterEffective = !today.isBefore(p.getEffectiveDate());
-                    boolean beforeExpiry = p.getExpiryDate() == null || !today.isAfter(p.getExpiryDate());
-                    return afterEffective && beforeExpiry;
-                })
-                .collect(Collectors.toList());
-
-        validProducts.forEach(p ->
-                System.out.println("Valid Product: " + p.getProductName() + " | Code: " + p.getProductCode())
-        );
-
-        System.out.println("=== Batch job completed ===");
+        if (mode == Mode.STARTUP) {
+            productStatusBatchJob.getObject().run(LocalDate.now());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (mode != Mode.DEFERRED) {
+            return;
+        }
+        taskExecutor.execute(() -> {
+            try {
+                productStatusBatchJob.getObject().run(LocalDate.now());
+            } catch (RuntimeException e) {
+                // The checkpoint is left RUNNING, so the next run resumes from the last committed chunk
+                log.error("Deferred batch job {} failed", ProductStatusBatchJob.JOB_NAME, e);
+            }
+        });
     }
 }
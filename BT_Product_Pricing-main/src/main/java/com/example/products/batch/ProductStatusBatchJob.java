@@ -0,0 +1,281 @@
+package com.example.products.batch;
+
+import com.example.products.dto.ProductValidity;
+import com.example.products.entity.BatchCheckpoint;
+import com.example.products.repository.BatchCheckpointRepository;
+import com.example.products.repository.ProductRepository;
+import com.example.products.service.ProductCatalogCache;
+import com.example.products.service.ProductReportAggregates;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sets products.status to ACTIVE or EXPIRED from the effective and expiry dates.
+ *
+ * Products are read in keyset chunks of (id, dates, status), and only rows whose
+ * status changes are written with one UPDATE per status. Each chunk's update commits
+ * together with the checkpoint, so a run that dies part-way resumes after the last
+ * committed chunk.
+ *
+ * A run first claims the checkpoint row under a row lock, so only one instance runs
+ * the job at a time. A RUNNING checkpoint owned by another instance is left alone
+ * until it has not advanced for products.batch.product-status.claim-timeout, after
+ * which its owner is taken to be dead and the run is resumed here. Every chunk
+ * re-checks the claim under the same lock before it writes.
+ *
+ * The status of a chunk's rows is checked in parallel slices on a fixed pool owned by
+ * the job, sized to the available processors, so a run never occupies the common pool.
+ *
+ * Runs within this instance are serialized by a ReentrantLock rather than a monitor,
+ * since a run spends its time in JDBC calls and may be started on a virtual thread.
+ */
+@Component
+public class ProductStatusBatchJob {
+
+    public static final String JOB_NAME = "product-status";
+    public static final String ACTIVE = "ACTIVE";
+    public static final String EXPIRED = "EXPIRED";
+
+    // Below this a slice is not worth a task of its own
+    private static final int MIN_SLICE = 256;
+
+    private static final Logger log = LoggerFactory.getLogger(ProductStatusBatchJob.class);
+
+    private final ProductRepository productRepository;
+    private final BatchCheckpointRepository checkpointRepository;
+    private final ProductCatalogCache catalogCache;
+    private final ProductReportAggregates reportAggregates;
+    private final TransactionTemplate writeTx;
+    private final int chunkSize;
+    private final Duration claimTimeout;
+    // pid@host, so the checkpoint row shows which instance holds the run
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final int parallelism = Runtime.getRuntime().availableProcessors();
+    private final ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+        Thread thread = new Thread(runnable, "product-status");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ProductStatusBatchJob(ProductRepository productRepository,
+                                 BatchCheckpointRepository checkpointRepository,
+                                 ProductCatalogCache catalogCache,
+                                 ProductReportAggregates reportAggregates,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${products.batch.product-status.chunk-size:1000}") int chunkSize,
+                                 @Value("${products.batch.product-status.claim-timeout:PT10M}") Duration claimTimeout) {
+        this.productRepository = productRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.catalogCache = catalogCache;
+        this.reportAggregates = reportAggregates;
+        this.writeTx = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.claimTimeout = claimTimeout;
+    }
+
+    /**
+     * Runs the job to completion, resuming an interrupted run if there is one.
+     *
+     * @return number of products whose status was changed by the run, including resumed chunks;
+     *         0 when another instance holds the run
+     */
+    public long run(LocalDate today) {
+        lock.lock();
+        try {
+            return runClaimed(today);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long runClaimed(LocalDate today) {
+        BatchCheckpoint checkpoint = start();
+        if (checkpoint == null) {
+            return 0;
+        }
+        long startNanos = System.nanoTime();
+        long rowsAtStart = checkpoint.getRowsProcessed();
+
+        boolean completed = false;
+        while (true) {
+            long after = checkpoint.getLastProcessedId();
+            // Not read-only, so it stays on the primary: the writes below are decided from these rows,
+            // and a lagging replica could undo a status that was just corrected
+            List<ProductValidity> chunk = writeTx.execute(status ->
+                    productRepository.findValidityChunk(after, PageRequest.ofSize(chunkSize)));
+            if (chunk == null || chunk.isEmpty()) {
+                BatchCheckpoint finished = writeTx.execute(status -> finish());
+                if (finished != null) {
+                    checkpoint = finished;
+                    completed = true;
+                }
+                break;
+            }
+
+            Map<String, List<Long>> changes = changesOf(chunk, today);
+
+            long lastId = chunk.get(chunk.size() - 1).getProductId();
+            BatchCheckpoint committed = writeTx.execute(status -> commitChunk(changes, lastId, chunk.size()));
+            if (committed == null) {
+                break;
+            }
+            checkpoint = committed;
+        }
+
+        if (!completed) {
+            log.warn("Batch job {} was taken over by another instance, stopping here", JOB_NAME);
+        } else {
+            long rows = checkpoint.getRowsProcessed() - rowsAtStart;
+            double seconds = Math.max((System.nanoTime() - startNanos) / 1e9, 1e-9);
+            log.info("Batch job {} completed: {} products scanned in {} ms ({} rows/sec), {} status changes in the run",
+                    JOB_NAME, rows, Math.round(seconds * 1000), Math.round(rows / seconds), checkpoint.getRowsUpdated());
+        }
+        // Chunks committed here changed products even when another instance finishes the run
+        if (checkpoint.getRowsUpdated() > 0) {
+            catalogCache.clear();
+            reportAggregates.rebuild();
+        }
+        return completed ? checkpoint.getRowsUpdated() : 0;
+    }
+
+    // Product ids per new status; slices of the chunk are checked in parallel on the job's own pool
+    private Map<String, List<Long>> changesOf(List<ProductValidity> chunk, LocalDate today) {
+        int sliceSize = Math.max(MIN_SLICE, (chunk.size() + parallelism - 1) / parallelism);
+        List<CompletableFuture<Map<String, List<Long>>>> slices = new ArrayList<>();
+        for (int from = 0; from < chunk.size(); from += sliceSize) {
+            List<ProductValidity> slice = chunk.subList(from, Math.min(from + sliceSize, chunk.size()));
+            slices.add(CompletableFuture.supplyAsync(() -> sliceChanges(slice, today), executor));
+        }
+        Map<String, List<Long>> changes = new HashMap<>();
+        for (CompletableFuture<Map<String, List<Long>>> slice : slices) {
+            slice.join().forEach((status, ids) -> changes.computeIfAbsent(status, k -> new ArrayList<>()).addAll(ids));
+        }
+        return changes;
+    }
+
+    private static Map<String, List<Long>> sliceChanges(List<ProductValidity> slice, LocalDate today) {
+        Map<String, List<Long>> changes = new HashMap<>();
+        for (ProductValidity product : slice) {
+            // null means leave it (not yet effective)
+            String target = targetStatus(product, today);
+            if (target != null && !target.equals(product.getStatus())) {
+                changes.computeIfAbsent(target, k -> new ArrayList<>()).add(product.getProductId());
+            }
+        }
+        return changes;
+    }
+
+    static String targetStatus(ProductValidity product, LocalDate today) {
+        if (product.getExpiryDate() != null && today.isAfter(product.getExpiryDate())) {
+            return EXPIRED;
+        }
+        if (product.getEffectiveDate() != null && today.isBefore(product.getEffectiveDate())) {
+            return null;
+        }
+        return ACTIVE;
+    }
+
+    // Claims the run, or returns null while another instance holds it
+    private BatchCheckpoint start() {
+        try {
+            return writeTx.execute(status -> claim());
+        } catch (DataIntegrityViolationException e) {
+            // Another instance inserted the first checkpoint row at the same time; claim against it
+            return writeTx.execute(status -> claim());
+        }
+    }
+
+    private BatchCheckpoint claim() {
+        LocalDateTime now = LocalDateTime.now();
+        BatchCheckpoint checkpoint = checkpointRepository.lockByJobName(JOB_NAME).orElse(null);
+        if (checkpoint == null) {
+            checkpoint = new BatchCheckpoint(JOB_NAME);
+        } else if (BatchCheckpoint.RUNNING.equals(checkpoint.getStatus())) {
+            if (heldElsewhere(checkpoint, now)) {
+                log.info("Batch job {} is running on {}, not starting here", JOB_NAME, checkpoint.getOwner());
+                return null;
+            }
+            log.info("Batch job {} resuming after product id {}", JOB_NAME, checkpoint.getLastProcessedId());
+            checkpoint.setOwner(owner);
+            checkpoint.setUpdatedAt(now);
+            return checkpointRepository.saveAndFlush(checkpoint);
+        }
+        checkpoint.setLastProcessedId(0L);
+        checkpoint.setRowsProcessed(0L);
+        checkpoint.setRowsUpdated(0L);
+        checkpoint.setStartedAt(now);
+        checkpoint.setStatus(BatchCheckpoint.RUNNING);
+        checkpoint.setOwner(owner);
+        checkpoint.setUpdatedAt(now);
+        // Flushed so a concurrent first insert fails here, inside start()
+        return checkpointRepository.saveAndFlush(checkpoint);
+    }
+
+    // A live claim of another instance; one without an owner or not advanced within the timeout is abandoned
+    private boolean heldElsewhere(BatchCheckpoint checkpoint, LocalDateTime now) {
+        return checkpoint.getOwner() != null && !owner.equals(checkpoint.getOwner())
+                && checkpoint.getUpdatedAt() != null
+                && checkpoint.getUpdatedAt().isAfter(now.minus(claimTimeout));
+    }
+
+    // The checkpoint row, locked, while this instance still holds the run; null once it lost it
+    private BatchCheckpoint lockClaim() {
+        BatchCheckpoint checkpoint = checkpointRepository.lockByJobName(JOB_NAME).orElseThrow();
+        return BatchCheckpoint.RUNNING.equals(checkpoint.getStatus()) && owner.equals(checkpoint.getOwner())
+                ? checkpoint : null;
+    }
+
+    private BatchCheckpoint commitChunk(Map<String, List<Long>> changes, long lastId, int scanned) {
+        BatchCheckpoint checkpoint = lockClaim();
+        if (checkpoint == null) {
+            return null;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int updated = 0;
+        for (Map.Entry<String, List<Long>> change : changes.entrySet()) {
+            updated += productRepository.updateStatus(change.getValue(), change.getKey(), now);
+        }
+        checkpoint.setLastProcessedId(lastId);
+        checkpoint.setRowsProcessed(checkpoint.getRowsProcessed() + scanned);
+        checkpoint.setRowsUpdated(checkpoint.getRowsUpdated() + updated);
+        checkpoint.setUpdatedAt(now);
+        return checkpointRepository.save(checkpoint);
+    }
+
+    private BatchCheckpoint finish() {
+        BatchCheckpoint checkpoint = lockClaim();
+        if (checkpoint == null) {
+            return null;
+        }
+        checkpoint.setStatus(BatchCheckpoint.COMPLETED);
+        checkpoint.setOwner(null);
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        return checkpointRepository.save(checkpoint);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
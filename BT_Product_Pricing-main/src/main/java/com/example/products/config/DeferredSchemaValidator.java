@@ -0,0 +1,50 @@
+package com.example.products.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Validates the mapped entities against the database schema after the application
+ * is ready, instead of during boot. Used with ddl-auto=none: a mismatch is logged
+ * rather than failing startup, since the instance is already serving by then.
+ */
+@Component
+@ConditionalOnProperty(name = "products.schema.validate-after-startup", havingValue = "true")
+public class DeferredSchemaValidator {
+
+    private static final Logger log = LoggerFactory.getLogger(DeferredSchemaValidator.class);
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final TaskExecutor taskExecutor;
+
+    public DeferredSchemaValidator(EntityManagerFactory entityManagerFactory,
+                                   @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                                   TaskExecutor taskExecutor) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.taskExecutor = taskExecutor;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        taskExecutor.execute(this::validate);
+    }
+
+    void validate() {
+        long start = System.nanoTime();
+        try {
+            entityManagerFactory.unwrap(SessionFactory.class).getSchemaManager().validateMappedObjects();
+            log.info("Schema validated against entity mappings in {} ms", (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Schema does not match the entity mappings", e);
+        }
+    }
+}
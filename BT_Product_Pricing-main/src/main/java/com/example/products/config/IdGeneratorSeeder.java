@@ -0,0 +1,53 @@
+package com.example.products.config;
+
+import com.example.products.entity.IdGenerators;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Keeps the id generator rows above the ids already in each table.
+ *
+ * Only needed when Hibernate updates an existing schema: it adds id_generators
+ * starting at 0, which would collide with rows inserted under AUTO_INCREMENT.
+ * Managed schemas are seeded by fd_script.sql instead.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.jpa.hibernate.ddl-auto", havingValue = "update")
+public class IdGeneratorSeeder {
+
+    // generator segment -> table and id column it allocates for
+    private static final Map<String, String[]> SEGMENTS = Map.of(
+            "business_rules", new String[]{"business_rules", "rule_id"},
+            "charges", new String[]{"charges", "charge_id"},
+            "transaction_types", new String[]{"transaction_types", "txn_type_id"});
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // The EntityManagerFactory dependency makes this run after Hibernate has updated the schema
+    public IdGeneratorSeeder(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void seed() {
+        SEGMENTS.forEach((segment, target) -> {
+            // The pooled optimizer treats the stored value as the top of the next block,
+            // so MAX(id) + ALLOCATION_SIZE makes the next allocated id MAX(id) + 1
+            String floor = "(SELECT COALESCE(MAX(" + target[1] + "), 0) + " + IdGenerators.ALLOCATION_SIZE
+                    + " FROM " + target[0] + ")";
+            jdbcTemplate.update("INSERT INTO " + IdGenerators.TABLE
+                    + " (" + IdGenerators.NAME_COLUMN + ", " + IdGenerators.VALUE_COLUMN + ") SELECT ?, " + floor
+                    + " FROM " + IdGenerators.TABLE + " WHERE " + IdGenerators.NAME_COLUMN + " = ? HAVING COUNT(*) = 0",
+                    segment, segment);
+            // Hibernate creates the row at 0 when it adds the table; raise it, never lower it
+            jdbcTemplate.update("UPDATE " + IdGenerators.TABLE + " SET " + IdGenerators.VALUE_COLUMN + " = " + floor
+                    + " WHERE " + IdGenerators.NAME_COLUMN + " = ? AND " + IdGenerators.VALUE_COLUMN + " < " + floor,
+                    segment);
+        });
+    }
+}
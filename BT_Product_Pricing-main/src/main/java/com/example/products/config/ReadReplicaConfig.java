@@ -0,0 +1,86 @@
+package com.example.products.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Primary and replica connection pools behind a ReplicaRoutingDataSource, set up
+ * only when products.datasource.replica.url is configured. The primary pool is
+ * configured by the usual spring.datasource.* properties; the replica takes the
+ * same keys under products.datasource.replica, with its pool under .hikari.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "products.datasource.replica", name = "url")
+public class ReadReplicaConfig {
+
+    public static final String PRIMARY_POOL = "primaryDataSource";
+    public static final String REPLICA_POOL = "replicaDataSource";
+
+    @Autowired
+    private ObjectProvider<ReplicaRoutingDataSource> routingDataSource;
+
+    @Bean(PRIMARY_POOL)
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return pool(properties, "primary");
+    }
+
+    @Bean(REPLICA_POOL)
+    @ConfigurationProperties("products.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(Environment environment) {
+        DataSourceProperties properties = Binder.get(environment)
+                .bind("products.datasource.replica", DataSourceProperties.class)
+                .orElseThrow(() -> new IllegalStateException("products.datasource.replica is not configured"));
+        return pool(properties, "replica");
+    }
+
+    @Bean
+    @Primary
+    public ReplicaRoutingDataSource dataSource(@Qualifier(PRIMARY_POOL) DataSource primary,
+                                               @Qualifier(REPLICA_POOL) DataSource replica,
+                                               @Value("${products.datasource.replica.max-lag:5s}") Duration maxLag,
+                                               @Value("${products.datasource.replica.lag-query:}") String lagQuery,
+                                               @Value("${products.datasource.replica.lag-column:Seconds_Behind_Source}")
+                                               String lagColumn,
+                                               ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ReplicaRoutingDataSource(primary, replica, maxLag, lagQuery, lagColumn, meterRegistry::getObject);
+    }
+
+    @Bean
+    public MeterBinder replicaLagMetrics(ReplicaRoutingDataSource dataSource) {
+        return registry -> Gauge.builder(ReplicaRoutingDataSource.LAG_METRIC, dataSource,
+                ReplicaRoutingDataSource::getLagSeconds).register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${products.datasource.replica.lag-check-interval:PT2S}")
+    public void checkReplicaLag() {
+        routingDataSource.ifAvailable(ReplicaRoutingDataSource::checkLag);
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, String name) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        if (!StringUtils.hasText(pool.getPoolName())) {
+            pool.setPoolName(name);
+        }
+        return pool;
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.products.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary.
+ * Only transactions declared by the application count; see isRepositoryDefaultTransaction.
+ *
+ * The physical connection is only fetched at the first statement, by which time
+ * the transaction manager has marked it read-only (@Transactional(readOnly = true)
+ * or a read-only TransactionTemplate). Read-only connections come from the replica
+ * unless its last lag check failed or found it more than max-lag behind, in which
+ * case they come from the primary too.
+ *
+ * Every connection handed out is counted in products.datasource.connections by
+ * pool and access. Read-only connections from the primary are lag fallbacks or the
+ * repository reads described above. The registry is looked up at the first
+ * connection, as the data source is created before it; ReadReplicaConfig registers
+ * the products.datasource.replica.lag gauge.
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy {
+
+    public static final String CONNECTIONS_METRIC = "products.datasource.connections";
+    public static final String LAG_METRIC = "products.datasource.replica.lag";
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final DataSource replica;
+    private final Duration maxLag;
+    private final String lagQuery;
+    private final String lagColumn;
+
+    // Seconds behind the primary at the last check; NaN when unknown
+    private volatile double lagSeconds = Double.NaN;
+    private volatile boolean replicaUsable;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration maxLag,
+                                    String lagQuery, String lagColumn, Supplier<MeterRegistry> meterRegistry) {
+        super(new CountedRoute(primary, "primary", "read-write", meterRegistry));
+        this.replica = replica;
+        this.maxLag = maxLag;
+        this.lagQuery = lagQuery;
+        this.lagColumn = lagColumn;
+        // Without a lag query the replica is trusted to keep up
+        this.replicaUsable = !StringUtils.hasText(lagQuery);
+        DataSource toReplica = new CountedRoute(replica, "replica", "read-only", meterRegistry);
+        DataSource fallback = new CountedRoute(primary, "primary", "read-only", meterRegistry);
+        setReadOnlyDataSource(new DelegatingDataSource(toReplica) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return replicaUsable && !isRepositoryDefaultTransaction()
+                        ? toReplica.getConnection() : fallback.getConnection();
+            }
+        });
+    }
+
+    /**
+     * Spring Data wraps CRUD reads called outside a transaction (findById, existsById, ...)
+     * in read-only transactions of their own. Those stay on the primary, so a caller
+     * reading back a product it just wrote never sees the replica's older copy.
+     */
+    private static boolean isRepositoryDefaultTransaction() {
+        String name = TransactionSynchronizationManager.getCurrentTransactionName();
+        return name != null && name.startsWith(SimpleJpaRepository.class.getName());
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    public double getLagSeconds() {
+        return lagSeconds;
+    }
+
+    /**
+     * Runs the lag query on the replica. A failed query, no row or a null lag (replication
+     * stopped) count as unknown lag, and read-only work stays on the primary until a
+     * later check finds the replica within max-lag.
+     */
+    public void checkLag() {
+        if (!StringUtils.hasText(lagQuery)) {
+            return;
+        }
+        double lag = Double.NaN;
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(lagQuery)) {
+            if (rs.next()) {
+                long seconds = rs.getLong(lagColumn);
+                lag = rs.wasNull() ? Double.NaN : seconds;
+            }
+        } catch (SQLException e) {
+            log.debug("Replica lag query failed", e);
+        }
+        boolean usable = !Double.isNaN(lag) && lag <= maxLag.toSeconds();
+        if (usable != replicaUsable) {
+            if (usable) {
+                log.info("Replica is {}s behind; read-only work goes to the replica again", (long) lag);
+            } else {
+                log.warn("Replica lag is {} (max {}); read-only work falls back to the primary",
+                        Double.isNaN(lag) ? "unknown" : (long) lag + "s", maxLag);
+            }
+        }
+        lagSeconds = lag;
+        replicaUsable = usable;
+    }
+
+    private static final class CountedRoute extends DelegatingDataSource {
+
+        private final String pool;
+        private final String access;
+        private final Supplier<MeterRegistry> meterRegistry;
+        private volatile Counter counter;
+
+        CountedRoute(DataSource target, String pool, String access, Supplier<MeterRegistry> meterRegistry) {
+            super(target);
+            this.pool = pool;
+            this.access = access;
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Counter connections = counter;
+            if (connections == null) {
+                connections = meterRegistry.get().counter(CONNECTIONS_METRIC, "pool", pool, "access", access);
+                counter = connections;
+            }
+            connections.increment();
+            return obtainTargetDataSource().getConnection();
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.products.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Times every statement executed through the wrapped DataSource and logs those at
+ * or above the threshold with their SQL, number of bound parameters and duration.
+ * Slow statements are also counted in the products.sql.slow meter.
+ *
+ * Statements, result sets and metadata lead back to the wrapping connection and
+ * statement (getConnection, getStatement), so a caller cannot reach an untimed one.
+ */
+public class SlowQueryDataSource extends DelegatingDataSource {
+
+    public static final String SLOW_QUERY_METRIC = "products.sql.slow";
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryDataSource.class);
+
+    private final long thresholdNanos;
+    // Looked up on the first slow statement: the registry is built after the DataSource it may bind
+    private final Supplier<MeterRegistry> meterRegistry;
+
+    public SlowQueryDataSource(DataSource target, Duration threshold, Supplier<MeterRegistry> meterRegistry) {
+        super(target);
+        this.thresholdNanos = threshold.toNanos();
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object identity = identity(proxy, method, args);
+                    if (identity != null) {
+                        return identity;
+                    }
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof Statement statement) {
+                        String sql = method.getName().startsWith("prepare") ? (String) args[0] : null;
+                        return wrap(statement, sql, (Connection) proxy);
+                    }
+                    if (result instanceof DatabaseMetaData metaData) {
+                        return linked(metaData, DatabaseMetaData.class, "getConnection", proxy);
+                    }
+                    return result;
+                });
+    }
+
+    private Statement wrap(Statement statement, String preparedSql, Connection connection) {
+        Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                : statement instanceof PreparedStatement ? PreparedStatement.class
+                : Statement.class;
+        return (Statement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type},
+                new TimedStatement(statement, preparedSql, connection));
+    }
+
+    /**
+     * Delegates everything to target except the no-argument getter, which returns owner.
+     */
+    private <T> T linked(T target, Class<T> type, String getter, Object owner) {
+        return type.cast(Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    Object identity = identity(proxy, method, args);
+                    if (identity != null) {
+                        return identity;
+                    }
+                    if (method.getName().equals(getter) && method.getParameterCount() == 0) {
+                        return owner;
+                    }
+                    return invoke(target, method, args);
+                }));
+    }
+
+    private final class TimedStatement implements InvocationHandler {
+
+        private final Statement target;
+        private final String preparedSql;
+        private final Connection connection;
+        private int binds;
+
+        TimedStatement(Statement target, String preparedSql, Connection connection) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object identity = identity(proxy, method, args);
+            if (identity != null) {
+                return identity;
+            }
+            String name = method.getName();
+            if (name.equals("getConnection")) {
+                return connection;
+            }
+            // Parameter setters are the set* methods PreparedStatement adds; Statement's own are options
+            if (name.startsWith("set") && method.getDeclaringClass() != Statement.class) {
+                binds++;
+            }
+            if (!name.startsWith("execute")) {
+                return withStatement(SlowQueryDataSource.invoke(target, method, args), proxy);
+            }
+
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+            long start = System.nanoTime();
+            try {
+                return withStatement(SlowQueryDataSource.invoke(target, method, args), proxy);
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                if (elapsed >= thresholdNanos) {
+                    log.warn("Slow SQL ({} ms, {} binds, {}): {}", elapsed / 1_000_000, binds, name, sql);
+                    meterRegistry.get().counter(SLOW_QUERY_METRIC).increment();
+                }
+                // A batch reports the binds of all its rows; the next execution starts over
+                binds = 0;
+            }
+        }
+    }
+
+    // executeQuery, getResultSet and getGeneratedKeys hand out result sets that point back at the statement
+    private Object withStatement(Object result, Object statement) {
+        return result instanceof ResultSet resultSet
+                ? linked(resultSet, ResultSet.class, "getStatement", statement)
+                : result;
+    }
+
+    /**
+     * Proxies compare by identity so pools and Hibernate's statement registry can track them.
+     */
+    private static Object identity(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "equals" -> method.getParameterCount() == 1 ? proxy == args[0] : null;
+            case "hashCode" -> method.getParameterCount() == 0 ? System.identityHashCode(proxy) : null;
+            default -> null;
+        };
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.products.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+@Configuration
+public class SlowQueryLogConfig {
+
+    @Bean
+    public static BeanPostProcessor slowQueryDataSourcePostProcessor(Environment environment,
+                                                                     ObjectProvider<MeterRegistry> meterRegistry) {
+        Duration threshold = environment.getProperty("products.sql.slow-query.threshold", Duration.class,
+                Duration.ofMillis(200));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // The routing proxy is left alone: the pools behind it are wrapped individually
+                if (bean instanceof DataSource dataSource && !(bean instanceof SlowQueryDataSource)
+                        && !(bean instanceof ReplicaRoutingDataSource)) {
+                    return new SlowQueryDataSource(dataSource, threshold, meterRegistry::getObject);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -16,6 +16,7 @@ public class WebConfig {
                         .allowedOrigins("http://localhost:3000") // React dev server
                         .allowedMethods("GET", "POST", "PUT", "DELETE") // Allowed HTTP methods
                         .allowedHeaders("*") // Allow all headers
+                        .exposedHeaders("ETag", "Last-Modified") // Conditional GET validators
                         .allowCredentials(true); // If you use cookies or auth
             }
         };
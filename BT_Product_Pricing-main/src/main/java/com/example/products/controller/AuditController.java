@@ -0,0 +1,22 @@
+package com.example.products.controller;
+
+import com.example.products.service.AuditTrail;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/cdx-api/audits")
+public class AuditController {
+
+    @Autowired
+    private AuditTrail auditTrail;
+
+    // Queue depth and written / dropped / failed counts of the audit writer
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getStats() {
+        return ResponseEntity.ok(auditTrail.stats());
+    }
+}
@@ -3,7 +3,9 @@ package com.example.products.controller;
 import com.example.products.entity.BusinessRule;
 import com.example.products.service.BusinessRuleService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
 
@@ -19,9 +21,11 @@ public class BusinessRuleController {
         return service.createBusinessRule(productId, rule);
     }
 
+    // 304 when the product's rules are unchanged since the client's ETag
     @GetMapping("/product/{productId}")
-    public List<BusinessRule> getRulesByProduct(@PathVariable Long productId) {
-        return service.getRulesByProduct(productId);
+    public ResponseEntity<List<BusinessRule>> getRulesByProduct(@PathVariable Long productId, ServletWebRequest request) {
+        return ConditionalGet.respondList(request, service.getRulesVersionByProduct(productId),
+                () -> service.getRulesByProduct(productId));
     }
 
     @PutMapping("/update/{ruleId}")
@@ -29,6 +33,17 @@ public class BusinessRuleController {
         return service.updateBusinessRule(ruleId, rule);
     }
 
+    // Each rule names its product in productId, as with the charge and transaction type bulk endpoints
+    @PostMapping("/bulk")
+    public List<BusinessRule> addBusinessRules(@RequestBody List<BusinessRule> rules) {
+        return service.createBusinessRules(rules);
+    }
+
+    @PutMapping("/bulk")
+    public List<BusinessRule> updateBusinessRules(@RequestBody List<BusinessRule> rules) {
+        return service.updateBusinessRules(rules);
+    }
+
     @DeleteMapping("/delete/{ruleId}")
     public void deleteBusinessRule(@PathVariable Long ruleId) {
         service.deleteBusinessRule(ruleId);
@@ -1,9 +1,16 @@
 package com.example.products.controller;
 
 import com.example.products.entity.Charge;
+import com.example.products.service.ChargeEngine;
 import com.example.products.service.ChargeService;
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -13,6 +20,9 @@ public class ChargeController {
     @Autowired
     private ChargeService service;
 
+    @Autowired
+    private ChargeEngine chargeEngine;
+
     @PostMapping("/add")
     public Charge addCharge(@RequestBody Charge charge) {
         return service.createCharge(charge);
@@ -28,6 +38,29 @@ public class ChargeController {
         return service.updateCharge(chargeId, charge);
     }
 
+    @PatchMapping("/update/{chargeId}")
+    public Charge patchCharge(@PathVariable Long chargeId, @RequestBody JsonNode patch) {
+        return service.patchCharge(chargeId, patch);
+    }
+
+    @PostMapping("/bulk")
+    public List<Charge> addCharges(@RequestBody List<Charge> charges) {
+        return service.createCharges(charges);
+    }
+
+    @PutMapping("/bulk")
+    public List<Charge> updateCharges(@RequestBody List<Charge> charges) {
+        return service.updateCharges(charges);
+    }
+
+    // Charges on a stream of transactions (JSON array or NDJSON), answered as NDJSON in input order.
+    // Read and answered on the request thread, one line per transaction as chunks are evaluated
+    @PostMapping("/calculate")
+    public void calculate(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        chargeEngine.calculate(request.getInputStream(), response.getOutputStream());
+    }
+
     @DeleteMapping("/delete/{chargeId}")
     public void deleteCharge(@PathVariable Long chargeId) {
         service.deleteCharge(chargeId);
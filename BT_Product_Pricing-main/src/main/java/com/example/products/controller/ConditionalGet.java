@@ -0,0 +1,54 @@
+package com.example.products.controller;
+
+import com.example.products.dto.ContentVersion;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET for catalog reads. The version is checked against If-None-Match /
+ * If-Modified-Since before the body is loaded, so an unchanged resource costs one
+ * aggregate query and a 304 with no body. Otherwise the body is loaded and sent with
+ * the validators of the version. A single row deleted between the version check and
+ * the body load is answered with 404.
+ *
+ * Lists are validated by ETag alone. The newest change among a list's rows goes back
+ * when that row is deleted, so a Last-Modified for them would answer a client holding
+ * the longer list with 304.
+ */
+final class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    // A single row: ETag and Last-Modified, and 404 when the row is gone by the time its body is loaded
+    static <T> ResponseEntity<T> respond(ServletWebRequest request, ContentVersion version, Supplier<Optional<T>> body) {
+        return respond(request, version.etag(), version.lastModifiedMillis(), body);
+    }
+
+    static <T> ResponseEntity<T> respondList(ServletWebRequest request, ContentVersion version, Supplier<T> body) {
+        return respond(request, version.etag(), -1, () -> Optional.of(body.get()));
+    }
+
+    private static <T> ResponseEntity<T> respond(ServletWebRequest request, String etag, long lastModifiedMillis,
+                                                 Supplier<Optional<T>> body) {
+        // The same URL is served as JSON, CBOR or Smile; caches must keep them apart, 304s included
+        HttpServletResponse response = request.getResponse();
+        if (response != null) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        if (request.checkNotModified(etag, lastModifiedMillis)) {
+            // The 304 status and validators are already set on the response
+            return null;
+        }
+        // Let browsers and the service worker keep the body but revalidate it on every use
+        return body.get()
+                .map(found -> ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(found))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
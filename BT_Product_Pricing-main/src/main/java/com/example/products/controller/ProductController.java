@@ -1,14 +1,38 @@
 package com.example.products.controller;
 
+import com.example.products.dto.ContentVersion;
+import com.example.products.dto.KeysetPage;
+import com.example.products.dto.PortfolioProjection;
+import com.example.products.dto.PrematurePayout;
+import com.example.products.dto.ProductAggregate;
+import com.example.products.dto.ProductConfiguration;
+import com.example.products.dto.ProductSuggestion;
+import com.example.products.dto.ProjectionRequest;
+import com.example.products.dto.ProjectionResult;
+import com.example.products.dto.QuoteRequest;
+import com.example.products.dto.QuoteResponse;
 import com.example.products.entity.Product;
+import com.example.products.service.BulkQuoteService;
+import com.example.products.service.InterestProjectionService;
+import com.example.products.service.PricingQuoteService;
+import com.example.products.service.ProductAggregateService;
+import com.example.products.service.ProductConfigurationService;
 import com.example.products.service.ProductService;
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/cdx-api/product-pricing")
@@ -18,6 +42,21 @@ public class ProductController {
     @Autowired
     private ProductService productService;
 
+    @Autowired
+    private PricingQuoteService pricingQuoteService;
+
+    @Autowired
+    private BulkQuoteService bulkQuoteService;
+
+    @Autowired
+    private ProductConfigurationService productConfigurationService;
+
+    @Autowired
+    private InterestProjectionService interestProjectionService;
+
+    @Autowired
+    private ProductAggregateService productAggregateService;
+
     // ----------------- CRUD -----------------
 
     @PostMapping
@@ -25,16 +64,34 @@ public class ProductController {
         return ResponseEntity.ok(productService.saveProduct(product));
     }
 
+    // Catalog reads answer If-None-Match (and single products If-Modified-Since) with 304 when the
+    // products are unchanged. Lists served from the catalog cache take their ETag from the cached
+    // list itself: the cache catches up with a commit a moment after the table does, and an ETag
+    // read from the table in between would label the old list as the new one
+
     @GetMapping
-    public ResponseEntity<List<Product>> getAllProducts() {
-        return ResponseEntity.ok(productService.getAllProducts());
+    public ResponseEntity<List<Product>> getAllProducts(ServletWebRequest request) {
+        List<Product> products = productService.getAllProducts();
+        return ConditionalGet.respondList(request, ContentVersion.of(products), () -> products);
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<KeysetPage<Product>> getProductsPage(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer size,
+            ServletWebRequest request) {
+        return ConditionalGet.respondList(request, productService.getCatalogVersion(),
+                () -> productService.getProductsPage(after, KeysetPage.clampSize(size)));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Product> getProductById(@PathVariable Long id) {
-        return productService.getProductById(id)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<Product> getProductById(@PathVariable Long id, ServletWebRequest request) {
+        Optional<Product> product = productService.getProductById(id);
+        if (product.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        // Single products come from the catalog cache, so the version is read off the entity
+        return ConditionalGet.respond(request, ContentVersion.of(product.get()), () -> product);
     }
 
     @PutMapping("/{id}")
@@ -44,6 +101,14 @@ public class ProductController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // Only the supplied fields are written; include "version" to reject edits of a stale copy
+    @PatchMapping("/{id}")
+    public ResponseEntity<Product> patchProduct(@PathVariable Long id, @RequestBody JsonNode patch) {
+        return productService.patchProduct(id, patch)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteProduct(@PathVariable Long id) {
         return productService.deleteProduct(id)
@@ -51,10 +116,36 @@ public class ProductController {
                 : ResponseEntity.notFound().build();
     }
 
+    // Product with its rules, roles, charges, transaction types and rates, in one response
+    @GetMapping("/{id}/aggregate")
+    public ResponseEntity<ProductAggregate> getProductAggregate(@PathVariable Long id) {
+        return productAggregateService.getAggregate(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Aggregates of up to 100 products (?ids=1,2,3) in request order; unknown ids are left out
+    @GetMapping("/aggregate")
+    public ResponseEntity<List<ProductAggregate>> getProductAggregates(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(productAggregateService.getAggregates(ids));
+    }
+
     @GetMapping("/search")
-    public ResponseEntity<List<Product>> searchProducts(@RequestParam String name) {
+    public ResponseEntity<List<Product>> searchProducts(@RequestParam String name, ServletWebRequest request) {
         List<Product> products = productService.searchProductsByName(name);
-        return ResponseEntity.ok(products);
+        return ConditionalGet.respondList(request, ContentVersion.of(products), () -> products);
+    }
+
+    // Ranked matches on product name or code, at most "limit" of them
+    @GetMapping("/typeahead")
+    public ResponseEntity<List<ProductSuggestion>> typeahead(@RequestParam("q") String query,
+                                                             @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(productService.typeahead(query, limit));
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Object>> getCatalogCacheStats() {
+        return ResponseEntity.ok(productService.getCatalogCacheStats());
     }
 
     // ----------------- Analytics -----------------
@@ -89,14 +180,73 @@ public class ProductController {
     @GetMapping("/active")
     public ResponseEntity<List<Product>> getActiveProducts(
             @RequestParam LocalDate date,
-            @RequestParam String type) {
-        return ResponseEntity.ok(productService.getActiveProducts(date, type));
+            @RequestParam String type,
+            ServletWebRequest request) {
+        return ConditionalGet.respondList(request, productService.getCatalogVersion(),
+                () -> productService.getActiveProducts(date, type));
     }
 
-    // 6️⃣ Interest rate for a given product
+    // 6️⃣ Interest rate for a given product; the headline rate unless a term (and amount) is given
     @GetMapping("/{productId}/interest-rate")
-    public ResponseEntity<BigDecimal> getInterestRate(@PathVariable Long productId) {
-        BigDecimal rate = productService.getInterestRate(productId);
+    public ResponseEntity<BigDecimal> getInterestRate(@PathVariable Long productId,
+                                                      @RequestParam(required = false) Integer term,
+                                                      @RequestParam(required = false) BigDecimal amount) {
+        BigDecimal rate = productService.getInterestRate(productId, term, amount);
         return rate != null ? ResponseEntity.ok(rate) : ResponseEntity.notFound().build();
     }
+
+    // 7️⃣ Quote for an amount, term and customer category
+    @PostMapping("/{productId}/quote")
+    public ResponseEntity<QuoteResponse> quote(@PathVariable Long productId, @RequestBody QuoteRequest request) {
+        if (request.getAmount() == null || request.getTerm() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return pricingQuoteService.quote(productId, request)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // 8️⃣ Bulk quotes: JSON array or NDJSON of {productId, amount, term, customerCategory} in, NDJSON out.
+    // Read and answered on the request thread, one line per item as chunks are priced
+    @PostMapping("/quote/bulk")
+    public void bulkQuote(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        bulkQuoteService.quote(request.getInputStream(), response.getOutputStream());
+    }
+
+    // 9️⃣ Full configuration (rules, transaction types, charges) of a product in one transaction;
+    // a charge names a transaction type of the same request by txnName
+    @PostMapping("/{productId}/configuration")
+    public ResponseEntity<ProductConfiguration> loadConfiguration(@PathVariable Long productId,
+                                                                  @RequestBody ProductConfiguration configuration) {
+        return productConfigurationService.load(productId, configuration)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // ----------------- Projections -----------------
+
+    // Maturity amount and accrual schedule of a deposit of {amount, term, startDate}
+    @PostMapping("/{productId}/projection")
+    public ResponseEntity<ProjectionResult> projectMaturity(@PathVariable Long productId,
+                                                            @RequestBody ProjectionRequest request) {
+        return interestProjectionService.project(productId, request)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Payout of a deposit of {amount, term} withdrawn after heldDays
+    @PostMapping("/{productId}/premature-payout")
+    public ResponseEntity<PrematurePayout> prematurePayout(@PathVariable Long productId,
+                                                           @RequestBody ProjectionRequest request) {
+        return interestProjectionService.prematurePayout(productId, request)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Maturity of every deposit {productId, amount, term, startDate} of a portfolio, with totals
+    @PostMapping("/projection/portfolio")
+    public ResponseEntity<PortfolioProjection> projectPortfolio(@RequestBody List<ProjectionRequest> deposits) {
+        return ResponseEntity.ok(interestProjectionService.projectPortfolio(deposits));
+    }
 }
@@ -1,10 +1,14 @@
 package com.example.products.controller;
 
+import com.example.products.dto.ContentVersion;
+import com.example.products.dto.KeysetPage;
+import com.example.products.dto.RateMatrixView;
 import com.example.products.entity.RateMatrix;
 import com.example.products.service.RateMatrixService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -16,36 +20,61 @@ public class RateMatrixController {
     @Autowired
     private RateMatrixService rateMatrixService;
 
+    // Reads answer If-None-Match (single rates also If-Modified-Since) with 304 when the rows behind them are unchanged
+
     @GetMapping
-    public ResponseEntity<List<RateMatrix>> getAllRates() {
-        return ResponseEntity.ok(rateMatrixService.getAllRates());
+    public ResponseEntity<List<RateMatrixView>> getAllRates(ServletWebRequest request) {
+        return ConditionalGet.respondList(request, rateMatrixService.getRatesVersion(), rateMatrixService::getAllRates);
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<KeysetPage<RateMatrixView>> getRatesPage(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer size,
+            ServletWebRequest request) {
+        return ConditionalGet.respondList(request, rateMatrixService.getRatesVersion(),
+                () -> rateMatrixService.getRatesPage(after, KeysetPage.clampSize(size)));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<RateMatrix> getRateById(@PathVariable Long id) {
-        return rateMatrixService.getRateById(id)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<RateMatrixView> getRateById(@PathVariable Long id, ServletWebRequest request) {
+        ContentVersion version = rateMatrixService.getRateVersion(id);
+        if (version.getCount() == 0) {
+            return ResponseEntity.notFound().build();
+        }
+        return ConditionalGet.respond(request, version, () -> rateMatrixService.getRateById(id));
     }
 
     @GetMapping("/product/{productId}")
-    public ResponseEntity<List<RateMatrix>> getRatesByProduct(@PathVariable Long productId) {
-        return ResponseEntity.ok(rateMatrixService.getRatesByProductId(productId));
+    public ResponseEntity<List<RateMatrixView>> getRatesByProduct(@PathVariable Long productId, ServletWebRequest request) {
+        return ConditionalGet.respondList(request, rateMatrixService.getRatesVersionByProductId(productId),
+                () -> rateMatrixService.getRatesByProductId(productId));
+    }
+
+    @GetMapping("/product/{productId}/as-of")
+    public ResponseEntity<RateMatrixView> getRateAsOf(@PathVariable Long productId,
+                                                      @RequestParam(required = false) String category,
+                                                      @RequestParam String date) {
+        return rateMatrixService.getRateAsOf(productId, category, LocalDate.parse(date))
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/category/{category}")
-    public ResponseEntity<List<RateMatrix>> getRatesByCategory(@PathVariable String category) {
-        return ResponseEntity.ok(rateMatrixService.getRatesByCustomerCategory(category));
+    public ResponseEntity<List<RateMatrixView>> getRatesByCategory(@PathVariable String category, ServletWebRequest request) {
+        return ConditionalGet.respondList(request, rateMatrixService.getRatesVersion(),
+                () -> rateMatrixService.getRatesByCustomerCategory(category));
     }
 
     @GetMapping("/active")
-    public ResponseEntity<List<RateMatrix>> getActiveRates(@RequestParam String date) {
+    public ResponseEntity<List<RateMatrixView>> getActiveRates(@RequestParam String date, ServletWebRequest request) {
         LocalDate localDate = LocalDate.parse(date);
-        return ResponseEntity.ok(rateMatrixService.getActiveRates(localDate));
+        return ConditionalGet.respondList(request, rateMatrixService.getRatesVersion(),
+                () -> rateMatrixService.getActiveRates(localDate));
     }
 
     @PostMapping
-    public ResponseEntity<RateMatrix> createRate(@RequestBody RateMatrix rateMatrix) {
+    public ResponseEntity<RateMatrixView> createRate(@RequestBody RateMatrix rateMatrix) {
         return ResponseEntity.ok(rateMatrixService.saveRate(rateMatrix));
     }
 
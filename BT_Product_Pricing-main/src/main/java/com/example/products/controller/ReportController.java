@@ -1,12 +1,17 @@
 package com.example.products.controller;
 
+import com.example.products.dto.KeysetPage;
+import com.example.products.dto.ProductReportSummary;
 import com.example.products.entity.Product;
 import com.example.products.service.BusinessRuleService;
 import com.example.products.service.ProductService;
+import com.example.products.service.ReportExportService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -22,6 +27,9 @@ public class ReportController {
     @Autowired
     private BusinessRuleService businessRuleService;
 
+    @Autowired
+    private ReportExportService reportExportService;
+
     // -------------------- Product Reports --------------------
 
     // Products created today
@@ -60,6 +68,83 @@ public class ReportController {
         return ResponseEntity.ok(productService.getActiveProducts(date, productType));
     }
 
+    // -------------------- Product Report Counts --------------------
+    // Served from counts maintained on every product write, for dashboard tiles
+
+    // Totals per type and status, created today and this month, active per type; date defaults to today
+    @GetMapping("/summary")
+    public ResponseEntity<ProductReportSummary> summary(
+            @RequestParam(value = "date", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        return ResponseEntity.ok(productService.getReportSummary(date != null ? date : LocalDate.now()));
+    }
+
+    @GetMapping("/products-created-today/count")
+    public ResponseEntity<Long> productsCreatedTodayCount() {
+        return ResponseEntity.ok(productService.countProductsCreatedToday());
+    }
+
+    @GetMapping("/products-created-this-month/count")
+    public ResponseEntity<Long> productsCreatedThisMonthCount() {
+        return ResponseEntity.ok(productService.countProductsCreatedThisMonth());
+    }
+
+    @GetMapping("/active-products/count")
+    public ResponseEntity<Long> activeProductsCount(
+            @RequestParam("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam("productType") String productType
+    ) {
+        return ResponseEntity.ok(productService.countActiveProducts(date, productType));
+    }
+
+    // -------------------- Paged Product Reports --------------------
+    // Keyset pages ordered by productId: pass nextCursor back as "after"
+
+    @GetMapping("/products-created-today/page")
+    public ResponseEntity<KeysetPage<Product>> productsCreatedTodayPage(
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "size", required = false) Integer size
+    ) {
+        return ResponseEntity.ok(productService.getProductsCreatedTodayPage(after, KeysetPage.clampSize(size)));
+    }
+
+    @GetMapping("/products-created-this-month/page")
+    public ResponseEntity<KeysetPage<Product>> productsCreatedThisMonthPage(
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "size", required = false) Integer size
+    ) {
+        return ResponseEntity.ok(productService.getProductsCreatedThisMonthPage(after, KeysetPage.clampSize(size)));
+    }
+
+    @GetMapping("/products-between/page")
+    public ResponseEntity<KeysetPage<Product>> productsBetweenPage(
+            @RequestParam("start") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam("end") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "size", required = false) Integer size
+    ) {
+        return ResponseEntity.ok(productService.getProductsBetweenPage(start, end, after, KeysetPage.clampSize(size)));
+    }
+
+    @GetMapping("/products-by-user/page")
+    public ResponseEntity<KeysetPage<Product>> productsByUserPage(
+            @RequestParam("username") String username,
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "size", required = false) Integer size
+    ) {
+        return ResponseEntity.ok(productService.getProductsByUserPage(username, after, KeysetPage.clampSize(size)));
+    }
+
+    @GetMapping("/active-products/page")
+    public ResponseEntity<KeysetPage<Product>> activeProductsPage(
+            @RequestParam("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam("productType") String productType,
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "size", required = false) Integer size
+    ) {
+        return ResponseEntity.ok(productService.getActiveProductsPage(date, productType, after, KeysetPage.clampSize(size)));
+    }
+
     // -------------------- Interest Rate Reports --------------------
 
     // Interest rate matrix for a product
@@ -67,4 +152,48 @@ public class ReportController {
     public ResponseEntity<List<BigDecimal>> interestRateMatrix(@PathVariable Long productId) {
         return ResponseEntity.ok(businessRuleService.getInterestRatesByProduct(productId));
     }
+
+    // -------------------- Streaming Exports --------------------
+    // Rows are written as they are read from the database; format=ndjson (default) or csv
+
+    @GetMapping("/export/products-between")
+    public ResponseEntity<StreamingResponseBody> exportProductsBetween(
+            @RequestParam("start") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam("end") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+            @RequestParam(value = "format", required = false) String format
+    ) {
+        ReportExportService.Format exportFormat = ReportExportService.Format.from(format);
+        return export("products-between", exportFormat,
+                out -> reportExportService.exportProductsBetween(start, end, exportFormat, out));
+    }
+
+    @GetMapping("/export/active-products")
+    public ResponseEntity<StreamingResponseBody> exportActiveProducts(
+            @RequestParam("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam("productType") String productType,
+            @RequestParam(value = "format", required = false) String format
+    ) {
+        ReportExportService.Format exportFormat = ReportExportService.Format.from(format);
+        return export("active-products", exportFormat,
+                out -> reportExportService.exportActiveProducts(date, productType, exportFormat, out));
+    }
+
+    @GetMapping("/export/interest-rate-matrix/{productId}")
+    public ResponseEntity<StreamingResponseBody> exportInterestRateMatrix(
+            @PathVariable Long productId,
+            @RequestParam(value = "format", required = false) String format
+    ) {
+        ReportExportService.Format exportFormat = ReportExportService.Format.from(format);
+        return export("interest-rate-matrix-" + productId, exportFormat,
+                out -> reportExportService.exportInterestRateMatrix(productId, exportFormat, out));
+    }
+
+    private ResponseEntity<StreamingResponseBody> export(String name, ReportExportService.Format format,
+                                                         StreamingResponseBody body) {
+        String fileName = name + "." + format.name().toLowerCase();
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
 }
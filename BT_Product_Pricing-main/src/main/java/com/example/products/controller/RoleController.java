@@ -1,5 +1,6 @@
 package com.example.products.controller;
 
+import com.example.products.dto.RoleView;
 import com.example.products.entity.Role;
 import com.example.products.service.RoleService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,19 +17,19 @@ public class RoleController {
 
     // Add a new role to a product
     @PostMapping("/add/{productId}")
-    public Role addRole(@PathVariable Long productId, @RequestBody Role role) {
+    public RoleView addRole(@PathVariable Long productId, @RequestBody Role role) {
         return roleService.createRole(productId, role);
     }
 
     // Get all roles for a product
     @GetMapping("/product/{productId}")
-    public List<Role> getRolesByProduct(@PathVariable Long productId) {
+    public List<RoleView> getRolesByProduct(@PathVariable Long productId) {
         return roleService.getRolesByProduct(productId);
     }
 
     // Update a role
     @PutMapping("/update/{roleId}")
-    public Role updateRole(@PathVariable Long roleId, @RequestBody Role role) {
+    public RoleView updateRole(@PathVariable Long roleId, @RequestBody Role role) {
         return roleService.updateRole(roleId, role);
     }
 
@@ -1,8 +1,13 @@
 package com.example.products.controller;
 
+import com.example.products.dto.AuthorizationRequest;
+import com.example.products.dto.AuthorizationResult;
 import com.example.products.entity.TransactionType;
+import com.example.products.service.TransactionLimitService;
 import com.example.products.service.TransactionTypeService;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
 
@@ -13,6 +18,9 @@ public class TransactionTypeController {
     @Autowired
     private TransactionTypeService service;
 
+    @Autowired
+    private TransactionLimitService limitService;
+
     @PostMapping("/add")
     public TransactionType addTransactionType(@RequestBody TransactionType txn) {
         return service.createTransactionType(txn);
@@ -28,6 +36,30 @@ public class TransactionTypeController {
         return service.updateTransactionType(txnTypeId, txn);
     }
 
+    @PatchMapping("/update/{txnTypeId}")
+    public TransactionType patchTransactionType(@PathVariable Long txnTypeId, @RequestBody JsonNode patch) {
+        return service.patchTransactionType(txnTypeId, patch);
+    }
+
+    @PostMapping("/bulk")
+    public List<TransactionType> addTransactionTypes(@RequestBody List<TransactionType> txns) {
+        return service.createTransactionTypes(txns);
+    }
+
+    @PutMapping("/bulk")
+    public List<TransactionType> updateTransactionTypes(@RequestBody List<TransactionType> txns) {
+        return service.updateTransactionTypes(txns);
+    }
+
+    // Checks a transaction against the type's limits and counts it if approved
+    @PostMapping("/{txnTypeId}/authorize")
+    public ResponseEntity<AuthorizationResult> authorize(@PathVariable Long txnTypeId,
+                                                         @RequestBody AuthorizationRequest request) {
+        return limitService.authorize(txnTypeId, request)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @DeleteMapping("/delete/{txnTypeId}")
     public void deleteTransactionType(@PathVariable Long txnTypeId) {
         service.deleteTransactionType(txnTypeId);
@@ -0,0 +1,22 @@
+package com.example.products.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.math.BigDecimal;
+
+/**
+ * A transaction to check against its transaction type's limits.
+ */
+public class AuthorizationRequest {
+
+    @JsonProperty("accountId")
+    private String accountId;
+
+    @JsonProperty("amount")
+    private BigDecimal amount;
+
+    public String getAccountId() { return accountId; }
+    public void setAccountId(String accountId) { this.accountId = accountId; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+}
@@ -0,0 +1,62 @@
+package com.example.products.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.math.BigDecimal;
+
+/**
+ * Outcome of a limit check. An approved transaction is counted against the day's
+ * usage; a declined one carries the {@code reason} and is not counted. Remaining
+ * values are absent when the type has no such limit.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AuthorizationResult {
+
+    @JsonProperty("approved")
+    private boolean approved;
+
+    @JsonProperty("reason")
+    private String reason;
+
+    @JsonProperty("txnTypeId")
+    private Long txnTypeId;
+
+    @JsonProperty("accountId")
+    private String accountId;
+
+    @JsonProperty("usedAmount")
+    private BigDecimal usedAmount;
+
+    @JsonProperty("usedCount")
+    private Integer usedCount;
+
+    @JsonProperty("remainingAmount")
+    private BigDecimal remainingAmount;
+
+    @JsonProperty("remainingCount")
+    private Integer remainingCount;
+
+    public boolean isApproved() { return approved; }
+    public void setApproved(boolean approved) { this.approved = approved; }
+
+    public String getReason() { return reason; }
+    public void setReason(String reason) { this.reason = reason; }
+
+    public Long getTxnTypeId() { return txnTypeId; }
+    public void setTxnTypeId(Long txnTypeId) { this.txnTypeId = txnTypeId; }
+
+    public String getAccountId() { return accountId; }
+    public void setAccountId(String accountId) { this.accountId = accountId; }
+
+    public BigDecimal getUsedAmount() { return usedAmount; }
+    public void setUsedAmount(BigDecimal usedAmount) { this.usedAmount = usedAmount; }
+
+    public Integer getUsedCount() { return usedCount; }
+    public void setUsedCount(Integer usedCount) { this.usedCount = usedCount; }
+
+    public BigDecimal getRemainingAmount() { return remainingAmount; }
+    public void setRemainingAmount(BigDecimal remainingAmount) { this.remainingAmount = remainingAmount; }
+
+    public Integer getRemainingCount() { return remainingCount; }
+    public void setRemainingCount(Integer remainingCount) { this.remainingCount = remainingCount; }
+}
@@ -0,0 +1,34 @@
+package com.example.products.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.math.BigDecimal;
+
+/**
+ * One line of a bulk quote request.
+ */
+public class BulkQuoteItem {
+
+    @JsonProperty("productId")
+    private Long productId;
+
+    @JsonProperty("amount")
+    private BigDecimal amount;
+
+    @JsonProperty("term")
+    private Integer term;
+
+    @JsonProperty("customerCategory")
+    private String customerCategory;
+
+    public Long getProductId() { return productId; }
+    public void setProductId(Long productId) { this.productId = productId; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    public Integer getTerm() { return term; }
+    public void setTerm(Integer term) { this.term = term; }
+
+    public String getCustomerCategory() { return customerCategory; }
+    public void setCustomerCategory(String customerCategory) { this.customerCategory = customerCategory; }
+}
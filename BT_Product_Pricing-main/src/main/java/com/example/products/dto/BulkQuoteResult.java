@@ -0,0 +1,55 @@
+package com.example.products.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.math.BigDecimal;
+
+/**
+ * One line of a bulk quote response. {@code index} is the position of the
+ * input item; {@code error} is set instead of the rate fields when it could not be priced.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkQuoteResult {
+
+    @JsonProperty("index")
+    private long index;
+
+    @JsonProperty("productId")
+    private Long productId;
+
+    @JsonProperty("ruleId")
+    private Long ruleId;
+
+    @JsonProperty("interestRate")
+    private BigDecimal interestRate;
+
+    @JsonProperty("rateId")
+    private Long rateId;
+
+    @JsonProperty("baseInterestRate")
+    private BigDecimal baseInterestRate;
+
+    @JsonProperty("error")
+    private String error;
+
+    public long getIndex() { return index; }
+    public void setIndex(long index) { this.index = index; }
+
+    public Long getProductId() { return productId; }
+    public void setProductId(Long productId) { this.productId = productId; }
+
+    public Long getRuleId() { return ruleId; }
+    public void setRuleId(Long ruleId) { this.ruleId = ruleId; }
+
+    public BigDecimal getInterestRate() { return interestRate; }
+    public void setInterestRate(BigDecimal interestRate) { this.interestRate = interestRate; }
+
+    public Long getRateId() { return rateId; }
+    public void setRateId(Long rateId) { this.rateId = rateId; }
+
+    public BigDecimal getBaseInterestRate() { return baseInterestRate; }
+    public void setBaseInterestRate(BigDecimal baseInterestRate) { this.baseInterestRate = baseInterestRate; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
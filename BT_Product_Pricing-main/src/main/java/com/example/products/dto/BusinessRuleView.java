@@ -0,0 +1,104 @@
+package com.example.products.dto;
+
+import com.example.products.entity.BusinessRule;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Immutable copy of a BusinessRule, as held by pricing snapshots shared across
+ * threads. Serializes like the entity.
+ */
+public final class BusinessRuleView {
+
+    @JsonProperty("ruleId")
+    private final Long ruleId;
+
+    @JsonProperty("productId")
+    private final Long productId;
+
+    @JsonProperty("minTerm")
+    private final Integer minTerm;
+
+    @JsonProperty("maxTerm")
+    private final Integer maxTerm;
+
+    @JsonProperty("minAmount")
+    private final BigDecimal minAmount;
+
+    @JsonProperty("maxAmount")
+    private final BigDecimal maxAmount;
+
+    @JsonProperty("interestRate")
+    private final BigDecimal interestRate;
+
+    @JsonProperty("compoundingFrequency")
+    private final String compoundingFrequency;
+
+    @JsonProperty("prematureWithdrawalAllowed")
+    private final Boolean prematureWithdrawalAllowed;
+
+    @JsonProperty("prematurePenaltyRate")
+    private final BigDecimal prematurePenaltyRate;
+
+    @JsonProperty("autoRenewal")
+    private final Boolean autoRenewal;
+
+    @JsonProperty("minBalanceRequired")
+    private final BigDecimal minBalanceRequired;
+
+    @JsonProperty("createdAt")
+    private final LocalDateTime createdAt;
+
+    @JsonProperty("updatedAt")
+    private final LocalDateTime updatedAt;
+
+    private BusinessRuleView(BusinessRule rule) {
+        this.ruleId = rule.getRuleId();
+        this.productId = rule.getProductId();
+        this.minTerm = rule.getMinTerm();
+        this.maxTerm = rule.getMaxTerm();
+        this.minAmount = rule.getMinAmount();
+        this.maxAmount = rule.getMaxAmount();
+        this.interestRate = rule.getInterestRate();
+        this.compoundingFrequency = rule.getCompoundingFrequency();
+        this.prematureWithdrawalAllowed = rule.getPrematureWithdrawalAllowed();
+        this.prematurePenaltyRate = rule.getPrematurePenaltyRate();
+        this.autoRenewal = rule.getAutoRenewal();
+        this.minBalanceRequired = rule.getMinBalanceRequired();
+        this.createdAt = rule.getCreatedAt();
+        this.updatedAt = rule.getUpdatedAt();
+    }
+
+    public static BusinessRuleView from(BusinessRule rule) {
+        return new BusinessRuleView(rule);
+    }
+
+    public Long getRuleId() { return ruleId; }
+
+    public Long getProductId() { return productId; }
+
+    public Integer getMinTerm() { return minTerm; }
+
+    public Integer getMaxTerm() { return maxTerm; }
+
+    public BigDecimal getMinAmount() { return minAmount; }
+
+    public BigDecimal getMaxAmount() { return maxAmount; }
+
+    public BigDecimal getInterestRate() { return interestRate; }
+
+    public String getCompoundingFrequency() { return compoundingFrequency; }
+
+    public Boolean getPrematureWithdrawalAllowed() { return prematureWithdrawalAllowed; }
+
+    public BigDecimal getPrematurePenaltyRate() { return prematurePenaltyRate; }
+
+    public Boolean getAutoRenewal() { return autoRenewal; }
+
+    public BigDecimal getMinBalanceRequired() { return minBalanceRequired; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
@@ -0,0 +1,96 @@
+package com.example.products.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Charges applied to one transaction. {@code index} is the position of the input
+ * transaction; {@code error} is set instead of the charges when it could not be evaluated.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChargeResult {
+
+    @JsonProperty("index")
+    private long index;
+
+    @JsonProperty("reference")
+    private String reference;
+
+    @JsonProperty("productId")
+    private Long productId;
+
+    @JsonProperty("txnTypeId")
+    private Long txnTypeId;
+
+    @JsonProperty("charges")
+    private List<AppliedCharge> charges;
+
+    @JsonProperty("totalCharge")
+    private BigDecimal totalCharge;
+
+    @JsonProperty("error")
+    private String error;
+
+    public long getIndex() { return index; }
+    public void setIndex(long index) { this.index = index; }
+
+    public String getReference() { return reference; }
+    public void setReference(String reference) { this.reference = reference; }
+
+    public Long getProductId() { return productId; }
+    public void setProductId(Long productId) { this.productId = productId; }
+
+    public Long getTxnTypeId() { return txnTypeId; }
+    public void setTxnTypeId(Long txnTypeId) { this.txnTypeId = txnTypeId; }
+
+    public List<AppliedCharge> getCharges() { return charges; }
+    public void setCharges(List<AppliedCharge> charges) { this.charges = charges; }
+
+    public BigDecimal getTotalCharge() { return totalCharge; }
+    public void setTotalCharge(BigDecimal totalCharge) { this.totalCharge = totalCharge; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+
+    /**
+     * One charge levied on the transaction.
+     */
+    public static class AppliedCharge {
+
+        @JsonProperty("chargeId")
+        private Long chargeId;
+
+        @JsonProperty("chargeName")
+        private String chargeName;
+
+        @JsonProperty("chargeType")
+        private String chargeType;
+
+        @JsonProperty("amount")
+        private BigDecimal amount;
+
+        public AppliedCharge() {
+        }
+
+        public AppliedCharge(Long chargeId, String chargeName, String chargeType, BigDecimal amount) {
+            this.chargeId = chargeId;
+            this.chargeName = chargeName;
+            this.chargeType = chargeType;
+            this.amount = amount;
+        }
+
+        public Long getChargeId() { return chargeId; }
+        public void setChargeId(Long chargeId) { this.chargeId = chargeId; }
+
+        public String getChargeName() { return chargeName; }
+        public void setChargeName(String chargeName) { this.chargeName = chargeName; }
+
+        public String getChargeType() { return chargeType; }
+        public void setChargeType(String chargeType) { this.chargeType = chargeType; }
+
+        public BigDecimal getAmount() { return amount; }
+        public void setAmount(BigDecimal amount) { this.amount = amount; }
+    }
+}
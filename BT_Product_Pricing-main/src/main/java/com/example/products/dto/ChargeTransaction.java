@@ -0,0 +1,35 @@
+package com.example.products.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.math.BigDecimal;
+
+/**
+ * One transaction of a charge calculation run.
+ */
+public class ChargeTransaction {
+
+    // Caller's reference, echoed back on the result
+    @JsonProperty("reference")
+    private String reference;
+
+    @JsonProperty("productId")
+    private Long productId;
+
+    @JsonProperty("txnTypeId")
+    private Long txnTypeId;
+
+    @JsonProperty("amount")
+    private BigDecimal amount;
+
+    public String getReference() { return reference; }
+    public void setReference(String reference) { this.reference = reference; }
+
+    public Long getProductId() { return productId; }
+    public void setProductId(Long productId) { this.productId = productId; }
+
+    public Long getTxnTypeId() { return txnTypeId; }
+    public void setTxnTypeId(Long txnTypeId) { this.txnTypeId = txnTypeId; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+}
@@ -0,0 +1,109 @@
+package com.example.products.dto;
+
+import com.example.products.entity.Charge;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+
+/**
+ * Immutable copy of a Charge, as held by pricing snapshots shared across threads.
+ * Serializes like the entity.
+ */
+public final class ChargeView {
+
+    @JsonProperty("chargeId")
+    private final Long chargeId;
+
+    @JsonProperty("productId")
+    private final Long productId;
+
+    @JsonProperty("balanceId")
+    private final Long balanceId;
+
+    @JsonProperty("txnTypeId")
+    private final Long txnTypeId;
+
+    @JsonProperty("chargeType")
+    private final String chargeType;
+
+    @JsonProperty("chargeName")
+    private final String chargeName;
+
+    @JsonProperty("rate")
+    private final BigDecimal rate;
+
+    @JsonProperty("calculationType")
+    private final String calculationType;
+
+    @JsonProperty("frequency")
+    private final String frequency;
+
+    @JsonProperty("isMandatory")
+    private final Boolean isMandatory;
+
+    @JsonProperty("thresholdAmount")
+    private final BigDecimal thresholdAmount;
+
+    // Timestamp is mutable, so it is copied in and out
+    private final Timestamp createdAt;
+
+    private final Timestamp updatedAt;
+
+    @JsonProperty("version")
+    private final Long version;
+
+    private ChargeView(Charge charge) {
+        this.chargeId = charge.getChargeId();
+        this.productId = charge.getProductId();
+        this.balanceId = charge.getBalanceId();
+        this.txnTypeId = charge.getTxnTypeId();
+        this.chargeType = charge.getChargeType();
+        this.chargeName = charge.getChargeName();
+        this.rate = charge.getRate();
+        this.calculationType = charge.getCalculationType();
+        this.frequency = charge.getFrequency();
+        this.isMandatory = charge.getIsMandatory();
+        this.thresholdAmount = charge.getThresholdAmount();
+        this.createdAt = copy(charge.getCreatedAt());
+        this.updatedAt = copy(charge.getUpdatedAt());
+        this.version = charge.getVersion();
+    }
+
+    public static ChargeView from(Charge charge) {
+        return new ChargeView(charge);
+    }
+
+    private static Timestamp copy(Timestamp timestamp) {
+        return timestamp != null ? (Timestamp) timestamp.clone() : null;
+    }
+
+    public Long getChargeId() { return chargeId; }
+
+    public Long getProductId() { return productId; }
+
+    public Long getBalanceId() { return balanceId; }
+
+    public Long getTxnTypeId() { return txnTypeId; }
+
+    public String getChargeType() { return chargeType; }
+
+    public String getChargeName() { return chargeName; }
+
+    public BigDecimal getRate() { return rate; }
+
+    public String getCalculationType() { return calculationType; }
+
+    public String getFrequency() { return frequency; }
+
+    public Boolean getIsMandatory() { return isMandatory; }
+
+    public BigDecimal getThresholdAmount() { return thresholdAmount; }
+
+    @JsonProperty("createdAt")
+    public Timestamp getCreatedAt() { return copy(createdAt); }
+
+    @JsonProperty("updatedAt")
+    public Timestamp getUpdatedAt() { return copy(updatedAt); }
+
+    public Long getVersion() { return version; }
+}
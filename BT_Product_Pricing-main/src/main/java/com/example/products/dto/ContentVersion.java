@@ -0,0 +1,72 @@
+package com.example.products.dto;
+
+import com.example.products.entity.Product;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+
+/**
+ * Cheap fingerprint of a set of rows for conditional GETs: how many there are, when
+ * the latest of them changed and a sum of their ids and versions. Any insert, update
+ * or delete through the application moves at least one of the three, so the ETag
+ * built from them changes whenever the rows a response was built from do.
+ */
+public class ContentVersion {
+
+    private final long count;
+    private final LocalDateTime lastModified;
+    private final long checksum;
+
+    // Aggregates of an empty set are null
+    public ContentVersion(Long count, LocalDateTime lastModified, Long checksum) {
+        this.count = count != null ? count : 0;
+        this.lastModified = lastModified;
+        this.checksum = checksum != null ? checksum : 0;
+    }
+
+    public static ContentVersion of(Product product) {
+        long version = product.getVersion() != null ? product.getVersion() : 0;
+        return new ContentVersion(1L, product.getUpdatedAt(), product.getProductId() + version);
+    }
+
+    // The fingerprint ProductRepository.findContentVersion takes, of products already loaded
+    public static ContentVersion of(Collection<Product> products) {
+        LocalDateTime lastModified = null;
+        long checksum = 0;
+        for (Product product : products) {
+            LocalDateTime updatedAt = product.getUpdatedAt();
+            if (updatedAt != null && (lastModified == null || updatedAt.isAfter(lastModified))) {
+                lastModified = updatedAt;
+            }
+            checksum += product.getProductId() + (product.getVersion() != null ? product.getVersion() : 0);
+        }
+        return new ContentVersion((long) products.size(), lastModified, checksum);
+    }
+
+    public long getCount() { return count; }
+
+    public LocalDateTime getLastModified() { return lastModified; }
+
+    public long getChecksum() { return checksum; }
+
+    // Weak validator: the rows are the same, but the bytes depend on the negotiated format
+    // and compression (Tomcat does not gzip responses carrying a strong ETag)
+    public String etag() {
+        // Microseconds, the finest precision the timestamp columns keep
+        long modified = lastModified != null ? ChronoUnit.MICROS.between(Instant.EPOCH, toInstant()) : 0;
+        return "W/\"" + Long.toHexString(count) + "-" + Long.toHexString(modified) + "-" + Long.toHexString(checksum) + "\"";
+    }
+
+    // Epoch millis for Last-Modified, or -1 when no row records a change time
+    public long lastModifiedMillis() {
+        return lastModified != null ? toInstant().toEpochMilli() : -1;
+    }
+
+    // Change times are written as LocalDateTime.now(), i.e. in the server's zone
+    private Instant toInstant() {
+        return lastModified.atZone(ZoneId.systemDefault()).toInstant();
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.products.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing. Pass {@code nextCursor} back as
+ * {@code after} to fetch the following page; it is null on the last page.
+ */
+public class KeysetPage<T> {
+
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 500;
+
+    @JsonProperty("items")
+    private final List<T> items;
+
+    @JsonProperty("size")
+    private final int size;
+
+    @JsonProperty("nextCursor")
+    private final Long nextCursor;
+
+    private KeysetPage(List<T> items, int size, Long nextCursor) {
+        this.items = items;
+        this.size = size;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Builds a page from rows fetched in ascending key order with a limit of {@code size}.
+     */
+    public static <T> KeysetPage<T> of(List<T> items, int size, Function<T, Long> key) {
+        Long nextCursor = items.size() == size ? key.apply(items.get(items.size() - 1)) : null;
+        return new KeysetPage<>(items, size, nextCursor);
+    }
+
+    public static int clampSize(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return DEFAULT_SIZE;
+        }
+        return Math.min(requested, MAX_SIZE);
+    }
+
+    public static long cursor(Long after) {
+        return after == null ? 0L : after;
+    }
+
+    public List<T> getItems() { return items; }
+
+    public int getSize() { return size; }
+
+    public Long getNextCursor() { return nextCursor; }
+}
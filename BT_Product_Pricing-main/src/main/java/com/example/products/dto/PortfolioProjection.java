@@ -0,0 +1,42 @@
+package com.example.products.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Maturity projection of a deposit portfolio: one result per deposit, in input
+ * order, and totals over the deposits that could be projected.
+ */
+public class PortfolioProjection {
+
+    @JsonProperty("deposits")
+    private int deposits;
+
+    @JsonProperty("totalPrincipal")
+    private BigDecimal totalPrincipal;
+
+    @JsonProperty("totalInterest")
+    private BigDecimal totalInterest;
+
+    @JsonProperty("totalMaturityAmount")
+    private BigDecimal totalMaturityAmount;
+
+    @JsonProperty("results")
+    private List<ProjectionResult> results;
+
+    public int getDeposits() { return deposits; }
+    public void setDeposits(int deposits) { this.deposits = deposits; }
+
+    public BigDecimal getTotalPrincipal() { return totalPrincipal; }
+    public void setTotalPrincipal(BigDecimal totalPrincipal) { this.totalPrincipal = totalPrincipal; }
+
+    public BigDecimal getTotalInterest() { return totalInterest; }
+    public void setTotalInterest(BigDecimal totalInterest) { this.totalInterest = totalInterest; }
+
+    public BigDecimal getTotalMaturityAmount() { return totalMaturityAmount; }
+    public void setTotalMaturityAmount(BigDecimal totalMaturityAmount) { this.totalMaturityAmount = totalMaturityAmount; }
+
+    public List<ProjectionResult> getResults() { return results; }
+    public void setResults(List<ProjectionResult> results) { this.results = results; }
+}
@@ -0,0 +1,72 @@
+package com.example.products.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.math.BigDecimal;
+
+/**
+ * Payout of a deposit closed after {@code heldDays}: interest for the time held at
+ * the rate for that term less the contract's premature penalty rate.
+ */
+public class PrematurePayout {
+
+    @JsonProperty("productId")
+    private Long productId;
+
+    @JsonProperty("ruleId")
+    private Long ruleId;
+
+    @JsonProperty("principal")
+    private BigDecimal principal;
+
+    @JsonProperty("heldDays")
+    private Integer heldDays;
+
+    @JsonProperty("contractRate")
+    private BigDecimal contractRate;
+
+    @JsonProperty("penaltyRate")
+    private BigDecimal penaltyRate;
+
+    @JsonProperty("appliedRate")
+    private BigDecimal appliedRate;
+
+    @JsonProperty("interest")
+    private BigDecimal interest;
+
+    @JsonProperty("payout")
+    private BigDecimal payout;
+
+    // What the deposit would have paid had it been held to maturity
+    @JsonProperty("maturityAmount")
+    private BigDecimal maturityAmount;
+
+    public Long getProductId() { return productId; }
+    public void setProductId(Long productId) { this.productId = productId; }
+
+    public Long getRuleId() { return ruleId; }
+    public void setRuleId(Long ruleId) { this.ruleId = ruleId; }
+
+    public BigDecimal getPrincipal() { return principal; }
+    public void setPrincipal(BigDecimal principal) { this.principal = principal; }
+
+    public Integer getHeldDays() { return heldDays; }
+    public void setHeldDays(Integer heldDays) { this.heldDays = heldDays; }
+
+    public BigDecimal getContractRate() { return contractRate; }
+    public void setContractRate(BigDecimal contractRate) { this.contractRate = contractRate; }
+
+    public BigDecimal getPenaltyRate() { return penaltyRate; }
+    public void setPenaltyRate(BigDecimal penaltyRate) { this.penaltyRate = penaltyRate; }
+
+    public BigDecimal getAppliedRate() { return appliedRate; }
+    public void setAppliedRate(BigDecimal appliedRate) { this.appliedRate = appliedRate; }
+
+    public BigDecimal getInterest() { return interest; }
+    public void setInterest(BigDecimal interest) { this.interest = interest; }
+
+    public BigDecimal getPayout() { return payout; }
+    public void setPayout(BigDecimal payout) { this.payout = payout; }
+
+    public BigDecimal getMaturityAmount() { return maturityAmount; }
+    public void setMaturityAmount(BigDecimal maturityAmount) { this.maturityAmount = maturityAmount; }
+}
@@ -0,0 +1,66 @@
+package com.example.products.dto;
+
+import com.example.products.entity.BusinessRule;
+import com.example.products.entity.Charge;
+import com.example.products.entity.Product;
+import com.example.products.entity.TransactionType;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A product with everything the product screen shows for it: rules, roles,
+ * charges, transaction types and rate bands.
+ */
+public class ProductAggregate {
+
+    @JsonProperty("product")
+    private Product product;
+
+    @JsonProperty("rules")
+    private List<BusinessRule> rules = new ArrayList<>();
+
+    @JsonProperty("roles")
+    private List<RoleView> roles = new ArrayList<>();
+
+    @JsonProperty("charges")
+    private List<Charge> charges = new ArrayList<>();
+
+    @JsonProperty("transactionTypes")
+    private List<TransactionType> transactionTypes = new ArrayList<>();
+
+    @JsonProperty("rates")
+    private List<RateMatrixView> rates = new ArrayList<>();
+
+    public ProductAggregate() {
+    }
+
+    public ProductAggregate(Product product, List<BusinessRule> rules, List<RoleView> roles, List<Charge> charges,
+                            List<TransactionType> transactionTypes, List<RateMatrixView> rates) {
+        this.product = product;
+        this.rules = rules;
+        this.roles = roles;
+        this.charges = charges;
+        this.transactionTypes = transactionTypes;
+        this.rates = rates;
+    }
+
+    public Product getProduct() { return product; }
+    public void setProduct(Product product) { this.product = product; }
+
+    public List<BusinessRule> getRules() { return rules; }
+    public void setRules(List<BusinessRule> rules) { this.rules = rules; }
+
+    public List<RoleView> getRoles() { return roles; }
+    public void setRoles(List<RoleView> roles) { this.roles = roles; }
+
+    public List<Charge> getCharges() { return charges; }
+    public void setCharges(List<Charge> charges) { this.charges = charges; }
+
+    public List<TransactionType> getTransactionTypes() { return transactionTypes; }
+    public void setTransactionTypes(List<TransactionType> transactionTypes) { this.transactionTypes = transactionTypes; }
+
+    public List<RateMatrixView> getRates() { return rates; }
+    public void setRates(List<RateMatrixView> rates) { this.rates = rates; }
+}
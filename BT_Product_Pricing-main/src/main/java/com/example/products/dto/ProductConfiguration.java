@@ -0,0 +1,42 @@
+package com.example.products.dto;
+
+import com.example.products.entity.BusinessRule;
+import com.example.products.entity.Charge;
+import com.example.products.entity.TransactionType;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rules, transaction types and charges of one product, loaded together.
+ */
+public class ProductConfiguration {
+
+    @JsonProperty("rules")
+    private List<BusinessRule> rules = new ArrayList<>();
+
+    @JsonProperty("transactionTypes")
+    private List<TransactionType> transactionTypes = new ArrayList<>();
+
+    @JsonProperty("charges")
+    private List<Charge> charges = new ArrayList<>();
+
+    public ProductConfiguration() {
+    }
+
+    public ProductConfiguration(List<BusinessRule> rules, List<TransactionType> transactionTypes, List<Charge> charges) {
+        this.rules = rules;
+        this.transactionTypes = transactionTypes;
+        this.charges = charges;
+    }
+
+    public List<BusinessRule> getRules() { return rules; }
+    public void setRules(List<BusinessRule> rules) { this.rules = rules; }
+
+    public List<TransactionType> getTransactionTypes() { return transactionTypes; }
+    public void setTransactionTypes(List<TransactionType> transactionTypes) { this.transactionTypes = transactionTypes; }
+
+    public List<Charge> getCharges() { return charges; }
+    public void setCharges(List<Charge> charges) { this.charges = charges; }
+}
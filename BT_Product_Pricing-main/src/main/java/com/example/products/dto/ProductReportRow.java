@@ -0,0 +1,22 @@
+package com.example.products.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Projection of the columns the report aggregates count products by.
+ */
+public interface ProductReportRow {
+
+    Long getProductId();
+
+    LocalDateTime getCreatedAt();
+
+    String getProductType();
+
+    String getStatus();
+
+    LocalDate getEffectiveDate();
+
+    LocalDate getExpiryDate();
+}
@@ -0,0 +1,60 @@
+package com.example.products.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Dashboard counts for one day: products created that day and in its month,
+ * products per type and per status, and products active that day per type.
+ */
+public class ProductReportSummary {
+
+    @JsonProperty("date")
+    private final LocalDate date;
+
+    @JsonProperty("totalProducts")
+    private final long totalProducts;
+
+    @JsonProperty("createdToday")
+    private final long createdToday;
+
+    @JsonProperty("createdThisMonth")
+    private final long createdThisMonth;
+
+    @JsonProperty("byType")
+    private final Map<String, Long> byType;
+
+    @JsonProperty("byStatus")
+    private final Map<String, Long> byStatus;
+
+    @JsonProperty("activeByType")
+    private final Map<String, Long> activeByType;
+
+    public ProductReportSummary(LocalDate date, long totalProducts, long createdToday, long createdThisMonth,
+                                Map<String, Long> byType, Map<String, Long> byStatus,
+                                Map<String, Long> activeByType) {
+        this.date = date;
+        this.totalProducts = totalProducts;
+        this.createdToday = createdToday;
+        this.createdThisMonth = createdThisMonth;
+        this.byType = byType;
+        this.byStatus = byStatus;
+        this.activeByType = activeByType;
+    }
+
+    public LocalDate getDate() { return date; }
+
+    public long getTotalProducts() { return totalProducts; }
+
+    public long getCreatedToday() { return createdToday; }
+
+    public long getCreatedThisMonth() { return createdThisMonth; }
+
+    public Map<String, Long> getByType() { return byType; }
+
+    public Map<String, Long> getByStatus() { return byStatus; }
+
+    public Map<String, Long> getActiveByType() { return activeByType; }
+}
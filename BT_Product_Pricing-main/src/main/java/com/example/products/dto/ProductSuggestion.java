@@ -0,0 +1,49 @@
+package com.example.products.dto;
+
+import com.example.products.entity.Product;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Typeahead match: just enough of a product to show it in a suggestion list.
+ */
+public class ProductSuggestion {
+
+    @JsonProperty("productId")
+    private Long productId;
+
+    @JsonProperty("productCode")
+    private String productCode;
+
+    @JsonProperty("productName")
+    private String productName;
+
+    @JsonProperty("productType")
+    private String productType;
+
+    public ProductSuggestion() {
+    }
+
+    public ProductSuggestion(Long productId, String productCode, String productName, String productType) {
+        this.productId = productId;
+        this.productCode = productCode;
+        this.productName = productName;
+        this.productType = productType;
+    }
+
+    public static ProductSuggestion from(Product product) {
+        return new ProductSuggestion(product.getProductId(), product.getProductCode(),
+                product.getProductName(), product.getProductType());
+    }
+
+    public Long getProductId() { return productId; }
+    public void setProductId(Long productId) { this.productId = productId; }
+
+    public String getProductCode() { return productCode; }
+    public void setProductCode(String productCode) { this.productCode = productCode; }
+
+    public String getProductName() { return productName; }
+    public void setProductName(String productName) { this.productName = productName; }
+
+    public String getProductType() { return productType; }
+    public void setProductType(String productType) { this.productType = productType; }
+}
@@ -0,0 +1,17 @@
+package com.example.products.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Projection of the columns the product status batch needs.
+ */
+public interface ProductValidity {
+
+    Long getProductId();
+
+    LocalDate getEffectiveDate();
+
+    LocalDate getExpiryDate();
+
+    String getStatus();
+}
@@ -0,0 +1,44 @@
+package com.example.products.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * A deposit to project. {@code productId} is only read for portfolio projections;
+ * {@code heldDays} only for premature payouts.
+ */
+public class ProjectionRequest {
+
+    @JsonProperty("productId")
+    private Long productId;
+
+    @JsonProperty("amount")
+    private BigDecimal amount;
+
+    // Term in days, same unit as BusinessRule.minTerm / maxTerm
+    @JsonProperty("term")
+    private Integer term;
+
+    // Deposit date for the schedule's dates; today when absent
+    @JsonProperty("startDate")
+    private LocalDate startDate;
+
+    @JsonProperty("heldDays")
+    private Integer heldDays;
+
+    public Long getProductId() { return productId; }
+    public void setProductId(Long productId) { this.productId = productId; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    public Integer getTerm() { return term; }
+    public void setTerm(Integer term) { this.term = term; }
+
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+
+    public Integer getHeldDays() { return heldDays; }
+    public void setHeldDays(Integer heldDays) { this.heldDays = heldDays; }
+}
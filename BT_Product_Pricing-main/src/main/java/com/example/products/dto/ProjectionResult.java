@@ -0,0 +1,122 @@
+package com.example.products.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Projected maturity of a deposit under the business rule covering its term and
+ * amount. {@code schedule} lists every interest credit and is only filled for
+ * single-deposit projections; {@code error} replaces the amounts when no rule applies.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProjectionResult {
+
+    @JsonProperty("productId")
+    private Long productId;
+
+    @JsonProperty("ruleId")
+    private Long ruleId;
+
+    @JsonProperty("principal")
+    private BigDecimal principal;
+
+    @JsonProperty("term")
+    private Integer term;
+
+    @JsonProperty("interestRate")
+    private BigDecimal interestRate;
+
+    @JsonProperty("compoundingFrequency")
+    private String compoundingFrequency;
+
+    @JsonProperty("interest")
+    private BigDecimal interest;
+
+    @JsonProperty("maturityAmount")
+    private BigDecimal maturityAmount;
+
+    @JsonProperty("maturityDate")
+    private LocalDate maturityDate;
+
+    @JsonProperty("schedule")
+    private List<Accrual> schedule;
+
+    @JsonProperty("error")
+    private String error;
+
+    public Long getProductId() { return productId; }
+    public void setProductId(Long productId) { this.productId = productId; }
+
+    public Long getRuleId() { return ruleId; }
+    public void setRuleId(Long ruleId) { this.ruleId = ruleId; }
+
+    public BigDecimal getPrincipal() { return principal; }
+    public void setPrincipal(BigDecimal principal) { this.principal = principal; }
+
+    public Integer getTerm() { return term; }
+    public void setTerm(Integer term) { this.term = term; }
+
+    public BigDecimal getInterestRate() { return interestRate; }
+    public void setInterestRate(BigDecimal interestRate) { this.interestRate = interestRate; }
+
+    public String getCompoundingFrequency() { return compoundingFrequency; }
+    public void setCompoundingFrequency(String compoundingFrequency) { this.compoundingFrequency = compoundingFrequency; }
+
+    public BigDecimal getInterest() { return interest; }
+    public void setInterest(BigDecimal interest) { this.interest = interest; }
+
+    public BigDecimal getMaturityAmount() { return maturityAmount; }
+    public void setMaturityAmount(BigDecimal maturityAmount) { this.maturityAmount = maturityAmount; }
+
+    public LocalDate getMaturityDate() { return maturityDate; }
+    public void setMaturityDate(LocalDate maturityDate) { this.maturityDate = maturityDate; }
+
+    public List<Accrual> getSchedule() { return schedule; }
+    public void setSchedule(List<Accrual> schedule) { this.schedule = schedule; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+
+    /**
+     * Interest credited on a date and the balance after it.
+     */
+    public static class Accrual {
+
+        @JsonProperty("date")
+        private LocalDate date;
+
+        @JsonProperty("days")
+        private int days;
+
+        @JsonProperty("interest")
+        private BigDecimal interest;
+
+        @JsonProperty("balance")
+        private BigDecimal balance;
+
+        public Accrual() {
+        }
+
+        public Accrual(LocalDate date, int days, BigDecimal interest, BigDecimal balance) {
+            this.date = date;
+            this.days = days;
+            this.interest = interest;
+            this.balance = balance;
+        }
+
+        public LocalDate getDate() { return date; }
+        public void setDate(LocalDate date) { this.date = date; }
+
+        public int getDays() { return days; }
+        public void setDays(int days) { this.days = days; }
+
+        public BigDecimal getInterest() { return interest; }
+        public void setInterest(BigDecimal interest) { this.interest = interest; }
+
+        public BigDecimal getBalance() { return balance; }
+        public void setBalance(BigDecimal balance) { this.balance = balance; }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.products.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class QuoteRequest {
+
+    @JsonProperty("amount")
+    private BigDecimal amount;
+
+    // Term in days, same unit as BusinessRule.minTerm / maxTerm
+    @JsonProperty("term")
+    private Integer term;
+
+    @JsonProperty("customerCategory")
+    private String customerCategory;
+
+    // Pricing date for backdated quotes; today when absent
+    @JsonProperty("asOf")
+    private LocalDate asOf;
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    public Integer getTerm() { return term; }
+    public void setTerm(Integer term) { this.term = term; }
+
+    public String getCustomerCategory() { return customerCategory; }
+    public void setCustomerCategory(String customerCategory) { this.customerCategory = customerCategory; }
+
+    public LocalDate getAsOf() { return asOf; }
+    public void setAsOf(LocalDate asOf) { this.asOf = asOf; }
+}
@@ -0,0 +1,49 @@
+package com.example.products.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.math.BigDecimal;
+import java.util.List;
+
+public class QuoteResponse {
+
+    @JsonProperty("productId")
+    private Long productId;
+
+    @JsonProperty("interestRate")
+    private BigDecimal interestRate;
+
+    @JsonProperty("rule")
+    private BusinessRuleView rule;
+
+    @JsonProperty("rateBand")
+    private RateMatrixView rateBand;
+
+    @JsonProperty("charges")
+    private List<ChargeView> charges;
+
+    public QuoteResponse() {
+    }
+
+    public QuoteResponse(Long productId, BusinessRuleView rule, RateMatrixView rateBand, List<ChargeView> charges) {
+        this.productId = productId;
+        this.interestRate = rule.getInterestRate();
+        this.rule = rule;
+        this.rateBand = rateBand;
+        this.charges = charges;
+    }
+
+    public Long getProductId() { return productId; }
+    public void setProductId(Long productId) { this.productId = productId; }
+
+    public BigDecimal getInterestRate() { return interestRate; }
+    public void setInterestRate(BigDecimal interestRate) { this.interestRate = interestRate; }
+
+    public BusinessRuleView getRule() { return rule; }
+    public void setRule(BusinessRuleView rule) { this.rule = rule; }
+
+    public RateMatrixView getRateBand() { return rateBand; }
+    public void setRateBand(RateMatrixView rateBand) { this.rateBand = rateBand; }
+
+    public List<ChargeView> getCharges() { return charges; }
+    public void setCharges(List<ChargeView> charges) { this.charges = charges; }
+}
@@ -0,0 +1,85 @@
+package com.example.products.dto;
+
+import com.example.products.entity.RateMatrix;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Flat view of a RateMatrix row. Exposes the product id instead of the
+ * lazy Product association so it can be serialized outside a session.
+ */
+public class RateMatrixView {
+
+    @JsonProperty("rateId")
+    private Long rateId;
+
+    @JsonProperty("productId")
+    private Long productId;
+
+    @JsonProperty("customerCategory")
+    private String customerCategory;
+
+    @JsonProperty("baseInterestRate")
+    private BigDecimal baseInterestRate;
+
+    @JsonProperty("maxInterestRate")
+    private BigDecimal maxInterestRate;
+
+    @JsonProperty("minInterestRate")
+    private BigDecimal minInterestRate;
+
+    @JsonProperty("effectiveDate")
+    private LocalDate effectiveDate;
+
+    @JsonProperty("expiryDate")
+    private LocalDate expiryDate;
+
+    public RateMatrixView() {
+    }
+
+    public RateMatrixView(Long rateId, Long productId, String customerCategory,
+                          BigDecimal baseInterestRate, BigDecimal maxInterestRate, BigDecimal minInterestRate,
+                          LocalDate effectiveDate, LocalDate expiryDate) {
+        this.rateId = rateId;
+        this.productId = productId;
+        this.customerCategory = customerCategory;
+        this.baseInterestRate = baseInterestRate;
+        this.maxInterestRate = maxInterestRate;
+        this.minInterestRate = minInterestRate;
+        this.effectiveDate = effectiveDate;
+        this.expiryDate = expiryDate;
+    }
+
+    public static RateMatrixView from(RateMatrix rate) {
+        // getProductId() on an uninitialized proxy does not trigger a load
+        Long productId = rate.getProduct() != null ? rate.getProduct().getProductId() : null;
+        return new RateMatrixView(rate.getRateId(), productId, rate.getCustomerCategory(),
+                rate.getBaseInterestRate(), rate.getMaxInterestRate(), rate.getMinInterestRate(),
+                rate.getEffectiveDate(), rate.getExpiryDate());
+    }
+
+    public Long getRateId() { return rateId; }
+    public void setRateId(Long rateId) { this.rateId = rateId; }
+
+    public Long getProductId() { return productId; }
+    public void setProductId(Long productId) { this.productId = productId; }
+
+    public String getCustomerCategory() { return customerCategory; }
+    public void setCustomerCategory(String customerCategory) { this.customerCategory = customerCategory; }
+
+    public BigDecimal getBaseInterestRate() { return baseInterestRate; }
+    public void setBaseInterestRate(BigDecimal baseInterestRate) { this.baseInterestRate = baseInterestRate; }
+
+    public BigDecimal getMaxInterestRate() { return maxInterestRate; }
+    public void setMaxInterestRate(BigDecimal maxInterestRate) { this.maxInterestRate = maxInterestRate; }
+
+    public BigDecimal getMinInterestRate() { return minInterestRate; }
+    public void setMinInterestRate(BigDecimal minInterestRate) { this.minInterestRate = minInterestRate; }
+
+    public LocalDate getEffectiveDate() { return effectiveDate; }
+    public void setEffectiveDate(LocalDate effectiveDate) { this.effectiveDate = effectiveDate; }
+
+    public LocalDate getExpiryDate() { return expiryDate; }
+    public void setExpiryDate(LocalDate expiryDate) { this.expiryDate = expiryDate; }
+}
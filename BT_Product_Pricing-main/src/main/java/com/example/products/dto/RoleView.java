@@ -0,0 +1,80 @@
+package com.example.products.dto;
+
+import com.example.products.entity.Role;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.time.LocalDateTime;
+
+/**
+ * Flat view of a Role. Carries the product id instead of the lazy Product association.
+ */
+public class RoleView {
+
+    @JsonProperty("roleId")
+    private Long roleId;
+
+    @JsonProperty("productId")
+    private Long productId;
+
+    @JsonProperty("roleName")
+    private String roleName;
+
+    @JsonProperty("roleDescription")
+    private String roleDescription;
+
+    @JsonProperty("isMandatory")
+    private Boolean isMandatory;
+
+    @JsonProperty("maxCount")
+    private Integer maxCount;
+
+    @JsonProperty("createdAt")
+    private LocalDateTime createdAt;
+
+    @JsonProperty("updatedAt")
+    private LocalDateTime updatedAt;
+
+    public RoleView() {
+    }
+
+    public RoleView(Long roleId, Long productId, String roleName, String roleDescription,
+                    Boolean isMandatory, Integer maxCount, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.roleId = roleId;
+        this.productId = productId;
+        this.roleName = roleName;
+        this.roleDescription = roleDescription;
+        this.isMandatory = isMandatory;
+        this.maxCount = maxCount;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    public static RoleView from(Role role) {
+        Long productId = role.getProduct() != null ? role.getProduct().getProductId() : null;
+        return new RoleView(role.getRoleId(), productId, role.getRoleName(), role.getRoleDescription(),
+                role.getIsMandatory(), role.getMaxCount(), role.getCreatedAt(), role.getUpdatedAt());
+    }
+
+    public Long getRoleId() { return roleId; }
+    public void setRoleId(Long roleId) { this.roleId = roleId; }
+
+    public Long getProductId() { return productId; }
+    public void setProductId(Long productId) { this.productId = productId; }
+
+    public String getRoleName() { return roleName; }
+    public void setRoleName(String roleName) { this.roleName = roleName; }
+
+    public String getRoleDescription() { return roleDescription; }
+    public void setRoleDescription(String roleDescription) { this.roleDescription = roleDescription; }
+
+    public Boolean getIsMandatory() { return isMandatory; }
+    public void setIsMandatory(Boolean isMandatory) { this.isMandatory = isMandatory; }
+
+    public Integer getMaxCount() { return maxCount; }
+    public void setMaxCount(Integer maxCount) { this.maxCount = maxCount; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,83 @@
+package com.example.products.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One change to an audited entity in the centralized audits table. Rows are
+ * inserted in JDBC batches by AuditTrail; the mapping is here so the table is
+ * created and validated with the rest of the schema.
+ */
+@Entity
+@Table(name = Audit.TABLE)
+public class Audit {
+
+    public static final String TABLE = "audits";
+
+    public enum Operation { INSERT, UPDATE, DELETE }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "audit_id")
+    private Long auditId;
+
+    // Table of the changed row, e.g. "products", "charges"
+    @Column(name = "entity_name", nullable = false, length = 100)
+    private String entityName;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private Operation operation;
+
+    @Column(name = "old_values", columnDefinition = "TEXT")
+    private String oldValues;
+
+    @Column(name = "new_values", columnDefinition = "TEXT")
+    private String newValues;
+
+    @Column(name = "changed_by", length = 50)
+    private String changedBy;
+
+    @Column(name = "changed_at")
+    private LocalDateTime changedAt;
+
+    @Column(name = "ip_address", length = 50)
+    private String ipAddress;
+
+    @Column(columnDefinition = "TEXT")
+    private String remarks;
+
+    // Getters & Setters
+    public Long getAuditId() { return auditId; }
+    public void setAuditId(Long auditId) { this.auditId = auditId; }
+
+    public String getEntityName() { return entityName; }
+    public void setEntityName(String entityName) { this.entityName = entityName; }
+
+    public Long getEntityId() { return entityId; }
+    public void setEntityId(Long entityId) { this.entityId = entityId; }
+
+    public Operation getOperation() { return operation; }
+    public void setOperation(Operation operation) { this.operation = operation; }
+
+    public String getOldValues() { return oldValues; }
+    public void setOldValues(String oldValues) { this.oldValues = oldValues; }
+
+    public String getNewValues() { return newValues; }
+    public void setNewValues(String newValues) { this.newValues = newValues; }
+
+    public String getChangedBy() { return changedBy; }
+    public void setChangedBy(String changedBy) { this.changedBy = changedBy; }
+
+    public LocalDateTime getChangedAt() { return changedAt; }
+    public void setChangedAt(LocalDateTime changedAt) { this.changedAt = changedAt; }
+
+    public String getIpAddress() { return ipAddress; }
+    public void setIpAddress(String ipAddress) { this.ipAddress = ipAddress; }
+
+    public String getRemarks() { return remarks; }
+    public void setRemarks(String remarks) { this.remarks = remarks; }
+}
@@ -0,0 +1,72 @@
+package com.example.products.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a chunked batch job, committed with every chunk so an
+ * interrupted run can resume after the last processed id. While RUNNING,
+ * owner names the instance that claimed the run.
+ */
+@Entity
+@Table(name = "batch_checkpoints")
+public class BatchCheckpoint {
+
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+
+    @Id
+    @Column(name = "job_name", length = 100)
+    private String jobName;
+
+    @Column(name = "last_processed_id", nullable = false)
+    private Long lastProcessedId = 0L;
+
+    @Column(name = "rows_processed", nullable = false)
+    private Long rowsProcessed = 0L;
+
+    @Column(name = "rows_updated", nullable = false)
+    private Long rowsUpdated = 0L;
+
+    @Column(nullable = false, length = 20)
+    private String status;
+
+    @Column(length = 100)
+    private String owner;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime updatedAt;
+
+    public BatchCheckpoint() {
+    }
+
+    public BatchCheckpoint(String jobName) {
+        this.jobName = jobName;
+    }
+
+    // Getters & Setters
+    public String getJobName() { return jobName; }
+    public void setJobName(String jobName) { this.jobName = jobName; }
+
+    public Long getLastProcessedId() { return lastProcessedId; }
+    public void setLastProcessedId(Long lastProcessedId) { this.lastProcessedId = lastProcessedId; }
+
+    public Long getRowsProcessed() { return rowsProcessed; }
+    public void setRowsProcessed(Long rowsProcessed) { this.rowsProcessed = rowsProcessed; }
+
+    public Long getRowsUpdated() { return rowsUpdated; }
+    public void setRowsUpdated(Long rowsUpdated) { this.rowsUpdated = rowsUpdated; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getOwner() { return owner; }
+    public void setOwner(String owner) { this.owner = owner; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
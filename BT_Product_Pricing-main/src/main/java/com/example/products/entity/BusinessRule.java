@@ -6,11 +6,17 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "business_rules")
+@Table(name = "business_rules", indexes = {
+        // Rules are read and versioned per product
+        @Index(name = "idx_business_rules_product", columnList = "product_id")
+})
 public class BusinessRule {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "business_rule_ids")
+    @TableGenerator(name = "business_rule_ids", table = IdGenerators.TABLE, pkColumnName = IdGenerators.NAME_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "business_rules",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
     @JsonProperty("ruleId")
     private Long ruleId;
 
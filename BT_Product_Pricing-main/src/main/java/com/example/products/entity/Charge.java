@@ -1,15 +1,24 @@
 package com.example.products.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+
 import java.math.BigDecimal;
 import java.sql.Timestamp;
 
 @Entity
-@Table(name = "charges")
+@DynamicUpdate
+@Table(name = "charges", indexes = {
+        @Index(name = "idx_charges_product", columnList = "product_id")
+})
 public class Charge {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "charge_ids")
+    @TableGenerator(name = "charge_ids", table = IdGenerators.TABLE, pkColumnName = IdGenerators.NAME_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "charges",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long chargeId;
 
     @Column(nullable = false)
@@ -19,6 +28,10 @@ public class Charge {
 
     private Long txnTypeId;
 
+    // Configuration loads only: the txnName of a transaction type created in the same request
+    @Transient
+    private String txnName;
+
     private String chargeType;
 
     @Column(nullable = false)
@@ -38,6 +51,10 @@ public class Charge {
 
     private Timestamp updatedAt;
 
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
 	public Long getChargeId() {
 		return chargeId;
 	}
@@ -70,6 +87,14 @@ public class Charge {
 		this.txnTypeId = txnTypeId;
 	}
 
+	public String getTxnName() {
+		return txnName;
+	}
+
+	public void setTxnName(String txnName) {
+		this.txnName = txnName;
+	}
+
 	public String getChargeType() {
 		return chargeType;
 	}
@@ -141,4 +166,12 @@ public class Charge {
 	public void setUpdatedAt(Timestamp updatedAt) {
 		this.updatedAt = updatedAt;
 	}
+
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
+	}
 }
@@ -0,0 +1,19 @@
+package com.example.products.entity;
+
+/**
+ * Pooled table-based id allocation shared by entities that are written in bulk.
+ *
+ * IDENTITY columns make Hibernate insert each row immediately to learn its id,
+ * which rules out JDBC batching. A table generator hands out ALLOCATION_SIZE ids
+ * per round trip, so inserts can be queued and sent as batches at flush.
+ */
+public final class IdGenerators {
+
+    public static final String TABLE = "id_generators";
+    public static final String NAME_COLUMN = "sequence_name";
+    public static final String VALUE_COLUMN = "next_val";
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdGenerators() {
+    }
+}
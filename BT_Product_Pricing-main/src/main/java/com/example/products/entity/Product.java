@@ -2,11 +2,19 @@ package com.example.products.entity;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "products")
+@DynamicUpdate
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_created_at", columnList = "created_at"),
+        @Index(name = "idx_products_type_dates", columnList = "product_type, effective_date, expiry_date"),
+        @Index(name = "idx_products_branch", columnList = "branch")
+})
 public class Product {
 
     @Id
@@ -47,6 +55,12 @@ public class Product {
     @JsonProperty("updatedAt")
     private LocalDateTime updatedAt;
 
+    // Optimistic lock: incremented on every update, which fails if the row changed since it was read
+    @Version
+    @ColumnDefault("0")
+    @JsonProperty("version")
+    private Long version;
+
     // Getters & Setters
     public Long getProductId() { return productId; }
     public void setProductId(Long productId) { this.productId = productId; }
@@ -83,4 +97,7 @@ public class Product {
 
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
@@ -6,7 +6,11 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "rate_matrix")
+@Table(name = "rate_matrix", indexes = {
+        @Index(name = "idx_rate_matrix_product_category", columnList = "product_id, customer_category"),
+        @Index(name = "idx_rate_matrix_category", columnList = "customer_category"),
+        @Index(name = "idx_rate_matrix_dates", columnList = "effective_date, expiry_date")
+})
 public class RateMatrix {
 
     @Id
@@ -14,7 +18,7 @@ public class RateMatrix {
     private Long rateId;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "product_id", nullable = false)
+    @JoinColumn(name = "product_id", nullable = false, foreignKey = @ForeignKey(name = "fk_rate_product"))
     private Product product;
 
     private String customerCategory;
@@ -0,0 +1,79 @@
+package com.example.products.entity;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Usage of a transaction type by one account on its last day of use, locked and
+ * updated by every TransactionLimitService check in persistent mode. Written with
+ * plain JDBC; the mapping is here so the table is created and validated with the
+ * rest of the schema.
+ */
+@Entity
+@IdClass(TransactionLimitCounter.Key.class)
+@Table(name = TransactionLimitCounter.TABLE)
+public class TransactionLimitCounter {
+
+    public static final String TABLE = "txn_limit_counters";
+
+    @Id
+    @Column(name = "account_id", length = 64)
+    private String accountId;
+
+    @Id
+    @Column(name = "txn_type_id")
+    private Long txnTypeId;
+
+    @Column(name = "usage_date", nullable = false)
+    private LocalDate usageDate;
+
+    @Column(name = "used_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal usedAmount;
+
+    @Column(name = "used_count", nullable = false)
+    private Integer usedCount;
+
+    // Getters & Setters
+    public String getAccountId() { return accountId; }
+    public void setAccountId(String accountId) { this.accountId = accountId; }
+
+    public Long getTxnTypeId() { return txnTypeId; }
+    public void setTxnTypeId(Long txnTypeId) { this.txnTypeId = txnTypeId; }
+
+    public LocalDate getUsageDate() { return usageDate; }
+    public void setUsageDate(LocalDate usageDate) { this.usageDate = usageDate; }
+
+    public BigDecimal getUsedAmount() { return usedAmount; }
+    public void setUsedAmount(BigDecimal usedAmount) { this.usedAmount = usedAmount; }
+
+    public Integer getUsedCount() { return usedCount; }
+    public void setUsedCount(Integer usedCount) { this.usedCount = usedCount; }
+
+    public static class Key implements Serializable {
+
+        private String accountId;
+        private Long txnTypeId;
+
+        public Key() {
+        }
+
+        public Key(String accountId, Long txnTypeId) {
+            this.accountId = accountId;
+            this.txnTypeId = txnTypeId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key key && Objects.equals(accountId, key.accountId)
+                    && Objects.equals(txnTypeId, key.txnTypeId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(accountId, txnTypeId);
+        }
+    }
+}
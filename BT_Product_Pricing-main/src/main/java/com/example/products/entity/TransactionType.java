@@ -1,15 +1,24 @@
 package com.example.products.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+
 import java.math.BigDecimal;
 import java.sql.Timestamp;
 
 @Entity
-@Table(name = "transaction_types")
+@DynamicUpdate
+@Table(name = "transaction_types", indexes = {
+        @Index(name = "idx_transaction_types_product", columnList = "product_id")
+})
 public class TransactionType {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "transaction_type_ids")
+    @TableGenerator(name = "transaction_type_ids", table = IdGenerators.TABLE, pkColumnName = IdGenerators.NAME_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "transaction_types",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long txnTypeId;
 
     @Column(nullable = false)
@@ -40,6 +49,10 @@ public class TransactionType {
 
     private Timestamp updatedAt;
 
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
 	public Long getTxnTypeId() {
 		return txnTypeId;
 	}
@@ -151,5 +164,12 @@ public class TransactionType {
 	public void setUpdatedAt(Timestamp updatedAt) {
 		this.updatedAt = updatedAt;
 	}
-    
+
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
+	}
 }
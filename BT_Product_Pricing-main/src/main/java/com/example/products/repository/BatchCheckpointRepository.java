@@ -0,0 +1,18 @@
+package com.example.products.repository;
+
+import com.example.products.entity.BatchCheckpoint;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface BatchCheckpointRepository extends JpaRepository<BatchCheckpoint, String> {
+
+    // SELECT ... FOR UPDATE: instances claiming or advancing the same job take turns on the row
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM BatchCheckpoint c WHERE c.jobName = :jobName")
+    Optional<BatchCheckpoint> lockByJobName(@Param("jobName") String jobName);
+}
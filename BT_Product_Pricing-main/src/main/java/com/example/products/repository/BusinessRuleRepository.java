@@ -1,12 +1,18 @@
 package com.example.products.repository;
 
+import com.example.products.dto.ContentVersion;
 import com.example.products.entity.BusinessRule;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface BusinessRuleRepository extends JpaRepository<BusinessRule, Long> {
 
@@ -15,6 +21,18 @@ public interface BusinessRuleRepository extends JpaRepository<BusinessRule, Long
      */
     List<BusinessRule> findByProductId(Long productId);
 
+    /**
+     * Fetch the rules of many products in one IN query, for product aggregates
+     */
+    List<BusinessRule> findByProductIdInOrderByRuleId(Collection<Long> productIds);
+
+    /**
+     * Version of a product's rules for conditional GETs: count, latest change and id sum
+     */
+    @Query("SELECT new com.example.products.dto.ContentVersion(COUNT(b), MAX(b.updatedAt), SUM(b.ruleId)) " +
+           "FROM BusinessRule b WHERE b.productId = :productId")
+    ContentVersion findContentVersionByProductId(@Param("productId") Long productId);
+
     /**
      * Fetch all interest rates for a given product
      * Returns a list because a product can have multiple rules
@@ -22,4 +40,14 @@ public interface BusinessRuleRepository extends JpaRepository<BusinessRule, Long
     @Query("SELECT b.interestRate FROM BusinessRule b WHERE b.productId = :productId")
     List<BigDecimal> findInterestRateByProductId(@Param("productId") Long productId);
 
+    /**
+     * Stream the rules of a product for export; consume inside a read-only transaction
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b FROM BusinessRule b WHERE b.productId = :productId ORDER BY b.ruleId")
+    Stream<BusinessRule> streamByProductId(@Param("productId") Long productId);
+
 }
@@ -2,8 +2,12 @@ package com.example.products.repository;
 
 import com.example.products.entity.Charge;
 import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.Collection;
 import java.util.List;
 
 public interface ChargeRepository extends JpaRepository<Charge, Long> {
     List<Charge> findByProductId(Long productId);
+
+    // Charges of many products in one IN query, for product aggregates
+    List<Charge> findByProductIdInOrderByChargeId(Collection<Long> productIds);
 }
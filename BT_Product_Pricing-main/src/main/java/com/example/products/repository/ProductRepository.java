@@ -1,29 +1,43 @@
 package com.example.products.repository;
 
+import com.example.products.dto.ContentVersion;
+import com.example.products.dto.ProductReportRow;
+import com.example.products.dto.ProductSuggestion;
+import com.example.products.dto.ProductValidity;
 import com.example.products.entity.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
     // Search by product name
     List<Product> findByProductNameContainingIgnoreCase(String productName);
 
-    // Products created today
-    @Query("SELECT p FROM Product p WHERE DATE(p.createdAt) = CURRENT_DATE")
-    List<Product> findProductsCreatedToday();
+    // Every product as a typeahead entry; loads the in-memory search index
+    @Query("SELECT new com.example.products.dto.ProductSuggestion(p.productId, p.productCode, p.productName, p.productType) " +
+           "FROM Product p ORDER BY p.productId")
+    List<ProductSuggestion> findAllSuggestions();
 
-    // Products created this month
-    @Query("SELECT p FROM Product p WHERE MONTH(p.createdAt) = MONTH(CURRENT_DATE) AND YEAR(p.createdAt) = YEAR(CURRENT_DATE)")
-    List<Product> findProductsCreatedThisMonth();
+    // Version of the whole table for conditional GETs of product lists; one aggregate, no rows loaded
+    @Query("SELECT new com.example.products.dto.ContentVersion(COUNT(p), MAX(p.updatedAt), " +
+           "SUM(p.productId + COALESCE(p.version, 0))) FROM Product p")
+    ContentVersion findContentVersion();
 
-    // Products created between dates
-    @Query("SELECT p FROM Product p WHERE p.createdAt BETWEEN :start AND :end")
+    // Products created in [start, end) - a bare range on created_at so idx_products_created_at is used.
+    // Today / this month / between dates are all expressed as this range by ProductService.
+    @Query("SELECT p FROM Product p WHERE p.createdAt >= :start AND p.createdAt < :end")
     List<Product> findProductsCreatedBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 
     // Products by username (assuming you have a createdBy column later)
@@ -33,4 +47,55 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     // Active products by type and date
     @Query("SELECT p FROM Product p WHERE p.productType = :type AND p.effectiveDate <= :date AND (p.expiryDate IS NULL OR p.expiryDate >= :date)")
     List<Product> findActiveProducts(@Param("date") LocalDate date, @Param("type") String type);
+
+    // ---- Keyset pages: rows after the cursor id, ordered by id, limited by the Pageable size ----
+
+    @Query("SELECT p FROM Product p WHERE p.productId > :after ORDER BY p.productId")
+    List<Product> findPageAfter(@Param("after") Long after, Pageable pageable);
+
+    @Query("SELECT p FROM Product p WHERE p.createdAt >= :start AND p.createdAt < :end AND p.productId > :after ORDER BY p.productId")
+    List<Product> findPageCreatedBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end,
+                                         @Param("after") Long after, Pageable pageable);
+
+    @Query("SELECT p FROM Product p WHERE p.branch = :username AND p.productId > :after ORDER BY p.productId")
+    List<Product> findPageByUser(@Param("username") String username, @Param("after") Long after, Pageable pageable);
+
+    @Query("SELECT p FROM Product p WHERE p.productType = :type AND p.effectiveDate <= :date AND (p.expiryDate IS NULL OR p.expiryDate >= :date) AND p.productId > :after ORDER BY p.productId")
+    List<Product> findPageActive(@Param("date") LocalDate date, @Param("type") String type,
+                                 @Param("after") Long after, Pageable pageable);
+
+    // ---- Streaming exports: must be consumed inside a read-only transaction ----
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Product p WHERE p.createdAt >= :start AND p.createdAt < :end ORDER BY p.productId")
+    Stream<Product> streamProductsCreatedBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Product p WHERE p.productType = :type AND p.effectiveDate <= :date AND (p.expiryDate IS NULL OR p.expiryDate >= :date) ORDER BY p.productId")
+    Stream<Product> streamActiveProducts(@Param("date") LocalDate date, @Param("type") String type);
+
+    // ---- Report aggregates ----
+
+    // Every product's counted columns, once per (re)build of ProductReportAggregates
+    @Query("SELECT p.productId AS productId, p.createdAt AS createdAt, p.productType AS productType, p.status AS status, " +
+           "p.effectiveDate AS effectiveDate, p.expiryDate AS expiryDate FROM Product p")
+    List<ProductReportRow> findAllReportRows();
+
+    // ---- Product status batch ----
+
+    // Keyset chunk of just the columns needed to decide validity
+    @Query("SELECT p.productId AS productId, p.effectiveDate AS effectiveDate, p.expiryDate AS expiryDate, p.status AS status " +
+           "FROM Product p WHERE p.productId > :after ORDER BY p.productId")
+    List<ProductValidity> findValidityChunk(@Param("after") Long after, Pageable pageable);
+
+    // Set-based status change for one chunk; bumps the version so concurrent edits see the change
+    @Modifying
+    @Query("UPDATE Product p SET p.status = :status, p.updatedAt = :now, p.version = p.version + 1 WHERE p.productId IN :ids")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("status") String status, @Param("now") LocalDateTime now);
 }
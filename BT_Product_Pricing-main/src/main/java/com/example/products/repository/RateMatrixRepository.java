@@ -1,13 +1,58 @@
 package com.example.products.repository;
 
+import com.example.products.dto.ContentVersion;
+import com.example.products.dto.RateMatrixView;
 import com.example.products.entity.RateMatrix;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 public interface RateMatrixRepository extends JpaRepository<RateMatrix, Long> {
-    List<RateMatrix> findByProduct_ProductId(Long productId);
-    List<RateMatrix> findByCustomerCategoryIgnoreCase(String category);
-    List<RateMatrix> findByEffectiveDateBeforeAndExpiryDateAfter(LocalDate currentDate1, LocalDate currentDate2);
+    // List queries select flat views: one statement per call, and no lazy Product proxies
+    // left for serialization to initialize row by row
+    String VIEW = "SELECT new com.example.products.dto.RateMatrixView(r.rateId, r.product.productId, r.customerCategory, " +
+                  "r.baseInterestRate, r.maxInterestRate, r.minInterestRate, r.effectiveDate, r.expiryDate) FROM RateMatrix r ";
+
+    // Versions for conditional GETs: count, latest change and id sum of the rows a response is built from
+    String CONTENT_VERSION = "SELECT new com.example.products.dto.ContentVersion(COUNT(r), MAX(r.updatedAt), SUM(r.rateId)) " +
+                             "FROM RateMatrix r ";
+
+    @Query(CONTENT_VERSION)
+    ContentVersion findContentVersion();
+
+    @Query(CONTENT_VERSION + "WHERE r.product.productId = :productId")
+    ContentVersion findContentVersionByProductId(@Param("productId") Long productId);
+
+    @Query(CONTENT_VERSION + "WHERE r.rateId = :id")
+    ContentVersion findContentVersionById(@Param("id") Long id);
+
+    @Query(VIEW + "ORDER BY r.rateId")
+    List<RateMatrixView> findAllViews();
+
+    // Explicit query: the derived form joins products just to compare the FK column
+    @Query(VIEW + "WHERE r.product.productId = :productId")
+    List<RateMatrixView> findByProduct_ProductId(@Param("productId") Long productId);
+
+    // Rates of many products in one statement, for product aggregates
+    @Query(VIEW + "WHERE r.product.productId IN :productIds ORDER BY r.rateId")
+    List<RateMatrixView> findByProductIdIn(@Param("productIds") Collection<Long> productIds);
+
+    // Plain equality so idx_rate_matrix_category is usable; the case-insensitive collation
+    // fd_script.sql declares on customer_category (utf8mb4_0900_ai_ci) keeps the IgnoreCase behaviour
+    @Query(VIEW + "WHERE r.customerCategory = :category")
+    List<RateMatrixView> findByCustomerCategoryIgnoreCase(@Param("category") String category);
+
+    // Bounds are inclusive like the pricing index; a null expiry date is open-ended. A band without
+    // an effective date is left out (the index treats it as open), as OR-ing in IS NULL loses the index
+    @Query(VIEW + "WHERE r.effectiveDate <= :date AND (r.expiryDate IS NULL OR r.expiryDate >= :date)")
+    List<RateMatrixView> findActiveOn(@Param("date") LocalDate date);
+
+    // Keyset page of flat views; r.product.productId reads the FK column without a join
+    @Query(VIEW + "WHERE r.rateId > :after ORDER BY r.rateId")
+    List<RateMatrixView> findPageAfter(@Param("after") Long after, Pageable pageable);
 }
@@ -1,10 +1,24 @@
 package com.example.products.repository;
 
+import com.example.products.dto.RoleView;
 import com.example.products.entity.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface RoleRepository extends JpaRepository<Role, Long> {
-    List<Role> findByProductProductId(Long productId);
+    // r.product.productId reads the FK column, so neither products nor proxies are touched
+    @Query("SELECT new com.example.products.dto.RoleView(r.roleId, r.product.productId, r.roleName, " +
+           "r.roleDescription, r.isMandatory, r.maxCount, r.createdAt, r.updatedAt) " +
+           "FROM Role r WHERE r.product.productId = :productId ORDER BY r.roleId")
+    List<RoleView> findByProductProductId(@Param("productId") Long productId);
+
+    // Roles of many products in one statement, for product aggregates
+    @Query("SELECT new com.example.products.dto.RoleView(r.roleId, r.product.productId, r.roleName, " +
+           "r.roleDescription, r.isMandatory, r.maxCount, r.createdAt, r.updatedAt) " +
+           "FROM Role r WHERE r.product.productId IN :productIds ORDER BY r.roleId")
+    List<RoleView> findByProductIdIn(@Param("productIds") Collection<Long> productIds);
 }
@@ -2,8 +2,12 @@ package com.example.products.repository;
 
 import com.example.products.entity.TransactionType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.Collection;
 import java.util.List;
 
 public interface TransactionTypeRepository extends JpaRepository<TransactionType, Long> {
     List<TransactionType> findByProductId(Long productId);
+
+    // Transaction types of many products in one IN query, for product aggregates
+    List<TransactionType> findByProductIdInOrderByTxnTypeId(Collection<Long> productIds);
 }
@@ -0,0 +1,137 @@
+package com.example.products.service;
+
+import com.example.products.entity.Audit;
+import com.example.products.entity.BusinessRule;
+import com.example.products.entity.Charge;
+import com.example.products.entity.Product;
+import com.example.products.entity.RateMatrix;
+import com.example.products.entity.Role;
+import com.example.products.entity.TransactionType;
+import jakarta.persistence.Table;
+import jakarta.servlet.http.HttpServletRequest;
+import org.hibernate.event.spi.AbstractEvent;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.Type;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Hands committed inserts, updates and deletes of the catalog entities to the
+ * AuditTrail. Hibernate calls these listeners after the transaction commits, on
+ * the thread that committed, so rolled-back changes are never audited and the
+ * request that made the change is still at hand. Bulk JPQL updates (the product
+ * status batch) bypass entity events and are not audited.
+ */
+public class AuditListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+    // Audited entity -> table name recorded as entity_name
+    private static final Map<Class<?>, String> AUDITED = List.of(Product.class, BusinessRule.class, Charge.class,
+                    RateMatrix.class, Role.class, TransactionType.class).stream()
+            .collect(Collectors.toUnmodifiableMap(Function.identity(), type -> type.getAnnotation(Table.class).name()));
+
+    private final AuditTrail auditTrail;
+
+    public AuditListener(AuditTrail auditTrail) {
+        this.auditTrail = auditTrail;
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return AUDITED.containsKey(persister.getMappedClass());
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        record(event.getPersister(), event.getId(), Audit.Operation.INSERT,
+                null, values(event, event.getPersister(), event.getState(), null));
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        Object[] oldState = event.getOldState();
+        Object[] state = event.getState();
+        int[] changed = event.getDirtyProperties();
+        if (changed == null && oldState != null) {
+            changed = IntStream.range(0, state.length)
+                    .filter(i -> !Objects.equals(oldState[i], state[i]))
+                    .toArray();
+        }
+        // Only the changed properties are recorded, old and new side by side
+        record(event.getPersister(), event.getId(), Audit.Operation.UPDATE,
+                oldState == null ? null : values(event, event.getPersister(), oldState, changed),
+                values(event, event.getPersister(), state, changed));
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        record(event.getPersister(), event.getId(), Audit.Operation.DELETE,
+                values(event, event.getPersister(), event.getDeletedState(), null), null);
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    private void record(EntityPersister persister, Object id, Audit.Operation operation,
+                        Map<String, Object> oldValues, Map<String, Object> newValues) {
+        String changedBy = null;
+        String ipAddress = null;
+        String remarks = null;
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servlet) {
+            HttpServletRequest request = servlet.getRequest();
+            changedBy = request.getRemoteUser();
+            ipAddress = request.getRemoteAddr();
+            remarks = request.getMethod() + " " + request.getRequestURI();
+        }
+        auditTrail.record(new AuditTrail.Change(AUDITED.get(persister.getMappedClass()), (Long) id, operation,
+                oldValues, newValues, changedBy, LocalDateTime.now(), ipAddress, remarks));
+    }
+
+    // Property name -> value for the given properties, or all of them; associations by id
+    private static Map<String, Object> values(AbstractEvent event, EntityPersister persister, Object[] state,
+                                              int[] properties) {
+        String[] names = persister.getPropertyNames();
+        Type[] types = persister.getPropertyTypes();
+        Map<String, Object> values = new LinkedHashMap<>();
+        int count = properties != null ? properties.length : state.length;
+        for (int n = 0; n < count; n++) {
+            int i = properties != null ? properties[n] : n;
+            Object value = state[i];
+            if (types[i].isCollectionType()) {
+                continue;
+            }
+            if (value != null && types[i].isEntityType()) {
+                // Works on uninitialized proxies without loading them
+                value = event.getSession().getFactory().getPersistenceUnitUtil().getIdentifier(value);
+            }
+            values.put(names[i], value);
+        }
+        return values;
+    }
+}
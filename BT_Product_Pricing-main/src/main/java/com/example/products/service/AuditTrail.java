@@ -0,0 +1,218 @@
+package com.example.products.service;
+
+import com.example.products.entity.Audit;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes audit rows off the request thread.
+ *
+ * Changes are put on a bounded queue; a single writer thread drains it and inserts
+ * up to batch-size rows per JDBC batch. Values are only turned into JSON by the
+ * writer, so recording a change costs the caller one queue offer. When the writer
+ * falls behind and the queue is full, callers wait up to offer-timeout for space
+ * and the change is then dropped and counted rather than slowing writes further.
+ * The queue is drained before the application shuts down.
+ */
+@Component
+public class AuditTrail {
+
+    public static final String QUEUE_DEPTH_METRIC = "products.audit.queue.depth";
+    public static final String WRITTEN_METRIC = "products.audit.written";
+    public static final String DROPPED_METRIC = "products.audit.dropped";
+    public static final String FAILED_METRIC = "products.audit.failed";
+
+    private static final Logger log = LoggerFactory.getLogger(AuditTrail.class);
+
+    private static final String INSERT = "INSERT INTO " + Audit.TABLE
+            + " (entity_name, entity_id, operation, old_values, new_values, changed_by, changed_at, ip_address, remarks)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // How long an idle writer waits before checking for shutdown
+    private static final long IDLE_POLL_MILLIS = 200;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final BlockingQueue<Change> queue;
+    private final int batchSize;
+    private final long offerTimeoutNanos;
+    private final Duration shutdownTimeout;
+
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private final Thread writer = new Thread(this::drain, "audit-writer");
+    private volatile boolean running = true;
+
+    public AuditTrail(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                      @Value("${products.audit.queue-capacity:10000}") int capacity,
+                      @Value("${products.audit.batch-size:500}") int batchSize,
+                      @Value("${products.audit.offer-timeout:5ms}") Duration offerTimeout,
+                      @Value("${products.audit.shutdown-timeout:10s}") Duration shutdownTimeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.offerTimeoutNanos = offerTimeout.toNanos();
+        this.shutdownTimeout = shutdownTimeout;
+    }
+
+    @PostConstruct
+    public void start() {
+        Gauge.builder(QUEUE_DEPTH_METRIC, queue, BlockingQueue::size).register(meterRegistry);
+        FunctionCounter.builder(WRITTEN_METRIC, written, AtomicLong::get).register(meterRegistry);
+        FunctionCounter.builder(DROPPED_METRIC, dropped, AtomicLong::get).register(meterRegistry);
+        FunctionCounter.builder(FAILED_METRIC, failed, AtomicLong::get).register(meterRegistry);
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Queues a change for writing. Returns false when it was dropped because the
+     * queue stayed full for the offer timeout or the trail is shutting down.
+     */
+    public boolean record(Change change) {
+        boolean queued = false;
+        if (running) {
+            try {
+                queued = queue.offer(change, offerTimeoutNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (!queued) {
+            // First drop, then one line per thousand
+            long total = dropped.incrementAndGet();
+            if (total % 1000 == 1) {
+                log.warn("Audit queue full; {} changes dropped so far", total);
+            }
+        }
+        return queued;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queueDepth", queue.size());
+        stats.put("queueCapacity", queue.size() + queue.remainingCapacity());
+        stats.put("written", written.get());
+        stats.put("dropped", dropped.get());
+        stats.put("failed", failed.get());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        writer.join(shutdownTimeout.toMillis());
+        if (writer.isAlive()) {
+            log.warn("Audit writer did not finish within {}; {} changes not written", shutdownTimeout, queue.size());
+            writer.interrupt();
+        }
+    }
+
+    private void drain() {
+        List<Change> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Change first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                failed.addAndGet(batch.size());
+                log.error("Could not write {} audit rows", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Change> batch) {
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (Change change : batch) {
+            rows.add(new Object[]{change.entityName, change.entityId, change.operation.name(),
+                    toJson(change.oldValues), toJson(change.newValues), change.changedBy,
+                    Timestamp.valueOf(change.changedAt), change.ipAddress, change.remarks});
+        }
+        try {
+            jdbcTemplate.batchUpdate(INSERT, rows);
+            written.addAndGet(rows.size());
+        } catch (DataAccessException e) {
+            failed.addAndGet(rows.size());
+            log.error("Could not write {} audit rows", rows.size(), e);
+        }
+    }
+
+    private String toJson(Map<String, Object> values) {
+        if (values == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(values);
+        } catch (JsonProcessingException e) {
+            return String.valueOf(values);
+        }
+    }
+
+    /**
+     * A committed change to one row. Values are property name to value maps of
+     * immutable values (associations are given by id).
+     */
+    public static final class Change {
+
+        private final String entityName;
+        private final Long entityId;
+        private final Audit.Operation operation;
+        private final Map<String, Object> oldValues;
+        private final Map<String, Object> newValues;
+        private final String changedBy;
+        private final LocalDateTime changedAt;
+        private final String ipAddress;
+        private final String remarks;
+
+        public Change(String entityName, Long entityId, Audit.Operation operation,
+                      Map<String, Object> oldValues, Map<String, Object> newValues,
+                      String changedBy, LocalDateTime changedAt, String ipAddress, String remarks) {
+            this.entityName = entityName;
+            this.entityId = entityId;
+            this.operation = operation;
+            this.oldValues = oldValues;
+            this.newValues = newValues;
+            this.changedBy = changedBy;
+            this.changedAt = changedAt;
+            this.ipAddress = ipAddress;
+            this.remarks = remarks;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.products.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Evaluates the items of a bulk request (JSON array or NDJSON) against their products'
+ * pricing snapshots and writes one NDJSON result per item, in input order. Shared by
+ * bulk quotes and charge runs.
+ *
+ * Input is consumed in fixed-size chunks so memory stays bounded by the chunk size,
+ * and items that cannot be read are reported in place (see BulkItemReader). Within a
+ * chunk items are grouped by product, each group resolves its snapshot once, and
+ * groups are evaluated in parallel on one pool shared by all bulk requests. Results
+ * are written as soon as their chunk completes.
+ */
+@Component
+class BulkChunkProcessor {
+
+    /**
+     * Result of one item, evaluated against the snapshot of its product.
+     */
+    @FunctionalInterface
+    interface Evaluator<T, R> {
+        R evaluate(PricingRuleIndex.Snapshot snapshot, T item, long index);
+    }
+
+    /**
+     * Result reporting an item that was not evaluated; item is null when it could not be read.
+     */
+    @FunctionalInterface
+    interface ErrorResult<T, R> {
+        R error(long index, T item, String message);
+    }
+
+    @Autowired
+    private PricingRuleIndex pricingRuleIndex;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${products.pricing.bulk.chunk-size:10000}")
+    private int chunkSize;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(), runnable -> {
+                Thread thread = new Thread(runnable, "bulk-pricing");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    /**
+     * Evaluates every item of the input and writes one result line per item. Items
+     * that cannot be read or have no product become error lines, so a bad item never
+     * cuts the response short.
+     *
+     * @return number of items read
+     */
+    <T, R> long process(InputStream in, OutputStream out, Class<T> itemType, Class<R> resultType,
+                        Function<T, Long> productOf, Evaluator<T, R> evaluator, ErrorResult<T, R> errors)
+            throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(resultType);
+
+        long index = 0;
+        List<BulkItemReader.Item<T>> chunk = new ArrayList<>(chunkSize);
+        try (BulkItemReader<T> items = new BulkItemReader<>(objectMapper, itemType, in)) {
+            BulkItemReader.Item<T> item;
+            while ((item = items.next()) != null) {
+                chunk.add(item);
+                if (chunk.size() == chunkSize) {
+                    writeChunk(evaluateChunk(chunk, index, productOf, evaluator, errors), writer, out);
+                    index += chunk.size();
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(evaluateChunk(chunk, index, productOf, evaluator, errors), writer, out);
+            index += chunk.size();
+        }
+        out.flush();
+        return index;
+    }
+
+    private <T, R> List<R> evaluateChunk(List<BulkItemReader.Item<T>> chunk, long firstIndex,
+                                         Function<T, Long> productOf, Evaluator<T, R> evaluator,
+                                         ErrorResult<T, R> errors) {
+        List<R> results = new ArrayList<>(chunk.size());
+        Map<Long, List<Integer>> positionsByProduct = new HashMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            BulkItemReader.Item<T> item = chunk.get(i);
+            Long productId = item.error == null ? productOf.apply(item.value) : null;
+            if (item.error != null) {
+                results.add(errors.error(firstIndex + i, null, item.error));
+            } else if (productId == null) {
+                results.add(errors.error(firstIndex + i, item.value, "productId is required"));
+            } else {
+                results.add(null);
+                positionsByProduct.computeIfAbsent(productId, k -> new ArrayList<>()).add(i);
+            }
+        }
+
+        // Each group writes only its own positions, and join() publishes them to this thread
+        List<CompletableFuture<Void>> groups = new ArrayList<>(positionsByProduct.size());
+        positionsByProduct.forEach((productId, positions) -> groups.add(CompletableFuture.runAsync(() -> {
+            PricingRuleIndex.Snapshot snapshot = pricingRuleIndex.snapshot(productId);
+            for (int position : positions) {
+                results.set(position, evaluator.evaluate(snapshot, chunk.get(position).value, firstIndex + position));
+            }
+        }, executor)));
+        CompletableFuture.allOf(groups.toArray(new CompletableFuture[0])).join();
+        return results;
+    }
+
+    private <R> void writeChunk(List<R> results, ObjectWriter writer, OutputStream out) throws IOException {
+        for (R result : results) {
+            out.write(writer.writeValueAsBytes(result));
+            out.write('\n');
+        }
+        out.flush();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
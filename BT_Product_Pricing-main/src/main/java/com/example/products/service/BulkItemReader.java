@@ -0,0 +1,131 @@
+package com.example.products.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads the items of a bulk request one at a time from a JSON array or NDJSON (one
+ * item per line), so memory does not grow with the request.
+ *
+ * An item that is not valid JSON or does not bind to the item type comes back as a
+ * failed item carrying the reason, and reading goes on with the next one. The only
+ * exception is a syntax error inside a JSON array: the rest of the array cannot be
+ * located after it, so it is returned as a last failed item and reading stops.
+ */
+final class BulkItemReader<T> implements Closeable {
+
+    /**
+     * An item as read: either its value or the reason it could not be read.
+     */
+    static final class Item<T> {
+
+        final T value;
+        final String error;
+
+        private Item(T value, String error) {
+            this.value = value;
+            this.error = error;
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+    private final Class<T> type;
+    private final BufferedReader reader;
+    private final JsonParser arrayParser;
+    private boolean done;
+
+    BulkItemReader(ObjectMapper objectMapper, Class<T> type, InputStream in) throws IOException {
+        this.objectMapper = objectMapper;
+        this.type = type;
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        if (firstCharacter() == '[') {
+            arrayParser = objectMapper.createParser(reader);
+            arrayParser.nextToken();
+        } else {
+            arrayParser = null;
+        }
+    }
+
+    /**
+     * The next item, or null once the input is exhausted.
+     */
+    Item<T> next() throws IOException {
+        if (done) {
+            return null;
+        }
+        return arrayParser != null ? nextInArray() : nextLine();
+    }
+
+    private Item<T> nextInArray() throws IOException {
+        try {
+            JsonToken token = arrayParser.nextToken();
+            if (token == null || token == JsonToken.END_ARRAY) {
+                done = true;
+                return null;
+            }
+            return bind(arrayParser.readValueAsTree());
+        } catch (StreamReadException e) {
+            done = true;
+            return new Item<>(null, "malformed JSON, rest of the array ignored: " + e.getOriginalMessage());
+        }
+    }
+
+    private Item<T> nextLine() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+        } while (line != null && line.isBlank());
+        if (line == null) {
+            done = true;
+            return null;
+        }
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (StreamReadException e) {
+            return new Item<>(null, "malformed JSON: " + e.getOriginalMessage());
+        }
+        return bind(node);
+    }
+
+    private Item<T> bind(JsonNode node) {
+        try {
+            return new Item<>(objectMapper.treeToValue(node, type), null);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            String message = e instanceof JsonProcessingException json ? json.getOriginalMessage() : e.getMessage();
+            return new Item<>(null, "invalid item: " + message);
+        }
+    }
+
+    // Peeks past leading whitespace to tell an array from NDJSON
+    private int firstCharacter() throws IOException {
+        int c;
+        do {
+            reader.mark(1);
+            c = reader.read();
+        } while (c != -1 && Character.isWhitespace(c));
+        if (c != -1) {
+            reader.reset();
+        }
+        return c;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (arrayParser != null) {
+            arrayParser.close();
+        }
+        reader.close();
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.products.service;
+
+import com.example.products.dto.BulkQuoteItem;
+import com.example.products.dto.BulkQuoteResult;
+import com.example.products.dto.BusinessRuleView;
+import com.example.products.dto.RateMatrixView;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+/**
+ * Prices large batches of deposits read from a JSON array or NDJSON stream, in chunks
+ * grouped by product (see BulkChunkProcessor).
+ */
+@Service
+public class BulkQuoteService {
+
+    @Autowired
+    private BulkChunkProcessor chunkProcessor;
+
+    /**
+     * Prices every item of the request and writes one result line per item, in input
+     * order. Runs on the request thread: items that cannot be read become error lines
+     * like items that cannot be priced, so a bad item never cuts the response short.
+     */
+    public long quote(InputStream in, OutputStream out) throws IOException {
+        LocalDate today = LocalDate.now();
+        return chunkProcessor.process(in, out, BulkQuoteItem.class, BulkQuoteResult.class, BulkQuoteItem::getProductId,
+                (snapshot, item, index) -> price(snapshot, item, index, today),
+                (index, item, message) -> error(index, item != null ? item.getProductId() : null, message));
+    }
+
+    private BulkQuoteResult price(PricingRuleIndex.Snapshot snapshot, BulkQuoteItem item, long index, LocalDate today) {
+        if (item.getAmount() == null || item.getTerm() == null) {
+            return error(index, item.getProductId(), "amount and term are required");
+        }
+        BusinessRuleView rule = snapshot.findRule(item.getTerm(), item.getAmount());
+        if (rule == null) {
+            return error(index, item.getProductId(), "no matching rule");
+        }
+        BulkQuoteResult result = new BulkQuoteResult();
+        result.setIndex(index);
+        result.setProductId(item.getProductId());
+        result.setRuleId(rule.getRuleId());
+        result.setInterestRate(rule.getInterestRate());
+        RateMatrixView band = snapshot.findRateBand(item.getCustomerCategory(), today);
+        if (band != null) {
+            result.setRateId(band.getRateId());
+            result.setBaseInterestRate(band.getBaseInterestRate());
+        }
+        return result;
+    }
+
+    private BulkQuoteResult error(long index, Long productId, String message) {
+        BulkQuoteResult result = new BulkQuoteResult();
+        result.setIndex(index);
+        result.setProductId(productId);
+        result.setError(message);
+        return result;
+    }
+}
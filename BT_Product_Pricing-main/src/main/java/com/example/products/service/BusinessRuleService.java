@@ -1,12 +1,16 @@
 package com.example.products.service;
 
+import com.example.products.dto.ContentVersion;
 import com.example.products.entity.BusinessRule;
 import com.example.products.repository.BusinessRuleRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class BusinessRuleService {
@@ -14,21 +18,89 @@ public class BusinessRuleService {
     @Autowired
     private BusinessRuleRepository repository;
 
+    @Autowired
+    private PricingRuleIndex pricingRuleIndex;
+
+    @Autowired
+    private JpaBatchWriter batchWriter;
+
     // ---------------- Existing CRUD methods ----------------
 
     public BusinessRule createBusinessRule(Long productId, BusinessRule rule) {
         rule.setProductId(productId);
-        return repository.save(rule);
+        BusinessRule saved = repository.save(rule);
+        pricingRuleIndex.refresh(productId);
+        return saved;
     }
 
     public List<BusinessRule> getRulesByProduct(Long productId) {
         return repository.findByProductId(productId);
     }
 
+    public ContentVersion getRulesVersionByProduct(Long productId) {
+        return repository.findContentVersionByProductId(productId);
+    }
+
     public BusinessRule updateBusinessRule(Long ruleId, BusinessRule updatedRule) {
         BusinessRule existing = repository.findById(ruleId)
                 .orElseThrow(() -> new RuntimeException("BusinessRule not found with ID: " + ruleId));
 
+        copyTerms(existing, updatedRule);
+
+        BusinessRule saved = repository.save(existing);
+        pricingRuleIndex.refresh(saved.getProductId());
+        return saved;
+    }
+
+    public void deleteBusinessRule(Long ruleId) {
+        BusinessRule existing = repository.findById(ruleId)
+                .orElseThrow(() -> new RuntimeException("BusinessRule not found with ID: " + ruleId));
+        repository.deleteById(ruleId);
+        pricingRuleIndex.refresh(existing.getProductId());
+    }
+
+    // ---------------- Bulk writes ----------------
+
+    /**
+     * Creates all rules, each for the product named by its productId, in one transaction,
+     * inserted in JDBC batches.
+     */
+    @Transactional
+    public List<BusinessRule> createBusinessRules(List<BusinessRule> rules) {
+        rules.forEach(rule -> rule.setRuleId(null));
+        List<BusinessRule> saved = batchWriter.persistAll(rules);
+        pricingRuleIndex.refreshAfterCommit(saved.stream().map(BusinessRule::getProductId).collect(Collectors.toSet()));
+        return saved;
+    }
+
+    /**
+     * Creates all rules for the product in one transaction, inserted in JDBC batches.
+     */
+    @Transactional
+    public List<BusinessRule> createBusinessRules(Long productId, List<BusinessRule> rules) {
+        rules.forEach(rule -> {
+            rule.setRuleId(null);
+            rule.setProductId(productId);
+        });
+        List<BusinessRule> saved = batchWriter.persistAll(rules);
+        pricingRuleIndex.refreshAfterCommit(Set.of(productId));
+        return saved;
+    }
+
+    /**
+     * Updates the rules identified by their ruleId in one transaction, in JDBC batches.
+     * Fails and rolls back everything if any rule does not exist.
+     */
+    @Transactional
+    public List<BusinessRule> updateBusinessRules(List<BusinessRule> rules) {
+        List<BusinessRule> saved = batchWriter.updateAll(rules, BusinessRule::getRuleId, repository::findAllById,
+                BusinessRuleService::copyTerms, "BusinessRule");
+        Set<Long> productIds = saved.stream().map(BusinessRule::getProductId).collect(Collectors.toSet());
+        pricingRuleIndex.refreshAfterCommit(productIds);
+        return saved;
+    }
+
+    private static void copyTerms(BusinessRule existing, BusinessRule updatedRule) {
         existing.setMinTerm(updatedRule.getMinTerm());
         existing.setMaxTerm(updatedRule.getMaxTerm());
         existing.setMinAmount(updatedRule.getMinAmount());
@@ -39,15 +111,6 @@ public class BusinessRuleService {
         existing.setPrematurePenaltyRate(updatedRule.getPrematurePenaltyRate());
         existing.setAutoRenewal(updatedRule.getAutoRenewal());
         existing.setMinBalanceRequired(updatedRule.getMinBalanceRequired());
-
-        return repository.save(existing);
-    }
-
-    public void deleteBusinessRule(Long ruleId) {
-        if (!repository.existsById(ruleId)) {
-            throw new RuntimeException("BusinessRule not found with ID: " + ruleId);
-        }
-        repository.deleteById(ruleId);
     }
 
     // ---------------- New method for interest rates ----------------
@@ -55,6 +118,7 @@ public class BusinessRuleService {
     /**
      * Fetch all interest rates for a specific product
      */
+    @Transactional(readOnly = true)
     public List<BigDecimal> getInterestRatesByProduct(Long productId) {
         return repository.findInterestRateByProductId(productId);
     }
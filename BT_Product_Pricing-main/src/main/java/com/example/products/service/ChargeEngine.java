@@ -0,0 +1,107 @@
+package com.example.products.service;
+
+import com.example.products.dto.ChargeResult;
+import com.example.products.dto.ChargeTransaction;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Calculates the charges levied on a stream of transactions (JSON array or NDJSON),
+ * e.g. for end-of-day fee runs.
+ *
+ * Charges come from each product's compiled ChargeTable in the pricing index, so a
+ * transaction costs a map lookup and a few long multiplications; the database is
+ * only read the first time a product is seen. Streams are processed in chunks
+ * grouped by product like bulk quotes (see BulkChunkProcessor). Only per-transaction
+ * charges are levied; periodic ones (annual, monthly, one-time) are left to the runs
+ * for their period (see ChargeTable).
+ */
+@Service
+public class ChargeEngine {
+
+    @Autowired
+    private PricingRuleIndex pricingRuleIndex;
+
+    @Autowired
+    private BulkChunkProcessor chunkProcessor;
+
+    /**
+     * Writes one result line per transaction of the stream, in input order; transactions
+     * that cannot be read or evaluated become error lines.
+     */
+    public long calculate(InputStream in, OutputStream out) throws IOException {
+        return chunkProcessor.process(in, out, ChargeTransaction.class, ChargeResult.class,
+                ChargeTransaction::getProductId,
+                (snapshot, transaction, index) -> evaluate(snapshot.getChargeTable(), transaction, index),
+                this::error);
+    }
+
+    /**
+     * Charges on a single transaction.
+     */
+    public ChargeResult calculate(ChargeTransaction transaction) {
+        if (transaction.getProductId() == null) {
+            return error(0, transaction, "productId is required");
+        }
+        return evaluate(pricingRuleIndex.snapshot(transaction.getProductId()).getChargeTable(), transaction, 0);
+    }
+
+    private ChargeResult evaluate(ChargeTable table, ChargeTransaction transaction, long index) {
+        if (transaction.getAmount() == null) {
+            return error(index, transaction, "amount is required");
+        }
+        if (transaction.getAmount().signum() < 0) {
+            return error(index, transaction, "amount must not be negative");
+        }
+        List<ChargeResult.AppliedCharge> applied = Collections.emptyList();
+        long total = 0;
+        try {
+            long amount = ChargeTable.toPaise(transaction.getAmount());
+            for (ChargeTable.CompiledCharge charge : table.chargesFor(transaction.getTxnTypeId())) {
+                if (!charge.appliesTo(amount)) {
+                    continue;
+                }
+                long levied = charge.amountOn(amount);
+                if (applied.isEmpty()) {
+                    applied = new ArrayList<>(2);
+                }
+                applied.add(new ChargeResult.AppliedCharge(charge.chargeId, charge.chargeName, charge.chargeType,
+                        ChargeTable.fromPaise(levied)));
+                total = Math.addExact(total, levied);
+            }
+        } catch (ArithmeticException e) {
+            // Amount or total past what paise fit in a long
+            return error(index, transaction, "amount out of range");
+        }
+
+        ChargeResult result = result(index, transaction);
+        result.setCharges(applied);
+        result.setTotalCharge(ChargeTable.fromPaise(total));
+        return result;
+    }
+
+    private ChargeResult error(long index, ChargeTransaction transaction, String message) {
+        ChargeResult result = result(index, transaction);
+        result.setError(message);
+        return result;
+    }
+
+    // transaction is null for an input item that could not be read
+    private static ChargeResult result(long index, ChargeTransaction transaction) {
+        ChargeResult result = new ChargeResult();
+        result.setIndex(index);
+        if (transaction != null) {
+            result.setReference(transaction.getReference());
+            result.setProductId(transaction.getProductId());
+            result.setTxnTypeId(transaction.getTxnTypeId());
+        }
+        return result;
+    }
+}
@@ -2,9 +2,16 @@ package com.example.products.service;
 
 import com.example.products.entity.Charge;
 import com.example.products.repository.ChargeRepository;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class ChargeService {
@@ -12,20 +19,106 @@ public class ChargeService {
     @Autowired
     private ChargeRepository repository;
 
+    @Autowired
+    private PricingRuleIndex pricingRuleIndex;
+
+    @Autowired
+    private JpaBatchWriter batchWriter;
+
+    @Autowired
+    private EntityPatcher entityPatcher;
+
     public Charge createCharge(Charge charge) {
-        return repository.save(charge);
+        validate(charge);
+        Charge saved = repository.save(charge);
+        pricingRuleIndex.refresh(saved.getProductId());
+        return saved;
     }
 
     public List<Charge> getChargesByProduct(Long productId) {
         return repository.findByProductId(productId);
     }
 
+    @Transactional
     public Charge updateCharge(Long id, Charge charge) {
-        charge.setChargeId(id);
-        return repository.save(charge);
+        Charge existing = findCharge(id);
+        Long previousProductId = existing.getProductId();
+        entityPatcher.replace(existing, id, charge, "chargeId", "createdAt");
+        return saveChanges(existing, previousProductId);
+    }
+
+    /**
+     * Applies only the fields present in the patch; a stale "version" fails with an optimistic lock error.
+     */
+    @Transactional
+    public Charge patchCharge(Long id, JsonNode patch) {
+        Charge existing = findCharge(id);
+        Long previousProductId = existing.getProductId();
+        entityPatcher.patch(existing, id, patch, "chargeId", "createdAt", "updatedAt");
+        return saveChanges(existing, previousProductId);
+    }
+
+    private Charge findCharge(Long id) {
+        return repository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Charge not found with ID: " + id));
+    }
+
+    private Charge saveChanges(Charge existing, Long previousProductId) {
+        validate(existing);
+        existing.setUpdatedAt(new Timestamp(System.currentTimeMillis()));
+        Charge saved = repository.saveAndFlush(existing);
+        // A charge moved to another product changes both products' pricing
+        Set<Long> productIds = new HashSet<>();
+        productIds.add(previousProductId);
+        productIds.add(saved.getProductId());
+        pricingRuleIndex.refreshAfterCommit(productIds);
+        return saved;
     }
 
     public void deleteCharge(Long id) {
+        Long productId = repository.findById(id).map(Charge::getProductId).orElse(null);
         repository.deleteById(id);
+        pricingRuleIndex.refresh(productId);
+    }
+
+    /**
+     * Creates all charges in one transaction, inserted in JDBC batches.
+     */
+    @Transactional
+    public List<Charge> createCharges(List<Charge> charges) {
+        charges.forEach(charge -> {
+            validate(charge);
+            charge.setChargeId(null);
+        });
+        List<Charge> saved = batchWriter.persistAll(charges);
+        pricingRuleIndex.refreshAfterCommit(saved.stream().map(Charge::getProductId).collect(Collectors.toSet()));
+        return saved;
+    }
+
+    /**
+     * Replaces the charges identified by their chargeId in one transaction, in JDBC batches.
+     * Fails and rolls back everything if any charge does not exist.
+     */
+    @Transactional
+    public List<Charge> updateCharges(List<Charge> charges) {
+        // Products the charges belonged to before the update, in case a charge moved
+        Set<Long> productIds = new HashSet<>();
+        List<Charge> saved = batchWriter.updateAll(charges, Charge::getChargeId, repository::findAllById,
+                (existing, update) -> {
+                    productIds.add(existing.getProductId());
+                    entityPatcher.replace(existing, existing.getChargeId(), update, "chargeId", "createdAt");
+                    validate(existing);
+                }, "Charge");
+        saved.forEach(charge -> productIds.add(charge.getProductId()));
+        pricingRuleIndex.refreshAfterCommit(productIds);
+        return saved;
+    }
+
+    // The charge engine can only evaluate these; anything else would never be levied
+    private static void validate(Charge charge) {
+        if (charge.getCalculationType() != null && !ChargeTable.isKnownCalculationType(charge.getCalculationType())) {
+            throw new IllegalArgumentException("Unknown calculationType '" + charge.getCalculationType()
+                    + "' of charge " + charge.getChargeName() + "; expected Flat or Percentage");
+        }
     }
 }
@@ -0,0 +1,180 @@
+package com.example.products.service;
+
+import com.example.products.entity.Charge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A product's charges compiled for evaluation against transactions.
+ *
+ * Charges are grouped by txnTypeId; a charge without a txnTypeId applies to every
+ * transaction type of the product. Amounts, thresholds and rates are held as longs
+ * (paise and parts per million) so evaluating a transaction allocates nothing but
+ * its result.
+ *
+ * Only per-transaction charges are compiled: those without a frequency, or whose
+ * frequency names the event they are levied on ("On Withdrawal", "Per Transaction").
+ * Periodic charges ("Monthly", "Annual", "One-time") are not owed per transaction and
+ * are left out. ChargeService rejects calculation types other than Flat and
+ * Percentage; a stored charge with another type is logged and left out.
+ */
+final class ChargeTable {
+
+    static final String FLAT = "flat";
+    static final String PERCENTAGE = "percentage";
+
+    private static final Logger log = LoggerFactory.getLogger(ChargeTable.class);
+
+    static final ChargeTable EMPTY = new ChargeTable(Collections.emptyMap(), new CompiledCharge[0]);
+
+    private final Map<Long, CompiledCharge[]> byTxnType;
+    private final CompiledCharge[] anyTxnType;
+
+    private ChargeTable(Map<Long, CompiledCharge[]> byTxnType, CompiledCharge[] anyTxnType) {
+        this.byTxnType = byTxnType;
+        this.anyTxnType = anyTxnType;
+    }
+
+    static ChargeTable compile(List<Charge> charges) {
+        List<CompiledCharge> common = new ArrayList<>();
+        Map<Long, List<CompiledCharge>> specific = new HashMap<>();
+        for (Charge charge : charges) {
+            if (!isPerTransaction(charge.getFrequency())) {
+                continue;
+            }
+            if (charge.getCalculationType() != null && !isKnownCalculationType(charge.getCalculationType())) {
+                log.warn("Charge {} of product {} has unknown calculation type '{}' and is not levied",
+                        charge.getChargeId(), charge.getProductId(), charge.getCalculationType());
+                continue;
+            }
+            CompiledCharge compiled = CompiledCharge.of(charge);
+            if (compiled == null) {
+                continue;
+            }
+            if (charge.getTxnTypeId() == null) {
+                common.add(compiled);
+            } else {
+                specific.computeIfAbsent(charge.getTxnTypeId(), k -> new ArrayList<>()).add(compiled);
+            }
+        }
+        if (common.isEmpty() && specific.isEmpty()) {
+            return EMPTY;
+        }
+
+        CompiledCharge[] anyTxnType = common.toArray(new CompiledCharge[0]);
+        Map<Long, CompiledCharge[]> byTxnType = new HashMap<>();
+        specific.forEach((txnTypeId, list) -> {
+            list.addAll(common);
+            byTxnType.put(txnTypeId, list.toArray(new CompiledCharge[0]));
+        });
+        return new ChargeTable(byTxnType, anyTxnType);
+    }
+
+    /**
+     * Charges that may apply to a transaction of the type, thresholds not yet checked.
+     */
+    CompiledCharge[] chargesFor(Long txnTypeId) {
+        if (txnTypeId == null) {
+            return anyTxnType;
+        }
+        return byTxnType.getOrDefault(txnTypeId, anyTxnType);
+    }
+
+    static boolean isKnownCalculationType(String calculationType) {
+        String type = calculationType.trim().toLowerCase(Locale.ROOT);
+        return type.equals(FLAT) || type.equals(PERCENTAGE);
+    }
+
+    /**
+     * True for a charge levied on each transaction: no frequency, or an event one.
+     */
+    static boolean isPerTransaction(String frequency) {
+        if (frequency == null || frequency.isBlank()) {
+            return true;
+        }
+        String normalized = frequency.trim().toLowerCase(Locale.ROOT);
+        return normalized.startsWith("on ") || normalized.equals("per transaction");
+    }
+
+    /**
+     * Converts an amount to paise, rounding half up past the second decimal.
+     */
+    static long toPaise(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    static BigDecimal fromPaise(long paise) {
+        return BigDecimal.valueOf(paise, 2);
+    }
+
+    static final class CompiledCharge {
+
+        private static final long PPM = 1_000_000;
+
+        final Long chargeId;
+        final String chargeName;
+        final String chargeType;
+        private final boolean percentage;
+        private final long flatPaise;
+        private final long ratePpm;
+        // Applies only to amounts above the threshold; -1 when there is none
+        private final long thresholdPaise;
+
+        private CompiledCharge(Charge charge, boolean percentage, long flatPaise, long ratePpm, long thresholdPaise) {
+            this.chargeId = charge.getChargeId();
+            this.chargeName = charge.getChargeName();
+            this.chargeType = charge.getChargeType();
+            this.percentage = percentage;
+            this.flatPaise = flatPaise;
+            this.ratePpm = ratePpm;
+            this.thresholdPaise = thresholdPaise;
+        }
+
+        /**
+         * Null for charges that cannot be evaluated: no rate, or no or an unknown
+         * calculation type.
+         */
+        static CompiledCharge of(Charge charge) {
+            if (charge.getRate() == null || charge.getCalculationType() == null) {
+                return null;
+            }
+            long threshold = charge.getThresholdAmount() != null ? toPaise(charge.getThresholdAmount()) : -1;
+            return switch (charge.getCalculationType().trim().toLowerCase(Locale.ROOT)) {
+                case FLAT -> new CompiledCharge(charge, false, toPaise(charge.getRate()), 0, threshold);
+                // rate is a percentage: 1.00 is 10_000 parts per million
+                case PERCENTAGE -> new CompiledCharge(charge, true, 0,
+                        charge.getRate().movePointRight(4).setScale(0, RoundingMode.HALF_UP).longValueExact(),
+                        threshold);
+                default -> null;
+            };
+        }
+
+        boolean appliesTo(long amountPaise) {
+            return amountPaise > thresholdPaise;
+        }
+
+        /**
+         * Charge in paise on a non-negative amount, rounded half up.
+         */
+        long amountOn(long amountPaise) {
+            if (!percentage) {
+                return flatPaise;
+            }
+            try {
+                return (Math.addExact(Math.multiplyExact(amountPaise, ratePpm), PPM / 2)) / PPM;
+            } catch (ArithmeticException overflow) {
+                return BigDecimal.valueOf(amountPaise).multiply(BigDecimal.valueOf(ratePpm))
+                        .divide(BigDecimal.valueOf(PPM), 0, RoundingMode.HALF_UP).longValueExact();
+            }
+        }
+    }
+}
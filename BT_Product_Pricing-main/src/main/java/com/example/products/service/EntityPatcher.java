@@ -0,0 +1,70 @@
+package com.example.products.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Applies client updates onto managed, @Version-ed entities.
+ *
+ * Only the managed instance is changed, so with @DynamicUpdate Hibernate writes a
+ * single UPDATE of the dirty columns, guarded by the version it was read at. A
+ * version supplied by the client must match the stored one, so an edit based on a
+ * stale read is rejected instead of overwriting the newer row.
+ */
+@Component
+public class EntityPatcher {
+
+    public static final String VERSION = "version";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Sets only the fields present in the patch. Read-only fields and the version are never written.
+     */
+    public <T> T patch(T entity, Object id, JsonNode patch, String... readOnly) {
+        if (!(patch instanceof ObjectNode fields)) {
+            throw new IllegalArgumentException("Patch must be a JSON object");
+        }
+        JsonNode version = fields.get(VERSION);
+        checkVersion(entity, id, version == null || version.isNull() ? null : version.asLong());
+
+        ObjectNode changes = fields.deepCopy();
+        changes.remove(VERSION);
+        changes.remove(Arrays.asList(readOnly));
+        try {
+            return objectMapper.readerForUpdating(entity).readValue(changes);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid patch: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Copies every property of the request body onto the managed entity, except the
+     * read-only ones and the version.
+     */
+    public <T> T replace(T entity, Object id, T body, String... readOnly) {
+        checkVersion(entity, id, (Long) new BeanWrapperImpl(body).getPropertyValue(VERSION));
+        String[] ignored = Arrays.copyOf(readOnly, readOnly.length + 1);
+        ignored[readOnly.length] = VERSION;
+        BeanUtils.copyProperties(body, entity, ignored);
+        return entity;
+    }
+
+    private static void checkVersion(Object entity, Object id, Long expected) {
+        Object current = new BeanWrapperImpl(entity).getPropertyValue(VERSION);
+        if (expected != null && !Objects.equals(expected, current)) {
+            throw new ObjectOptimisticLockingFailureException(entity.getClass(), id);
+        }
+    }
+}
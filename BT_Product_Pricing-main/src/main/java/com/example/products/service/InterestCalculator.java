@@ -0,0 +1,139 @@
+package com.example.products.service;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Locale;
+
+/**
+ * Fixed-point deposit interest arithmetic: amounts in paise, annual rates in parts
+ * per million of the balance (a 6.50% rate is 65_000).
+ *
+ * A deposit compounds at the end of every full period of its compounding frequency;
+ * period k ends on day floor(k * 365 / periodsPerYear) and adds balance * rate /
+ * periodsPerYear, rounded half up to the paisa. Days after the last full period
+ * earn simple interest on the compounded balance, rounded the same way. Deposits
+ * that do not compound earn simple interest on the principal for the whole term.
+ *
+ * Products that overflow a long are recomputed exactly with BigInteger, so results
+ * never depend on the magnitude of the inputs.
+ */
+final class InterestCalculator {
+
+    static final int DAYS_PER_YEAR = 365;
+    static final long PPM = 1_000_000;
+
+    private InterestCalculator() {
+    }
+
+    /**
+     * Compounding periods per year for a BusinessRule.compoundingFrequency; 0 for
+     * simple interest (no, unknown or "at maturity" compounding).
+     */
+    static int periodsPerYear(String compoundingFrequency) {
+        if (compoundingFrequency == null) {
+            return 0;
+        }
+        return switch (compoundingFrequency.trim().toLowerCase(Locale.ROOT).replace("-", "").replace(" ", "")) {
+            case "monthly" -> 12;
+            case "quarterly" -> 4;
+            case "halfyearly", "semiannually", "semiannual" -> 2;
+            case "annually", "annual", "yearly" -> 1;
+            default -> 0;
+        };
+    }
+
+    /**
+     * Full compounding periods within the term.
+     */
+    static int fullPeriods(int termDays, int periodsPerYear) {
+        if (periodsPerYear == 0) {
+            return 0;
+        }
+        return (int) ((long) termDays * periodsPerYear / DAYS_PER_YEAR);
+    }
+
+    /**
+     * Day, counted from the start of the deposit, on which period k ends.
+     */
+    static int periodEndDay(int period, int periodsPerYear) {
+        return (int) ((long) period * DAYS_PER_YEAR / periodsPerYear);
+    }
+
+    static long periodInterest(long balance, long ratePpm, int periodsPerYear) {
+        return multiplyDivideHalfUp(balance, ratePpm, 1, PPM * periodsPerYear);
+    }
+
+    static long simpleInterest(long balance, long ratePpm, int days) {
+        return multiplyDivideHalfUp(balance, ratePpm, days, PPM * DAYS_PER_YEAR);
+    }
+
+    /**
+     * Receives each interest credit of a projection.
+     */
+    interface AccrualListener {
+
+        void accrued(int endDay, int days, long interest, long balance);
+    }
+
+    /**
+     * Balance at the end of the term.
+     */
+    static long maturity(long principal, long ratePpm, int termDays, int periodsPerYear) {
+        return maturity(principal, ratePpm, termDays, periodsPerYear, null);
+    }
+
+    /**
+     * Balance at the end of the term, reporting every credit to the listener if there is one.
+     */
+    static long maturity(long principal, long ratePpm, int termDays, int periodsPerYear, AccrualListener listener) {
+        long balance = principal;
+        int day = 0;
+        int periods = fullPeriods(termDays, periodsPerYear);
+        for (int k = 1; k <= periods; k++) {
+            long interest = periodInterest(balance, ratePpm, periodsPerYear);
+            balance = Math.addExact(balance, interest);
+            int endDay = periodEndDay(k, periodsPerYear);
+            if (listener != null) {
+                listener.accrued(endDay, endDay - day, interest, balance);
+            }
+            day = endDay;
+        }
+        if (termDays > day) {
+            long interest = simpleInterest(balance, ratePpm, termDays - day);
+            balance = Math.addExact(balance, interest);
+            if (listener != null) {
+                listener.accrued(termDays, termDays - day, interest, balance);
+            }
+        }
+        return balance;
+    }
+
+    /**
+     * An annual percentage rate (6.50) in parts per million (65_000), rounded half up.
+     */
+    static long ratePpm(BigDecimal percent) {
+        return percent.movePointRight(4).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    /**
+     * a * b * c / divisor rounded half up, for non-negative operands.
+     */
+    static long multiplyDivideHalfUp(long a, long b, long c, long divisor) {
+        try {
+            long product = Math.multiplyExact(Math.multiplyExact(a, b), c);
+            long quotient = product / divisor;
+            long remainder = product % divisor;
+            // remainder >= divisor - remainder avoids overflowing 2 * remainder
+            return remainder >= divisor - remainder ? quotient + 1 : quotient;
+        } catch (ArithmeticException overflow) {
+            BigInteger[] division = BigInteger.valueOf(a).multiply(BigInteger.valueOf(b)).multiply(BigInteger.valueOf(c))
+                    .divideAndRemainder(BigInteger.valueOf(divisor));
+            BigInteger quotient = division[0];
+            if (division[1].shiftLeft(1).compareTo(BigInteger.valueOf(divisor)) >= 0) {
+                quotient = quotient.add(BigInteger.ONE);
+            }
+            return quotient.longValueExact();
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.example.products.service;
+
+import com.example.products.dto.BusinessRuleView;
+import com.example.products.dto.PortfolioProjection;
+import com.example.products.dto.PrematurePayout;
+import com.example.products.dto.ProjectionRequest;
+import com.example.products.dto.ProjectionResult;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Maturity amounts, accrual schedules and premature payouts of fixed deposits, priced
+ * with the business rule covering each deposit's term and amount in the pricing index.
+ *
+ * The compounding itself is done by InterestCalculator in paise; BigDecimal is only
+ * used to read the request and write the result. Portfolios are split into slices
+ * projected in parallel on the common fork/join pool; the pricing snapshots of the
+ * portfolio's products are loaded before forking, so the slices only compute.
+ */
+@Service
+public class InterestProjectionService {
+
+    // Deposits per fork/join leaf: enough to amortize forking, small enough to balance cores
+    private static final int LEAF_SIZE = 1_024;
+
+    @Autowired
+    private PricingRuleIndex pricingRuleIndex;
+
+    /**
+     * Maturity and full accrual schedule of one deposit. Empty when no rule of the
+     * product covers the term and amount.
+     */
+    public Optional<ProjectionResult> project(Long productId, ProjectionRequest request) {
+        validate(request);
+        BusinessRuleView rule = pricingRuleIndex.snapshot(productId).findRule(request.getTerm(), request.getAmount());
+        if (rule == null) {
+            return Optional.empty();
+        }
+        return Optional.of(project(productId, rule, request, true));
+    }
+
+    /**
+     * Payout of a deposit withdrawn after heldDays. Interest is paid for the time held,
+     * at the rate of the rule covering that shorter term (none if no rule does) less the
+     * contract's premature penalty rate, compounded like the contract.
+     */
+    public Optional<PrematurePayout> prematurePayout(Long productId, ProjectionRequest request) {
+        validate(request);
+        Integer heldDays = request.getHeldDays();
+        if (heldDays == null || heldDays < 0 || heldDays >= request.getTerm()) {
+            throw new IllegalArgumentException("heldDays is required and must be less than the term");
+        }
+        PricingRuleIndex.Snapshot snapshot = pricingRuleIndex.snapshot(productId);
+        BusinessRuleView contract = snapshot.findRule(request.getTerm(), request.getAmount());
+        if (contract == null) {
+            return Optional.empty();
+        }
+        if (Boolean.FALSE.equals(contract.getPrematureWithdrawalAllowed())) {
+            throw new IllegalArgumentException("Premature withdrawal is not allowed under rule " + contract.getRuleId());
+        }
+
+        BusinessRuleView held = snapshot.findRule(heldDays, request.getAmount());
+        BigDecimal heldRate = held != null && held.getInterestRate() != null ? held.getInterestRate() : BigDecimal.ZERO;
+        BigDecimal penalty = contract.getPrematurePenaltyRate() != null ? contract.getPrematurePenaltyRate() : BigDecimal.ZERO;
+        BigDecimal applied = heldRate.subtract(penalty).max(BigDecimal.ZERO);
+
+        long principal = ChargeTable.toPaise(request.getAmount());
+        int periodsPerYear = InterestCalculator.periodsPerYear(contract.getCompoundingFrequency());
+        long payout = InterestCalculator.maturity(principal, InterestCalculator.ratePpm(applied), heldDays, periodsPerYear);
+        long maturity = InterestCalculator.maturity(principal, ratePpm(contract), request.getTerm(), periodsPerYear);
+
+        PrematurePayout result = new PrematurePayout();
+        result.setProductId(productId);
+        result.setRuleId(contract.getRuleId());
+        result.setPrincipal(ChargeTable.fromPaise(principal));
+        result.setHeldDays(heldDays);
+        result.setContractRate(contract.getInterestRate());
+        result.setPenaltyRate(penalty);
+        result.setAppliedRate(applied);
+        result.setInterest(ChargeTable.fromPaise(payout - principal));
+        result.setPayout(ChargeTable.fromPaise(payout));
+        result.setMaturityAmount(ChargeTable.fromPaise(maturity));
+        return Optional.of(result);
+    }
+
+    /**
+     * Maturity of every deposit, without schedules. Deposits that cannot be projected
+     * get an error result and are left out of the totals.
+     */
+    public PortfolioProjection projectPortfolio(List<ProjectionRequest> deposits) {
+        // Loaded here, once per product, so the fork/join tasks never wait on the database
+        Map<Long, PricingRuleIndex.Snapshot> snapshots = new HashMap<>();
+        for (ProjectionRequest deposit : deposits) {
+            if (deposit.getProductId() != null) {
+                snapshots.computeIfAbsent(deposit.getProductId(), pricingRuleIndex::snapshot);
+            }
+        }
+        ProjectionResult[] results = new ProjectionResult[deposits.size()];
+        long[] totals = ForkJoinPool.commonPool().invoke(
+                new PortfolioSlice(deposits, Map.copyOf(snapshots), results, 0, deposits.size()));
+
+        PortfolioProjection portfolio = new PortfolioProjection();
+        portfolio.setDeposits(deposits.size());
+        portfolio.setTotalPrincipal(ChargeTable.fromPaise(totals[0]));
+        portfolio.setTotalInterest(ChargeTable.fromPaise(totals[1] - totals[0]));
+        portfolio.setTotalMaturityAmount(ChargeTable.fromPaise(totals[1]));
+        portfolio.setResults(Arrays.asList(results));
+        return portfolio;
+    }
+
+    private ProjectionResult project(Long productId, BusinessRuleView rule, ProjectionRequest request, boolean withSchedule) {
+        long principal = ChargeTable.toPaise(request.getAmount());
+        int term = request.getTerm();
+        int periodsPerYear = InterestCalculator.periodsPerYear(rule.getCompoundingFrequency());
+        LocalDate start = request.getStartDate() != null ? request.getStartDate() : LocalDate.now();
+
+        List<ProjectionResult.Accrual> schedule = withSchedule ? new ArrayList<>() : null;
+        long maturity = InterestCalculator.maturity(principal, ratePpm(rule), term, periodsPerYear,
+                withSchedule ? (endDay, days, interest, balance) -> schedule.add(new ProjectionResult.Accrual(
+                        start.plusDays(endDay), days, ChargeTable.fromPaise(interest), ChargeTable.fromPaise(balance)))
+                        : null);
+
+        ProjectionResult result = new ProjectionResult();
+        result.setProductId(productId);
+        result.setRuleId(rule.getRuleId());
+        result.setPrincipal(ChargeTable.fromPaise(principal));
+        result.setTerm(term);
+        result.setInterestRate(rule.getInterestRate());
+        result.setCompoundingFrequency(rule.getCompoundingFrequency());
+        result.setInterest(ChargeTable.fromPaise(maturity - principal));
+        result.setMaturityAmount(ChargeTable.fromPaise(maturity));
+        result.setMaturityDate(start.plusDays(term));
+        result.setSchedule(schedule);
+        return result;
+    }
+
+    private static long ratePpm(BusinessRuleView rule) {
+        return rule.getInterestRate() != null ? InterestCalculator.ratePpm(rule.getInterestRate()) : 0;
+    }
+
+    private static void validate(ProjectionRequest request) {
+        if (request.getAmount() == null || request.getAmount().signum() < 0) {
+            throw new IllegalArgumentException("amount is required and must not be negative");
+        }
+        if (request.getTerm() == null || request.getTerm() <= 0) {
+            throw new IllegalArgumentException("term is required and must be positive");
+        }
+    }
+
+    private static ProjectionResult error(ProjectionRequest request, String message) {
+        ProjectionResult result = new ProjectionResult();
+        result.setProductId(request.getProductId());
+        result.setError(message);
+        return result;
+    }
+
+    /**
+     * Projects deposits [from, to) into results and returns their {principal, maturity} sums in paise.
+     */
+    private final class PortfolioSlice extends RecursiveTask<long[]> {
+
+        private final List<ProjectionRequest> deposits;
+        private final Map<Long, PricingRuleIndex.Snapshot> snapshots;
+        private final ProjectionResult[] results;
+        private final int from;
+        private final int to;
+
+        PortfolioSlice(List<ProjectionRequest> deposits, Map<Long, PricingRuleIndex.Snapshot> snapshots,
+                       ProjectionResult[] results, int from, int to) {
+            this.deposits = deposits;
+            this.snapshots = snapshots;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from > LEAF_SIZE) {
+                int middle = (from + to) >>> 1;
+                PortfolioSlice left = new PortfolioSlice(deposits, snapshots, results, from, middle);
+                left.fork();
+                long[] right = new PortfolioSlice(deposits, snapshots, results, middle, to).compute();
+                long[] sums = left.join();
+                return new long[]{Math.addExact(sums[0], right[0]), Math.addExact(sums[1], right[1])};
+            }
+            long principal = 0;
+            long maturity = 0;
+            for (int i = from; i < to; i++) {
+                ProjectionRequest deposit = deposits.get(i);
+                ProjectionResult result = projectDeposit(deposit);
+                results[i] = result;
+                if (result.getError() == null) {
+                    principal = Math.addExact(principal, ChargeTable.toPaise(result.getPrincipal()));
+                    maturity = Math.addExact(maturity, ChargeTable.toPaise(result.getMaturityAmount()));
+                }
+            }
+            return new long[]{principal, maturity};
+        }
+
+        private ProjectionResult projectDeposit(ProjectionRequest deposit) {
+            if (deposit.getProductId() == null) {
+                return error(deposit, "productId is required");
+            }
+            try {
+                validate(deposit);
+            } catch (IllegalArgumentException e) {
+                return error(deposit, e.getMessage());
+            }
+            BusinessRuleView rule = snapshots.get(deposit.getProductId())
+                    .findRule(deposit.getTerm(), deposit.getAmount());
+            if (rule == null) {
+                return error(deposit, "no matching rule");
+            }
+            return project(deposit.getProductId(), rule, deposit, false);
+        }
+    }
+}
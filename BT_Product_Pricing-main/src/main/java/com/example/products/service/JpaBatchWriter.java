@@ -0,0 +1,80 @@
+package com.example.products.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Writes lists of entities in the caller's transaction, one JDBC batch at a time.
+ *
+ * Each slice of hibernate.jdbc.batch_size entities is flushed as a single batch and
+ * then cleared from the persistence context, so memory and dirty checking stay
+ * bounded however long the list is. Returned entities are detached.
+ */
+@Component
+public class JpaBatchWriter {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public <T> List<T> persistAll(List<T> entities) {
+        for (int i = 0; i < entities.size(); i++) {
+            entityManager.persist(entities.get(i));
+            if ((i + 1) % batchSize == 0) {
+                flushAndClear();
+            }
+        }
+        flushAndClear();
+        return entities;
+    }
+
+    /**
+     * Applies each update to the stored entity with the same id. Stored entities are
+     * loaded with one query per batch; a missing id fails the whole transaction.
+     *
+     * @param load  loads the stored entities for a set of ids
+     * @param apply copies an update onto its stored entity
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public <T, ID> List<T> updateAll(List<T> updates, Function<T, ID> idOf,
+                                     Function<Collection<ID>, List<T>> load, BiConsumer<T, T> apply,
+                                     String entityName) {
+        List<T> saved = new ArrayList<>(updates.size());
+        for (int from = 0; from < updates.size(); from += batchSize) {
+            List<T> slice = updates.subList(from, Math.min(from + batchSize, updates.size()));
+            Map<ID, T> stored = load.apply(slice.stream().map(idOf).toList()).stream()
+                    .collect(Collectors.toMap(idOf, Function.identity()));
+            for (T update : slice) {
+                ID id = idOf.apply(update);
+                T existing = stored.get(id);
+                if (existing == null) {
+                    throw new RuntimeException(entityName + " not found with ID: " + id);
+                }
+                apply.accept(existing, update);
+                saved.add(existing);
+            }
+            flushAndClear();
+        }
+        return saved;
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
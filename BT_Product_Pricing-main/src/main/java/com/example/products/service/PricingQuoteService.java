@@ -0,0 +1,38 @@
+package com.example.products.service;
+
+import com.example.products.dto.BusinessRuleView;
+import com.example.products.dto.QuoteRequest;
+import com.example.products.dto.QuoteResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+@Service
+public class PricingQuoteService {
+
+    @Autowired
+    private PricingRuleIndex pricingRuleIndex;
+
+    /**
+     * Price one deposit from the in-memory index. Empty when no rule covers
+     * the requested term and amount.
+     */
+    public Optional<QuoteResponse> quote(Long productId, QuoteRequest request) {
+        if (request.getAmount() == null || request.getTerm() == null) {
+            throw new IllegalArgumentException("amount and term are required");
+        }
+        PricingRuleIndex.Snapshot snapshot = pricingRuleIndex.snapshot(productId);
+        BusinessRuleView rule = snapshot.findRule(request.getTerm(), request.getAmount());
+        if (rule == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new QuoteResponse(
+                productId,
+                rule,
+                snapshot.findRateBand(request.getCustomerCategory(),
+                        request.getAsOf() != null ? request.getAsOf() : LocalDate.now()),
+                snapshot.findCharges(request.getAmount())));
+    }
+}
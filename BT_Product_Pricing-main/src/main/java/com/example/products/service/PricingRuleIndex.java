@@ -0,0 +1,257 @@
+package com.example.products.service;
+
+import com.example.products.dto.BusinessRuleView;
+import com.example.products.dto.ChargeView;
+import com.example.products.dto.RateMatrixView;
+import com.example.products.entity.BusinessRule;
+import com.example.products.entity.Charge;
+import com.example.products.repository.BusinessRuleRepository;
+import com.example.products.repository.ChargeRepository;
+import com.example.products.repository.RateMatrixRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory pricing data per product: business rules indexed by term and amount,
+ * a rate timeline per customer category and the product's charges, also compiled
+ * per transaction type for charge calculation.
+ *
+ * A snapshot is loaded on first use and rebuilt whenever a rule, rate or charge
+ * of that product is written, so quotes never go to the database once warm. Every
+ * refresh and eviction advances a generation, and a first load that sees it move
+ * while it ran drops what it cached, so a load that read the tables before a write
+ * cannot put its result back after the write's refresh.
+ *
+ * Snapshots are shared by all threads and hold immutable copies of the rules, rates
+ * and charges, never the managed entities they were loaded from.
+ */
+@Component
+public class PricingRuleIndex {
+
+    @Autowired
+    private BusinessRuleRepository businessRuleRepository;
+
+    @Autowired
+    private RateMatrixRepository rateMatrixRepository;
+
+    @Autowired
+    private ChargeRepository chargeRepository;
+
+    private final Map<Long, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public Snapshot snapshot(Long productId) {
+        Snapshot snapshot = snapshots.get(productId);
+        if (snapshot != null) {
+            return snapshot;
+        }
+        long seen = generation.get();
+        Snapshot loaded = load(productId);
+        if (loaded.isEmpty()) {
+            // Not cached, so unknown ids cannot grow the index
+            return loaded;
+        }
+        Snapshot cached = snapshots.putIfAbsent(productId, loaded);
+        if (cached != null) {
+            return cached;
+        }
+        if (generation.get() != seen) {
+            // Evicted or refreshed meanwhile; what was loaded may predate that write
+            snapshots.remove(productId, loaded);
+        }
+        return loaded;
+    }
+
+    public void refresh(Long productId) {
+        if (productId == null) {
+            return;
+        }
+        generation.incrementAndGet();
+        // compute() serializes with concurrent refreshes of the same product
+        snapshots.compute(productId, (id, old) -> {
+            Snapshot loaded = load(id);
+            return loaded.isEmpty() ? null : loaded;
+        });
+    }
+
+    /**
+     * Refreshes the products once the current transaction commits, so a rolled back
+     * write never reaches the index. Without a transaction they are refreshed now.
+     * Products queued several times in one transaction are refreshed once.
+     */
+    public void refreshAfterCommit(Collection<Long> productIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            productIds.forEach(this::refresh);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Set<Long> pending = (Set<Long>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<Long> queued = new LinkedHashSet<>();
+            pending = queued;
+            TransactionSynchronizationManager.bindResource(this, queued);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(PricingRuleIndex.this);
+                    if (status == STATUS_COMMITTED) {
+                        queued.forEach(PricingRuleIndex.this::refresh);
+                    }
+                }
+            });
+        }
+        pending.addAll(productIds);
+    }
+
+    public void evict(Long productId) {
+        if (productId != null) {
+            generation.incrementAndGet();
+            snapshots.remove(productId);
+        }
+    }
+
+    private Snapshot load(Long productId) {
+        return new Snapshot(
+                businessRuleRepository.findByProductId(productId),
+                rateMatrixRepository.findByProduct_ProductId(productId),
+                chargeRepository.findByProductId(productId));
+    }
+
+    /**
+     * Immutable pricing data for one product.
+     */
+    public static final class Snapshot {
+
+        private final List<BusinessRuleView> rules;
+        private final BusinessRuleView[] rulesByMinTerm;
+        private final int[] minTerms;
+        private final Map<String, RateTimeline> ratesByCategory;
+        private final List<ChargeView> charges;
+        private final ChargeTable chargeTable;
+
+        Snapshot(List<BusinessRule> rules, List<RateMatrixView> rates, List<Charge> charges) {
+            this.rules = rules.stream().map(BusinessRuleView::from).toList();
+            this.rulesByMinTerm = this.rules.toArray(new BusinessRuleView[0]);
+            Arrays.sort(rulesByMinTerm, Comparator.comparingInt(Snapshot::minTerm));
+            this.minTerms = new int[rulesByMinTerm.length];
+            for (int i = 0; i < rulesByMinTerm.length; i++) {
+                minTerms[i] = minTerm(rulesByMinTerm[i]);
+            }
+
+            Map<String, List<RateMatrixView>> byCategory = new HashMap<>();
+            for (RateMatrixView rate : rates) {
+                byCategory.computeIfAbsent(categoryKey(rate.getCustomerCategory()), k -> new ArrayList<>()).add(rate);
+            }
+            Map<String, RateTimeline> timelines = new HashMap<>();
+            byCategory.forEach((category, bands) -> timelines.put(category, RateTimeline.of(bands)));
+            this.ratesByCategory = timelines;
+            this.charges = charges.stream().map(ChargeView::from).toList();
+            this.chargeTable = ChargeTable.compile(charges);
+        }
+
+        boolean isEmpty() {
+            return rules.isEmpty() && ratesByCategory.isEmpty() && charges.isEmpty();
+        }
+
+        /**
+         * Rules in repository order.
+         */
+        public List<BusinessRuleView> getRules() {
+            return rules;
+        }
+
+        public List<ChargeView> getCharges() {
+            return charges;
+        }
+
+        ChargeTable getChargeTable() {
+            return chargeTable;
+        }
+
+        /**
+         * Most specific rule (highest minTerm) whose term and amount ranges contain the request.
+         * Null bounds are treated as open, and a null amount fits any amount range.
+         */
+        public BusinessRuleView findRule(int term, BigDecimal amount) {
+            // Last rule with minTerm <= term, then walk down to the first one that also fits
+            int lo = 0;
+            int hi = minTerms.length - 1;
+            int candidate = -1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                if (minTerms[mid] <= term) {
+                    candidate = mid;
+                    lo = mid + 1;
+                } else {
+                    hi = mid - 1;
+                }
+            }
+            for (int i = candidate; i >= 0; i--) {
+                BusinessRuleView rule = rulesByMinTerm[i];
+                if (rule.getMaxTerm() != null && rule.getMaxTerm() < term) {
+                    continue;
+                }
+                if (amount != null && rule.getMinAmount() != null && amount.compareTo(rule.getMinAmount()) < 0) {
+                    continue;
+                }
+                if (amount != null && rule.getMaxAmount() != null && amount.compareTo(rule.getMaxAmount()) > 0) {
+                    continue;
+                }
+                return rule;
+            }
+            return null;
+        }
+
+        /**
+         * Rule with the lowest minTerm, the product's headline rule; null without rules.
+         */
+        public BusinessRuleView firstRule() {
+            return rulesByMinTerm.length > 0 ? rulesByMinTerm[0] : null;
+        }
+
+        /**
+         * Rate band of the category in force on the given date; the latest effective one wins.
+         */
+        public RateMatrixView findRateBand(String customerCategory, LocalDate date) {
+            return ratesByCategory.getOrDefault(categoryKey(customerCategory), RateTimeline.EMPTY).at(date);
+        }
+
+        /**
+         * Charges whose threshold is exceeded by the amount (no threshold means always).
+         */
+        public List<ChargeView> findCharges(BigDecimal amount) {
+            List<ChargeView> applicable = new ArrayList<>(charges.size());
+            for (ChargeView charge : charges) {
+                if (charge.getThresholdAmount() == null || amount.compareTo(charge.getThresholdAmount()) > 0) {
+                    applicable.add(charge);
+                }
+            }
+            return applicable;
+        }
+
+        private static int minTerm(BusinessRuleView rule) {
+            return rule.getMinTerm() != null ? rule.getMinTerm() : 0;
+        }
+
+        private static String categoryKey(String category) {
+            return category == null ? "" : category.trim().toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.products.service;
+
+import com.example.products.dto.ProductAggregate;
+import com.example.products.dto.RateMatrixView;
+import com.example.products.dto.RoleView;
+import com.example.products.entity.BusinessRule;
+import com.example.products.entity.Charge;
+import com.example.products.entity.Product;
+import com.example.products.entity.TransactionType;
+import com.example.products.repository.BusinessRuleRepository;
+import com.example.products.repository.ChargeRepository;
+import com.example.products.repository.ProductRepository;
+import com.example.products.repository.RateMatrixRepository;
+import com.example.products.repository.RoleRepository;
+import com.example.products.repository.TransactionTypeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Builds product aggregates for the product screen. However many products are
+ * asked for, it runs one IN query per table (products, rules, roles, charges,
+ * transaction types, rates) and groups the rows by product in memory. All six
+ * run in one read-only transaction, so they see the same state of the catalog.
+ */
+@Service
+public class ProductAggregateService {
+
+    // Bounds the IN lists and the response size
+    public static final int MAX_IDS = 100;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private BusinessRuleRepository businessRuleRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private ChargeRepository chargeRepository;
+
+    @Autowired
+    private TransactionTypeRepository transactionTypeRepository;
+
+    @Autowired
+    private RateMatrixRepository rateMatrixRepository;
+
+    @Transactional(readOnly = true)
+    public Optional<ProductAggregate> getAggregate(Long productId) {
+        return getAggregates(List.of(productId)).stream().findFirst();
+    }
+
+    /**
+     * Aggregates of the given products in the order asked for; unknown ids are skipped.
+     */
+    @Transactional(readOnly = true)
+    public List<ProductAggregate> getAggregates(Collection<Long> productIds) {
+        Set<Long> ids = new LinkedHashSet<>(productIds);
+        if (ids.size() > MAX_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_IDS + " product ids per request, got " + ids.size());
+        }
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Product> products = productRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Product::getProductId, Function.identity()));
+        if (products.isEmpty()) {
+            return List.of();
+        }
+        // Children only of the products that exist
+        Set<Long> found = products.keySet();
+        Map<Long, List<BusinessRule>> rules = businessRuleRepository.findByProductIdInOrderByRuleId(found).stream()
+                .collect(Collectors.groupingBy(BusinessRule::getProductId));
+        Map<Long, List<RoleView>> roles = roleRepository.findByProductIdIn(found).stream()
+                .collect(Collectors.groupingBy(RoleView::getProductId));
+        Map<Long, List<Charge>> charges = chargeRepository.findByProductIdInOrderByChargeId(found).stream()
+                .collect(Collectors.groupingBy(Charge::getProductId));
+        Map<Long, List<TransactionType>> transactionTypes = transactionTypeRepository
+                .findByProductIdInOrderByTxnTypeId(found).stream()
+                .collect(Collectors.groupingBy(TransactionType::getProductId));
+        Map<Long, List<RateMatrixView>> rates = rateMatrixRepository.findByProductIdIn(found).stream()
+                .collect(Collectors.groupingBy(RateMatrixView::getProductId));
+
+        List<ProductAggregate> aggregates = new ArrayList<>(products.size());
+        for (Long id : ids) {
+            Product product = products.get(id);
+            if (product != null) {
+                aggregates.add(new ProductAggregate(product,
+                        rules.getOrDefault(id, List.of()),
+                        roles.getOrDefault(id, List.of()),
+                        charges.getOrDefault(id, List.of()),
+                        transactionTypes.getOrDefault(id, List.of()),
+                        rates.getOrDefault(id, List.of())));
+            }
+        }
+        return aggregates;
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.products.service;
+
+import com.example.products.entity.Product;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for catalog reads in ProductService.
+ *
+ * Single products are cached by id; list results (all products, name searches)
+ * are cached by query. A write drops the product's own entry and the list results,
+ * since any write can change them, once its transaction commits: a rolled back
+ * write leaves the cache alone, and readers never see uncommitted rows.
+ *
+ * Dropping entries alone would not stop a load that read the table before the
+ * commit from putting its old result back afterwards: invalidateAll() skips keys
+ * still being loaded. Every write therefore advances a generation, and a read that
+ * sees the generation move while it ran removes the entry it got, unless another
+ * one has replaced it.
+ *
+ * Cached products are detached copies, never an entity some persistence context
+ * may still change.
+ */
+@Component
+public class ProductCatalogCache {
+
+    private static final String ALL_PRODUCTS = "all";
+    private static final String SEARCH_PREFIX = "search:";
+
+    private final Cache<Long, Optional<Product>> byId;
+    private final Cache<String, List<Product>> lists;
+    private final AtomicLong generation = new AtomicLong();
+
+    public ProductCatalogCache(@Value("${products.catalog.cache.max-size:10000}") long maxSize,
+                               @Value("${products.catalog.cache.ttl:10m}") Duration ttl) {
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        // List entries are much larger than single products, so keep fewer of them
+        this.lists = Caffeine.newBuilder()
+                .maximumSize(Math.max(1, maxSize / 100))
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public Optional<Product> getById(Long id, Function<Long, Optional<Product>> loader) {
+        return read(byId, id, key -> loader.apply(key).map(ProductCatalogCache::detach));
+    }
+
+    public List<Product> getAll(Supplier<List<Product>> loader) {
+        return getList(ALL_PRODUCTS, loader);
+    }
+
+    public List<Product> search(String name, Supplier<List<Product>> loader) {
+        return getList(SEARCH_PREFIX + name.toLowerCase(Locale.ROOT), loader);
+    }
+
+    private List<Product> getList(String key, Supplier<List<Product>> loader) {
+        return read(lists, key, k -> loader.get().stream().map(ProductCatalogCache::detach).toList());
+    }
+
+    private <K, V> V read(Cache<K, V> cache, K key, Function<K, V> loader) {
+        long seen = generation.get();
+        V value = cache.get(key, loader);
+        if (generation.get() != seen) {
+            // A write committed meanwhile; what was loaded may predate it
+            cache.asMap().remove(key, value);
+        }
+        return value;
+    }
+
+    public void onWrite(Product product) {
+        onDelete(product.getProductId());
+    }
+
+    public void onDelete(Long id) {
+        afterCommit(() -> {
+            generation.incrementAndGet();
+            byId.invalidate(id);
+            lists.invalidateAll();
+        });
+    }
+
+    // For bulk writes that bypass ProductService
+    public void clear() {
+        afterCommit(() -> {
+            generation.incrementAndGet();
+            byId.invalidateAll();
+            lists.invalidateAll();
+        });
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    private static Product detach(Product product) {
+        Product copy = new Product();
+        BeanUtils.copyProperties(product, copy);
+        return copy;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("byId", toMap(byId.stats(), byId.estimatedSize()));
+        stats.put("lists", toMap(lists.stats(), lists.estimatedSize()));
+        return stats;
+    }
+
+    private Map<String, Object> toMap(CacheStats stats, long size) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("size", size);
+        map.put("hits", stats.hitCount());
+        map.put("misses", stats.missCount());
+        map.put("evictions", stats.evictionCount());
+        map.put("hitRate", stats.hitRate());
+        return map;
+    }
+}
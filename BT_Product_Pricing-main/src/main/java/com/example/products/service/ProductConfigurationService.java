@@ -0,0 +1,75 @@
+package com.example.products.service;
+
+import com.example.products.dto.ProductConfiguration;
+import com.example.products.entity.Charge;
+import com.example.products.entity.TransactionType;
+import com.example.products.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Loads a product's full configuration in a single transaction, with each entity
+ * type inserted in JDBC batches instead of one round trip per row.
+ *
+ * The client does not know the ids of the transaction types it is creating, so a
+ * charge links to one of them by its txnName instead of a txnTypeId. Names must be
+ * unique within the request; an unknown or ambiguous name rolls back the load.
+ */
+@Service
+public class ProductConfigurationService {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private BusinessRuleService businessRuleService;
+
+    @Autowired
+    private TransactionTypeService transactionTypeService;
+
+    @Autowired
+    private ChargeService chargeService;
+
+    @Transactional
+    public Optional<ProductConfiguration> load(Long productId, ProductConfiguration configuration) {
+        if (!productRepository.existsById(productId)) {
+            return Optional.empty();
+        }
+        configuration.getTransactionTypes().forEach(txn -> txn.setProductId(productId));
+        configuration.getCharges().forEach(charge -> charge.setProductId(productId));
+
+        List<TransactionType> transactionTypes = transactionTypeService.createTransactionTypes(configuration.getTransactionTypes());
+        linkCharges(configuration.getCharges(), transactionTypes);
+        List<Charge> charges = chargeService.createCharges(configuration.getCharges());
+        return Optional.of(new ProductConfiguration(
+                businessRuleService.createBusinessRules(productId, configuration.getRules()),
+                transactionTypes,
+                charges));
+    }
+
+    private static void linkCharges(List<Charge> charges, List<TransactionType> transactionTypes) {
+        Map<String, Long> idsByName = new HashMap<>();
+        for (TransactionType txn : transactionTypes) {
+            if (idsByName.put(txn.getTxnName(), txn.getTxnTypeId()) != null) {
+                throw new IllegalArgumentException("Duplicate transaction type name: " + txn.getTxnName());
+            }
+        }
+        for (Charge charge : charges) {
+            if (charge.getTxnName() == null) {
+                continue;
+            }
+            Long txnTypeId = idsByName.get(charge.getTxnName());
+            if (txnTypeId == null) {
+                throw new IllegalArgumentException("Charge " + charge.getChargeName()
+                        + " refers to transaction type " + charge.getTxnName() + ", which is not in the configuration");
+            }
+            charge.setTxnTypeId(txnTypeId);
+        }
+    }
+}
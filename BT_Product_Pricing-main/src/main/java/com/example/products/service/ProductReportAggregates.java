@@ -0,0 +1,305 @@
+package com.example.products.service;
+
+import com.example.products.dto.ProductReportRow;
+import com.example.products.dto.ProductReportSummary;
+import com.example.products.entity.Product;
+import com.example.products.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Report counts kept up to date as products are written, so dashboard tiles do
+ * not scan the products table.
+ *
+ * Products are counted per day and month created, per type and per status. Active
+ * products per type are kept as changes per date (+1 on the effective date, -1 the
+ * day after expiry); the count on a date is the sum of the changes up to it, which
+ * costs the number of distinct dates of the type rather than the number of products.
+ *
+ * The counts are loaded from the database on first use. ProductService reports
+ * every write and delete, applied when its transaction commits. The table is
+ * scanned outside the lock, for the first load as for a rebuild, so those commits
+ * never wait for a scan; writes applied during one are replayed onto its result. The status batch
+ * and other instances write around it, so the counts are rebuilt after a batch run
+ * that changed products and every products.reports.aggregates.rebuild-interval.
+ */
+@Component
+public class ProductReportAggregates {
+
+    // Key for products without a type or status
+    public static final String NONE = "none";
+
+    private static final Logger log = LoggerFactory.getLogger(ProductReportAggregates.class);
+
+    private final ProductRepository productRepository;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // Signalled when a scan ends, for readers waiting on the first load
+    private final Condition scanned = lock.newCondition();
+
+    // Null until loaded; guarded by lock
+    private Counts counts;
+
+    // While the table is scanned (first load or rebuild), the last write per product
+    // (null for a delete), applied again to the scanned counts; guarded by lock
+    private Map<Long, Entry> replay;
+
+    public ProductReportAggregates(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    public ProductReportSummary summary(LocalDate date) {
+        load();
+        lock.lock();
+        try {
+            Counts current = counts;
+            Map<String, Long> activeByType = new TreeMap<>();
+            for (String type : current.activeChanges.keySet()) {
+                long active = current.activeOn(date, type);
+                if (active > 0) {
+                    activeByType.put(type, active);
+                }
+            }
+            return new ProductReportSummary(date, current.products.size(),
+                    current.createdByDay.getOrDefault(date, 0L),
+                    current.createdByMonth.getOrDefault(YearMonth.from(date), 0L),
+                    new TreeMap<>(current.byType), new TreeMap<>(current.byStatus), activeByType);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long createdOn(LocalDate day) {
+        load();
+        lock.lock();
+        try {
+            return counts.createdByDay.getOrDefault(day, 0L);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long createdIn(YearMonth month) {
+        load();
+        lock.lock();
+        try {
+            return counts.createdByMonth.getOrDefault(month, 0L);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long activeOn(LocalDate date, String productType) {
+        load();
+        lock.lock();
+        try {
+            return counts.activeOn(date, productType);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onWrite(Product product) {
+        Long id = product.getProductId();
+        Entry entry = new Entry(product.getCreatedAt(), product.getProductType(), product.getStatus(),
+                product.getEffectiveDate(), product.getExpiryDate());
+        afterCommit(() -> apply(id, entry));
+    }
+
+    public void onDelete(Long id) {
+        afterCommit(() -> apply(id, null));
+    }
+
+    /**
+     * Recounts from the database if the counts are loaded. Reads keep using the old
+     * counts until the new ones are ready; writes made meanwhile are applied to both.
+     */
+    public void rebuild() {
+        lock.lock();
+        try {
+            if (counts == null || replay != null) {
+                return;
+            }
+            replay = new LinkedHashMap<>();
+        } finally {
+            lock.unlock();
+        }
+        rescan();
+    }
+
+    @Scheduled(initialDelayString = "${products.reports.aggregates.rebuild-interval:PT1H}",
+            fixedDelayString = "${products.reports.aggregates.rebuild-interval:PT1H}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    private void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    private void apply(Long id, Entry entry) {
+        lock.lock();
+        try {
+            if (counts != null) {
+                counts.put(id, entry);
+            }
+            if (replay != null) {
+                replay.put(id, entry);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Returns once the counts are loaded, scanning the table if no other reader is
+    private void load() {
+        lock.lock();
+        try {
+            while (counts == null && replay != null) {
+                scanned.awaitUninterruptibly();
+            }
+            if (counts != null) {
+                return;
+            }
+            replay = new LinkedHashMap<>();
+        } finally {
+            lock.unlock();
+        }
+        rescan();
+    }
+
+    // Scans outside the lock, then installs the result with the writes made meanwhile;
+    // the caller has set replay. A failed scan keeps the old counts.
+    private void rescan() {
+        Counts rescanned = null;
+        try {
+            rescanned = scan();
+        } finally {
+            lock.lock();
+            try {
+                if (rescanned != null) {
+                    replay.forEach(rescanned::put);
+                    counts = rescanned;
+                }
+                replay = null;
+                scanned.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private Counts scan() {
+        long start = System.nanoTime();
+        Counts scanned = new Counts();
+        for (ProductReportRow row : productRepository.findAllReportRows()) {
+            scanned.put(row.getProductId(), new Entry(row.getCreatedAt(), row.getProductType(), row.getStatus(),
+                    row.getEffectiveDate(), row.getExpiryDate()));
+        }
+        log.info("Report aggregates counted {} products in {} ms", scanned.products.size(),
+                (System.nanoTime() - start) / 1_000_000);
+        return scanned;
+    }
+
+    private static final class Entry {
+
+        final LocalDate createdOn;
+        final String type;
+        final String status;
+        final LocalDate effectiveDate;
+        final LocalDate expiryDate;
+
+        Entry(LocalDateTime createdAt, String type, String status, LocalDate effectiveDate, LocalDate expiryDate) {
+            this.createdOn = createdAt != null ? createdAt.toLocalDate() : null;
+            this.type = type != null ? type : NONE;
+            this.status = status != null ? status : NONE;
+            this.effectiveDate = effectiveDate;
+            this.expiryDate = expiryDate;
+        }
+
+        // Matches the active-products query: effective on or before the date, not expired before it
+        boolean canBeActive() {
+            return effectiveDate != null && (expiryDate == null || !expiryDate.isBefore(effectiveDate));
+        }
+    }
+
+    private static final class Counts {
+
+        final Map<Long, Entry> products = new HashMap<>();
+        final Map<LocalDate, Long> createdByDay = new HashMap<>();
+        final Map<YearMonth, Long> createdByMonth = new HashMap<>();
+        final Map<String, Long> byType = new HashMap<>();
+        final Map<String, Long> byStatus = new HashMap<>();
+        final Map<String, TreeMap<LocalDate, Long>> activeChanges = new HashMap<>();
+
+        // Replaces the product's entry; a null entry removes it
+        void put(Long id, Entry entry) {
+            Entry previous = entry != null ? products.put(id, entry) : products.remove(id);
+            if (previous != null) {
+                count(previous, -1);
+            }
+            if (entry != null) {
+                count(entry, 1);
+            }
+        }
+
+        long activeOn(LocalDate date, String type) {
+            TreeMap<LocalDate, Long> changes = activeChanges.get(type);
+            if (changes == null) {
+                return 0;
+            }
+            long active = 0;
+            for (long change : changes.headMap(date, true).values()) {
+                active += change;
+            }
+            return active;
+        }
+
+        private void count(Entry entry, long delta) {
+            if (entry.createdOn != null) {
+                add(createdByDay, entry.createdOn, delta);
+                add(createdByMonth, YearMonth.from(entry.createdOn), delta);
+            }
+            add(byType, entry.type, delta);
+            add(byStatus, entry.status, delta);
+            if (entry.canBeActive()) {
+                TreeMap<LocalDate, Long> changes = activeChanges.computeIfAbsent(entry.type, t -> new TreeMap<>());
+                add(changes, entry.effectiveDate, delta);
+                if (entry.expiryDate != null) {
+                    add(changes, entry.expiryDate.plusDays(1), -delta);
+                }
+                if (changes.isEmpty()) {
+                    activeChanges.remove(entry.type);
+                }
+            }
+        }
+
+        // Counts that reach zero are removed, so the maps only hold live keys
+        private static <K> void add(Map<K, Long> counts, K key, long delta) {
+            counts.merge(key, delta, (a, b) -> a + b == 0 ? null : a + b);
+        }
+    }
+}
@@ -0,0 +1,530 @@
+package com.example.products.service;
+
+import com.example.products.dto.ProductSuggestion;
+import com.example.products.entity.Product;
+import com.example.products.repository.ProductRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory typeahead index over product names and codes.
+ *
+ * Queries of three or more characters match anywhere in the name or code: the
+ * posting lists of the query's trigrams are intersected and the few survivors are
+ * checked with a plain substring test. Shorter queries match the start of the code
+ * or of any word of the name through a sorted term array. Results are ranked by
+ * how the query matched, then by the length of the matched field, and cut to the
+ * requested limit.
+ *
+ * The index is loaded from the database on first use and ProductService reports
+ * every write and delete, applied once its transaction commits so a rolled back
+ * write never shows up in suggestions. Building the trigram snapshot is too slow to repeat per
+ * write, so changed products are kept in a small overlay that is scanned beside
+ * it; the snapshot is rebuilt once the overlay passes MAX_PENDING products.
+ *
+ * The first load scans the table outside the lock, so commits arriving meanwhile
+ * never wait for it: their changes are recorded and become the overlay of the
+ * scanned snapshot, and searches arriving meanwhile wait for that scan instead of
+ * starting their own. The lock is a ReentrantLock, whose waits do not pin a virtual
+ * thread's carrier as a monitor would.
+ */
+@Component
+public class ProductSearchIndex {
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 50;
+
+    static final int MAX_PENDING = 256;
+
+    private static final int GRAM = 3;
+
+    // Ranks, best first
+    private static final int EXACT_CODE = 0;
+    private static final int EXACT_NAME = 1;
+    private static final int CODE_PREFIX = 2;
+    private static final int NAME_PREFIX = 3;
+    private static final int WORD_PREFIX = 4;
+    private static final int SUBSTRING = 5;
+    private static final int NO_MATCH = 6;
+
+    private final ProductRepository productRepository;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // Signalled when the first scan ends, for searches waiting on it
+    private final Condition scanned = lock.newCondition();
+
+    // Every indexed product by id, for rebuilds; guarded by lock
+    private TreeMap<Long, ProductSuggestion> entries = new TreeMap<>();
+
+    // Null until loaded; replaced, never changed, by writers
+    private volatile View view;
+
+    // While the first load scans the table, the last write per product (null for a
+    // delete), applied to the scanned index; guarded by lock
+    private Map<Long, ProductSuggestion> replay;
+
+    public ProductSearchIndex(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    public static int clampLimit(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(requested, MAX_LIMIT);
+    }
+
+    public List<ProductSuggestion> suggest(String query, int limit) {
+        String q = normalize(query);
+        if (q.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        View current = view;
+        if (current == null) {
+            current = load();
+        }
+        return current.search(q, limit);
+    }
+
+    public void onWrite(Product product) {
+        ProductSuggestion suggestion = ProductSuggestion.from(product);
+        afterCommit(() -> put(suggestion));
+    }
+
+    public void onDelete(Long id) {
+        afterCommit(() -> remove(id));
+    }
+
+    private void put(ProductSuggestion suggestion) {
+        lock.lock();
+        try {
+            if (view != null) {
+                entries.put(suggestion.getProductId(), suggestion);
+                publish(view.with(suggestion.getProductId(), suggestion));
+            } else if (replay != null) {
+                replay.put(suggestion.getProductId(), suggestion);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void remove(Long id) {
+        lock.lock();
+        try {
+            if (view != null) {
+                if (entries.remove(id) != null) {
+                    publish(view.with(id, null));
+                }
+            } else if (replay != null) {
+                replay.put(id, null);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    // Products changed since the snapshot was last built
+    int pendingCount() {
+        View current = view;
+        return current != null ? current.pending.size() : 0;
+    }
+
+    private void publish(View next) {
+        view = next.pending.size() > MAX_PENDING ? new View(snapshotOfEntries(), Map.of()) : next;
+    }
+
+    // Returns the loaded view, scanning the table if no other search is
+    private View load() {
+        lock.lock();
+        try {
+            while (view == null && replay != null) {
+                scanned.awaitUninterruptibly();
+            }
+            if (view != null) {
+                return view;
+            }
+            replay = new HashMap<>();
+        } finally {
+            lock.unlock();
+        }
+
+        // Scanned and indexed outside the lock, so commits meanwhile only record their change
+        TreeMap<Long, ProductSuggestion> loaded = null;
+        Snapshot base = null;
+        try {
+            loaded = new TreeMap<>();
+            for (ProductSuggestion suggestion : productRepository.findAllSuggestions()) {
+                loaded.put(suggestion.getProductId(), suggestion);
+            }
+            base = new Snapshot(loaded.values().toArray(new ProductSuggestion[0]));
+        } finally {
+            lock.lock();
+            try {
+                if (base != null) {
+                    // The writes made during the scan start as the overlay
+                    for (Map.Entry<Long, ProductSuggestion> write : replay.entrySet()) {
+                        if (write.getValue() != null) {
+                            loaded.put(write.getKey(), write.getValue());
+                        } else {
+                            loaded.remove(write.getKey());
+                        }
+                    }
+                    entries = loaded;
+                    publish(new View(base, replay));
+                }
+                replay = null;
+                scanned.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+        return view;
+    }
+
+    private Snapshot snapshotOfEntries() {
+        return new Snapshot(entries.values().toArray(new ProductSuggestion[0]));
+    }
+
+    static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // NO_MATCH when q is in neither field, e.g. a trigram false positive
+    private static int rank(String name, String code, String q) {
+        if (code.equals(q)) {
+            return EXACT_CODE;
+        }
+        if (name.equals(q)) {
+            return EXACT_NAME;
+        }
+        if (code.startsWith(q)) {
+            return CODE_PREFIX;
+        }
+        if (name.startsWith(q)) {
+            return NAME_PREFIX;
+        }
+        boolean found = false;
+        for (int at = name.indexOf(q); at > 0; at = name.indexOf(q, at + 1)) {
+            if (!Character.isLetterOrDigit(name.charAt(at - 1))) {
+                return WORD_PREFIX;
+            }
+            found = true;
+        }
+        return found || code.contains(q) ? SUBSTRING : NO_MATCH;
+    }
+
+    // Orders by rank, then the length of the matched field (so "fd1" puts FD1..FD19
+    // ahead of FD100), then position; the position is the low 32 bits
+    private static long sortKey(int rank, String name, String code, int position) {
+        int length = rank == EXACT_CODE || rank == CODE_PREFIX ? code.length() : name.length();
+        return (long) rank << 56 | (long) Math.min(length, 0xFFFFFF) << 32 | position;
+    }
+
+    /**
+     * A snapshot plus the products written since it was built. Base positions come
+     * first; overlay products are numbered after them.
+     */
+    private static final class View {
+
+        private final Snapshot base;
+        // id -> current entry, or null once deleted
+        private final Map<Long, ProductSuggestion> pending;
+        // Base positions superseded by the pending changes
+        private final BitSet hidden;
+        private final ProductSuggestion[] added;
+        private final String[] addedNames;
+        private final String[] addedCodes;
+
+        View(Snapshot base, Map<Long, ProductSuggestion> pending) {
+            this.base = base;
+            this.pending = pending;
+            this.hidden = new BitSet(base.products.length);
+            List<ProductSuggestion> current = new ArrayList<>(pending.size());
+            pending.forEach((id, suggestion) -> {
+                int position = base.positionOf(id);
+                if (position >= 0) {
+                    hidden.set(position);
+                }
+                if (suggestion != null) {
+                    current.add(suggestion);
+                }
+            });
+            this.added = current.toArray(new ProductSuggestion[0]);
+            this.addedNames = new String[added.length];
+            this.addedCodes = new String[added.length];
+            for (int i = 0; i < added.length; i++) {
+                addedNames[i] = normalize(added[i].getProductName());
+                addedCodes[i] = normalize(added[i].getProductCode());
+            }
+        }
+
+        View with(Long id, ProductSuggestion suggestion) {
+            Map<Long, ProductSuggestion> next = new HashMap<>(pending);
+            next.put(id, suggestion);
+            return new View(base, next);
+        }
+
+        List<ProductSuggestion> search(String q, int limit) {
+            TopMatches best = new TopMatches(limit);
+            base.search(q, hidden, best);
+            // Short queries only match code and word prefixes, as in the term array
+            int worst = q.length() >= GRAM ? SUBSTRING : WORD_PREFIX;
+            for (int i = 0; i < added.length; i++) {
+                int rank = rank(addedNames[i], addedCodes[i], q);
+                if (rank <= worst) {
+                    best.offer(sortKey(rank, addedNames[i], addedCodes[i], base.products.length + i));
+                }
+            }
+
+            long[] keys = best.sorted();
+            List<ProductSuggestion> result = new ArrayList<>(keys.length);
+            for (long key : keys) {
+                int position = (int) key;
+                result.add(position < base.products.length
+                        ? base.products[position]
+                        : added[position - base.products.length]);
+            }
+            return result;
+        }
+    }
+
+    private static final class Snapshot {
+
+        private static final int[] NONE = new int[0];
+
+        // Ascending product id
+        private final ProductSuggestion[] products;
+        private final long[] ids;
+        private final String[] names;
+        private final String[] codes;
+        // trigram -> ascending positions of the products whose name or code contains it
+        private final Map<String, int[]> grams;
+        // code and name words, sorted, each with the position of its product
+        private final String[] terms;
+        private final int[] termProducts;
+
+        Snapshot(ProductSuggestion[] products) {
+            this.products = products;
+            this.ids = new long[products.length];
+            this.names = new String[products.length];
+            this.codes = new String[products.length];
+
+            Map<String, IntList> postings = new HashMap<>();
+            List<String> termList = new ArrayList<>();
+            List<Integer> termOwners = new ArrayList<>();
+            for (int i = 0; i < products.length; i++) {
+                ids[i] = products[i].getProductId();
+                names[i] = normalize(products[i].getProductName());
+                codes[i] = normalize(products[i].getProductCode());
+                addGrams(postings, names[i], i);
+                addGrams(postings, codes[i], i);
+                if (!codes[i].isEmpty()) {
+                    termList.add(codes[i]);
+                    termOwners.add(i);
+                }
+                for (String word : names[i].split("[^\\p{L}\\p{N}]+")) {
+                    if (!word.isEmpty()) {
+                        termList.add(word);
+                        termOwners.add(i);
+                    }
+                }
+            }
+
+            this.grams = new HashMap<>(postings.size() * 2);
+            postings.forEach((gram, list) -> grams.put(gram, list.toArray()));
+
+            Integer[] order = new Integer[termList.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparing(termList::get));
+            this.terms = new String[order.length];
+            this.termProducts = new int[order.length];
+            for (int i = 0; i < order.length; i++) {
+                terms[i] = termList.get(order[i]);
+                termProducts[i] = termOwners.get(order[i]);
+            }
+        }
+
+        private static void addGrams(Map<String, IntList> postings, String text, int position) {
+            for (int i = 0; i + GRAM <= text.length(); i++) {
+                // Positions arrive in ascending order, so a repeat can only be the last one added
+                postings.computeIfAbsent(text.substring(i, i + GRAM), g -> new IntList()).addOnce(position);
+            }
+        }
+
+        int positionOf(long id) {
+            return Arrays.binarySearch(ids, id);
+        }
+
+        void search(String q, BitSet hidden, TopMatches best) {
+            if (q.length() >= GRAM) {
+                for (int position : candidates(q)) {
+                    if (!hidden.get(position)) {
+                        int rank = rank(names[position], codes[position], q);
+                        if (rank <= SUBSTRING) {
+                            best.offer(sortKey(rank, names[position], codes[position], position));
+                        }
+                    }
+                }
+            } else {
+                BitSet seen = new BitSet(products.length);
+                seen.or(hidden);
+                for (int t = firstTermAtLeast(q); t < terms.length && terms[t].startsWith(q); t++) {
+                    int position = termProducts[t];
+                    if (!seen.get(position)) {
+                        seen.set(position);
+                        int rank = rank(names[position], codes[position], q);
+                        best.offer(sortKey(rank, names[position], codes[position], position));
+                    }
+                }
+            }
+        }
+
+        // Positions holding every trigram of q, smallest posting list first
+        private int[] candidates(String q) {
+            int count = q.length() - GRAM + 1;
+            int[][] lists = new int[count][];
+            for (int i = 0; i < count; i++) {
+                lists[i] = grams.getOrDefault(q.substring(i, i + GRAM), NONE);
+                if (lists[i].length == 0) {
+                    return NONE;
+                }
+            }
+            Arrays.sort(lists, Comparator.comparingInt(list -> list.length));
+            int[] result = lists[0];
+            for (int i = 1; i < lists.length && result.length > 0; i++) {
+                result = intersect(result, lists[i]);
+            }
+            return result;
+        }
+
+        private static int[] intersect(int[] small, int[] large) {
+            int[] out = new int[small.length];
+            int n = 0;
+            int from = 0;
+            for (int value : small) {
+                int at = Arrays.binarySearch(large, from, large.length, value);
+                if (at >= 0) {
+                    out[n++] = value;
+                    from = at + 1;
+                } else {
+                    from = -at - 1;
+                }
+            }
+            return Arrays.copyOf(out, n);
+        }
+
+        private int firstTermAtLeast(String q) {
+            int at = Arrays.binarySearch(terms, q);
+            if (at < 0) {
+                return -at - 1;
+            }
+            // Equal terms may repeat; step back to the first
+            while (at > 0 && terms[at - 1].equals(q)) {
+                at--;
+            }
+            return at;
+        }
+    }
+
+    /**
+     * Keeps the smallest {@code limit} keys seen, as a max-heap so the worst kept key
+     * is at the root. Most candidates of a broad query lose to the root and are
+     * rejected with a single comparison.
+     */
+    private static final class TopMatches {
+
+        private final long[] heap;
+        private int size;
+
+        TopMatches(int limit) {
+            this.heap = new long[limit];
+        }
+
+        void offer(long key) {
+            if (size < heap.length) {
+                int i = size++;
+                while (i > 0 && heap[(i - 1) / 2] < key) {
+                    heap[i] = heap[(i - 1) / 2];
+                    i = (i - 1) / 2;
+                }
+                heap[i] = key;
+            } else if (key < heap[0]) {
+                siftDown(key);
+            }
+        }
+
+        private void siftDown(long key) {
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && heap[child + 1] > heap[child]) {
+                    child++;
+                }
+                if (heap[child] <= key) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = key;
+        }
+
+        long[] sorted() {
+            long[] keys = Arrays.copyOf(heap, size);
+            Arrays.sort(keys);
+            return keys;
+        }
+    }
+
+    private static final class IntList {
+
+        private int[] values = new int[4];
+        private int size;
+
+        void addOnce(int value) {
+            if (size > 0 && values[size - 1] == value) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
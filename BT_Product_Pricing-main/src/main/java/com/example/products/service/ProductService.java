@@ -1,15 +1,24 @@
 package com.example.products.service;
 
+import com.example.products.dto.BusinessRuleView;
+import com.example.products.dto.ContentVersion;
+import com.example.products.dto.KeysetPage;
+import com.example.products.dto.ProductReportSummary;
+import com.example.products.dto.ProductSuggestion;
 import com.example.products.entity.Product;
-import com.example.products.repository.BusinessRuleRepository;
 import com.example.products.repository.ProductRepository;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -19,73 +28,204 @@ public class ProductService {
     private ProductRepository productRepository;
 
     @Autowired
-    private BusinessRuleRepository businessRuleRepository;
+    private PricingRuleIndex pricingRuleIndex;
+
+    @Autowired
+    private ProductCatalogCache catalogCache;
+
+    @Autowired
+    private EntityPatcher entityPatcher;
+
+    @Autowired
+    private ProductSearchIndex searchIndex;
+
+    @Autowired
+    private ProductReportAggregates reportAggregates;
 
     // ------------------ Existing CRUD ------------------
 
     public List<Product> getAllProducts() {
-        return productRepository.findAll();
+        return catalogCache.getAll(productRepository::findAll);
     }
 
     public Optional<Product> getProductById(Long id) {
-        return productRepository.findById(id);
+        return catalogCache.getById(id, productRepository::findById);
     }
 
     public Product saveProduct(Product product) {
         product.setCreatedAt(LocalDateTime.now());
         product.setUpdatedAt(LocalDateTime.now());
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        catalogCache.onWrite(saved);
+        searchIndex.onWrite(saved);
+        reportAggregates.onWrite(saved);
+        return saved;
     }
 
+    @Transactional
     public Optional<Product> updateProduct(Long id, Product updatedProduct) {
         return productRepository.findById(id).map(existing -> {
-            updatedProduct.setProductId(id);
-            updatedProduct.setUpdatedAt(LocalDateTime.now());
-            return productRepository.save(updatedProduct);
+            entityPatcher.replace(existing, id, updatedProduct, "productId", "createdAt");
+            return saveChanges(existing);
+        });
+    }
+
+    /**
+     * Applies only the fields present in the patch; a stale "version" fails with an optimistic lock error.
+     */
+    @Transactional
+    public Optional<Product> patchProduct(Long id, JsonNode patch) {
+        return productRepository.findById(id).map(existing -> {
+            entityPatcher.patch(existing, id, patch, "productId", "createdAt", "updatedAt");
+            return saveChanges(existing);
         });
     }
 
+    private Product saveChanges(Product existing) {
+        existing.setUpdatedAt(LocalDateTime.now());
+        // Flush here so a version conflict surfaces before the cache sees the change
+        Product saved = productRepository.saveAndFlush(existing);
+        catalogCache.onWrite(saved);
+        searchIndex.onWrite(saved);
+        reportAggregates.onWrite(saved);
+        return saved;
+    }
+
     public boolean deleteProduct(Long id) {
         if (productRepository.existsById(id)) {
             productRepository.deleteById(id);
+            catalogCache.onDelete(id);
+            searchIndex.onDelete(id);
+            reportAggregates.onDelete(id);
+            pricingRuleIndex.evict(id);
             return true;
         }
         return false;
     }
 
     public List<Product> searchProductsByName(String name) {
-        return productRepository.findByProductNameContainingIgnoreCase(name);
+        return catalogCache.search(name, () -> productRepository.findByProductNameContainingIgnoreCase(name));
+    }
+
+    public List<ProductSuggestion> typeahead(String query, Integer limit) {
+        return searchIndex.suggest(query, ProductSearchIndex.clampLimit(limit));
+    }
+
+    public ContentVersion getCatalogVersion() {
+        return productRepository.findContentVersion();
+    }
+
+    public Map<String, Object> getCatalogCacheStats() {
+        return catalogCache.stats();
     }
 
     // ------------------ New Analytics ------------------
+    // Read-only, so these run on the reporting replica when one is configured (see ReadReplicaConfig)
 
+    @Transactional(readOnly = true)
     public List<Product> getProductsCreatedToday() {
-        return productRepository.findProductsCreatedToday();
+        LocalDate today = LocalDate.now();
+        return getProductsBetween(today, today);
     }
 
+    @Transactional(readOnly = true)
     public List<Product> getProductsCreatedThisMonth() {
-        return productRepository.findProductsCreatedThisMonth();
+        LocalDate today = LocalDate.now();
+        return getProductsBetween(today.withDayOfMonth(1), today.withDayOfMonth(today.lengthOfMonth()));
     }
 
+    // Inclusive dates, queried as the half-open range [start 00:00, end + 1 day 00:00)
+    @Transactional(readOnly = true)
     public List<Product> getProductsBetween(LocalDate start, LocalDate end) {
-        LocalDateTime startTime = start.atStartOfDay();
-        LocalDateTime endTime = end.atTime(23, 59, 59);
-        return productRepository.findProductsCreatedBetween(startTime, endTime);
+        return productRepository.findProductsCreatedBetween(start.atStartOfDay(), end.plusDays(1).atStartOfDay());
     }
 
+    @Transactional(readOnly = true)
     public List<Product> getProductsByUser(String username) {
         return productRepository.findProductsByUser(username);
     }
 
+    @Transactional(readOnly = true)
     public List<Product> getActiveProducts(LocalDate date, String productType) {
         return productRepository.findActiveProducts(date, productType);
     }
 
+    // ------------------ Report Counts ------------------
+    // Kept by ProductReportAggregates as products are written; no table scan per call
+
+    public ProductReportSummary getReportSummary(LocalDate date) {
+        return reportAggregates.summary(date);
+    }
+
+    public long countProductsCreatedToday() {
+        return reportAggregates.createdOn(LocalDate.now());
+    }
+
+    public long countProductsCreatedThisMonth() {
+        return reportAggregates.createdIn(YearMonth.now());
+    }
+
+    public long countActiveProducts(LocalDate date, String productType) {
+        return reportAggregates.activeOn(date, productType);
+    }
+
+    // ------------------ Keyset Pages ------------------
+
+    @Transactional(readOnly = true)
+    public KeysetPage<Product> getProductsPage(Long after, int size) {
+        return page(productRepository.findPageAfter(KeysetPage.cursor(after), PageRequest.ofSize(size)), size);
+    }
+
+    @Transactional(readOnly = true)
+    public KeysetPage<Product> getProductsCreatedTodayPage(Long after, int size) {
+        LocalDate today = LocalDate.now();
+        return getProductsBetweenPage(today, today, after, size);
+    }
+
+    @Transactional(readOnly = true)
+    public KeysetPage<Product> getProductsCreatedThisMonthPage(Long after, int size) {
+        LocalDate today = LocalDate.now();
+        return getProductsBetweenPage(today.withDayOfMonth(1), today.withDayOfMonth(today.lengthOfMonth()), after, size);
+    }
+
+    @Transactional(readOnly = true)
+    public KeysetPage<Product> getProductsBetweenPage(LocalDate start, LocalDate end, Long after, int size) {
+        LocalDateTime startTime = start.atStartOfDay();
+        LocalDateTime endTime = end.plusDays(1).atStartOfDay();
+        return page(productRepository.findPageCreatedBetween(startTime, endTime, KeysetPage.cursor(after), PageRequest.ofSize(size)), size);
+    }
+
+    @Transactional(readOnly = true)
+    public KeysetPage<Product> getProductsByUserPage(String username, Long after, int size) {
+        return page(productRepository.findPageByUser(username, KeysetPage.cursor(after), PageRequest.ofSize(size)), size);
+    }
+
+    @Transactional(readOnly = true)
+    public KeysetPage<Product> getActiveProductsPage(LocalDate date, String productType, Long after, int size) {
+        return page(productRepository.findPageActive(date, productType, KeysetPage.cursor(after), PageRequest.ofSize(size)), size);
+    }
+
+    private KeysetPage<Product> page(List<Product> products, int size) {
+        return KeysetPage.of(products, size, Product::getProductId);
+    }
+
     public BigDecimal getInterestRate(Long productId) {
-        List<BigDecimal> rates = businessRuleRepository.findInterestRateByProductId(productId);
-        if (rates != null && !rates.isEmpty()) {
-            return rates.get(0);  // Return first rate (or implement logic to pick the correct one)
+        return getInterestRate(productId, null, null);
+    }
+
+    /**
+     * Rate of the rule the pricing index picks for the term and amount, or null when no
+     * rule fits. Without a term the lookup is term-agnostic on purpose: it returns the
+     * headline rate (the rule with the lowest minTerm), or zero for a product without
+     * rules. Quotes that also need the customer category go through PricingQuoteService.
+     */
+    public BigDecimal getInterestRate(Long productId, Integer term, BigDecimal amount) {
+        PricingRuleIndex.Snapshot snapshot = pricingRuleIndex.snapshot(productId);
+        if (term != null) {
+            BusinessRuleView rule = snapshot.findRule(term, amount);
+            return rule != null ? rule.getInterestRate() : null;
         }
-        return BigDecimal.ZERO; // or null if no rate found
+        BusinessRuleView headline = snapshot.firstRule();
+        return headline != null ? headline.getInterestRate() : BigDecimal.ZERO;
     }
 }
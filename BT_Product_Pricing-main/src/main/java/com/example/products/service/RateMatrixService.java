@@ -1,8 +1,12 @@
 package com.example.products.service;
 
+import com.example.products.dto.ContentVersion;
+import com.example.products.dto.KeysetPage;
+import com.example.products.dto.RateMatrixView;
 import com.example.products.entity.RateMatrix;
 import com.example.products.repository.RateMatrixRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
@@ -15,31 +19,66 @@ public class RateMatrixService {
     @Autowired
     private RateMatrixRepository rateMatrixRepository;
 
-    public List<RateMatrix> getAllRates() {
-        return rateMatrixRepository.findAll();
+    @Autowired
+    private PricingRuleIndex pricingRuleIndex;
+
+    public List<RateMatrixView> getAllRates() {
+        return rateMatrixRepository.findAllViews();
+    }
+
+    public KeysetPage<RateMatrixView> getRatesPage(Long after, int size) {
+        List<RateMatrixView> rates = rateMatrixRepository.findPageAfter(KeysetPage.cursor(after), PageRequest.ofSize(size));
+        return KeysetPage.of(rates, size, RateMatrixView::getRateId);
     }
 
-    public Optional<RateMatrix> getRateById(Long id) {
-        return rateMatrixRepository.findById(id);
+    public Optional<RateMatrixView> getRateById(Long id) {
+        return rateMatrixRepository.findById(id).map(RateMatrixView::from);
     }
 
-    public List<RateMatrix> getRatesByProductId(Long productId) {
+    public List<RateMatrixView> getRatesByProductId(Long productId) {
         return rateMatrixRepository.findByProduct_ProductId(productId);
     }
 
-    public List<RateMatrix> getRatesByCustomerCategory(String category) {
+    public List<RateMatrixView> getRatesByCustomerCategory(String category) {
         return rateMatrixRepository.findByCustomerCategoryIgnoreCase(category);
     }
 
-    public List<RateMatrix> getActiveRates(LocalDate date) {
-        return rateMatrixRepository.findByEffectiveDateBeforeAndExpiryDateAfter(date, date);
+    public List<RateMatrixView> getActiveRates(LocalDate date) {
+        return rateMatrixRepository.findActiveOn(date);
+    }
+
+    public ContentVersion getRatesVersion() {
+        return rateMatrixRepository.findContentVersion();
+    }
+
+    public ContentVersion getRatesVersionByProductId(Long productId) {
+        return rateMatrixRepository.findContentVersionByProductId(productId);
+    }
+
+    public ContentVersion getRateVersion(Long id) {
+        return rateMatrixRepository.findContentVersionById(id);
     }
 
-    public RateMatrix saveRate(RateMatrix rateMatrix) {
-        return rateMatrixRepository.save(rateMatrix);
+    /**
+     * Rate band of the product and category in force on the date, from the pricing index.
+     */
+    public Optional<RateMatrixView> getRateAsOf(Long productId, String category, LocalDate date) {
+        return Optional.ofNullable(pricingRuleIndex.snapshot(productId).findRateBand(category, date));
+    }
+
+    public RateMatrixView saveRate(RateMatrix rateMatrix) {
+        RateMatrix saved = rateMatrixRepository.save(rateMatrix);
+        pricingRuleIndex.refresh(productIdOf(saved));
+        return RateMatrixView.from(saved);
     }
 
     public void deleteRate(Long id) {
+        Long productId = rateMatrixRepository.findById(id).map(this::productIdOf).orElse(null);
         rateMatrixRepository.deleteById(id);
+        pricingRuleIndex.refresh(productId);
+    }
+
+    private Long productIdOf(RateMatrix rateMatrix) {
+        return rateMatrix.getProduct() != null ? rateMatrix.getProduct().getProductId() : null;
     }
 }
@@ -0,0 +1,92 @@
+package com.example.products.service;
+
+import com.example.products.dto.RateMatrixView;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Rate bands of one product and customer category laid out on the calendar.
+ *
+ * Overlapping bands are resolved once, when the timeline is built, into disjoint
+ * segments each holding the band in force over it (the latest effective one), so a
+ * lookup for any date is a binary search over the segment starts. Null dates are
+ * open bounds.
+ */
+final class RateTimeline {
+
+    static final RateTimeline EMPTY = new RateTimeline(new LocalDate[]{LocalDate.MIN}, new RateMatrixView[1]);
+
+    // Segment i covers [starts[i], starts[i + 1]); bands[i] is null where no band is in force
+    private final LocalDate[] starts;
+    private final RateMatrixView[] bands;
+
+    private RateTimeline(LocalDate[] starts, RateMatrixView[] bands) {
+        this.starts = starts;
+        this.bands = bands;
+    }
+
+    static RateTimeline of(List<RateMatrixView> rates) {
+        if (rates.isEmpty()) {
+            return EMPTY;
+        }
+        // The band in force can only change where one starts or the day after one expires
+        TreeSet<LocalDate> boundaries = new TreeSet<>();
+        boundaries.add(LocalDate.MIN);
+        for (RateMatrixView rate : rates) {
+            if (rate.getEffectiveDate() != null) {
+                boundaries.add(rate.getEffectiveDate());
+            }
+            if (rate.getExpiryDate() != null && rate.getExpiryDate().isBefore(LocalDate.MAX)) {
+                boundaries.add(rate.getExpiryDate().plusDays(1));
+            }
+        }
+
+        List<LocalDate> starts = new ArrayList<>(boundaries.size());
+        List<RateMatrixView> bands = new ArrayList<>(boundaries.size());
+        for (LocalDate boundary : boundaries) {
+            RateMatrixView band = inForce(rates, boundary);
+            if (!bands.isEmpty() && bands.get(bands.size() - 1) == band) {
+                continue;
+            }
+            starts.add(boundary);
+            bands.add(band);
+        }
+        return new RateTimeline(starts.toArray(new LocalDate[0]), bands.toArray(new RateMatrixView[0]));
+    }
+
+    /**
+     * Band in force on the date, or null.
+     */
+    RateMatrixView at(LocalDate date) {
+        int index = Arrays.binarySearch(starts, date);
+        // starts[0] is LocalDate.MIN, so every date falls in some segment
+        return bands[index >= 0 ? index : -index - 2];
+    }
+
+    private static RateMatrixView inForce(List<RateMatrixView> rates, LocalDate date) {
+        RateMatrixView best = null;
+        for (RateMatrixView rate : rates) {
+            if (rate.getEffectiveDate() != null && rate.getEffectiveDate().isAfter(date)) {
+                continue;
+            }
+            if (rate.getExpiryDate() != null && rate.getExpiryDate().isBefore(date)) {
+                continue;
+            }
+            if (best == null || isLater(rate.getEffectiveDate(), best.getEffectiveDate())) {
+                best = rate;
+            }
+        }
+        return best;
+    }
+
+    private static boolean isLater(LocalDate candidate, LocalDate current) {
+        if (candidate == null) {
+            return false;
+        }
+        return current == null || candidate.isAfter(current);
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.products.service;
+
+import com.example.products.entity.BusinessRule;
+import com.example.products.entity.Product;
+import com.example.products.repository.BusinessRuleRepository;
+import com.example.products.repository.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Streams report rows straight from a database cursor to the response.
+ *
+ * Each row is written and detached before the next one is read, so heap use
+ * does not depend on the size of the result. Methods must be called from the
+ * thread that writes the response (e.g. inside a StreamingResponseBody).
+ */
+@Service
+public class ReportExportService {
+
+    public enum Format {
+        NDJSON(MediaType.APPLICATION_NDJSON),
+        CSV(new MediaType("text", "csv", StandardCharsets.UTF_8));
+
+        private final MediaType mediaType;
+
+        Format(MediaType mediaType) {
+            this.mediaType = mediaType;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public static Format from(String value) {
+            return value == null ? NDJSON : Format.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private static final List<String> PRODUCT_COLUMNS = List.of(
+            "productId", "productCode", "productName", "productType", "effectiveDate", "expiryDate",
+            "branch", "currency", "status", "description", "createdAt", "updatedAt");
+
+    private static final List<Function<Product, Object>> PRODUCT_VALUES = List.of(
+            Product::getProductId, Product::getProductCode, Product::getProductName, Product::getProductType,
+            Product::getEffectiveDate, Product::getExpiryDate, Product::getBranch, Product::getCurrency,
+            Product::getStatus, Product::getDescription, Product::getCreatedAt, Product::getUpdatedAt);
+
+    private static final List<String> RULE_COLUMNS = List.of(
+            "ruleId", "productId", "minTerm", "maxTerm", "minAmount", "maxAmount", "interestRate",
+            "compoundingFrequency", "prematureWithdrawalAllowed", "prematurePenaltyRate");
+
+    private static final List<Function<BusinessRule, Object>> RULE_VALUES = List.of(
+            BusinessRule::getRuleId, BusinessRule::getProductId, BusinessRule::getMinTerm, BusinessRule::getMaxTerm,
+            BusinessRule::getMinAmount, BusinessRule::getMaxAmount, BusinessRule::getInterestRate,
+            BusinessRule::getCompoundingFrequency, BusinessRule::getPrematureWithdrawalAllowed,
+            BusinessRule::getPrematurePenaltyRate);
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private BusinessRuleRepository businessRuleRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public void exportProductsBetween(LocalDate start, LocalDate end, Format format, OutputStream out) throws IOException {
+        LocalDateTime startTime = start.atStartOfDay();
+        LocalDateTime endTime = end.plusDays(1).atStartOfDay();
+        try (Stream<Product> rows = productRepository.streamProductsCreatedBetween(startTime, endTime)) {
+            write(rows, format, PRODUCT_COLUMNS, PRODUCT_VALUES, out);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportActiveProducts(LocalDate date, String productType, Format format, OutputStream out) throws IOException {
+        try (Stream<Product> rows = productRepository.streamActiveProducts(date, productType)) {
+            write(rows, format, PRODUCT_COLUMNS, PRODUCT_VALUES, out);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportInterestRateMatrix(Long productId, Format format, OutputStream out) throws IOException {
+        try (Stream<BusinessRule> rows = businessRuleRepository.streamByProductId(productId)) {
+            write(rows, format, RULE_COLUMNS, RULE_VALUES, out);
+        }
+    }
+
+    private <T> void write(Stream<T> rows, Format format, List<String> columns,
+                           List<Function<T, Object>> values, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+        ObjectWriter json = objectMapper.writer();
+        if (format == Format.CSV) {
+            writeCsvLine(writer, columns);
+        }
+        Iterator<T> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            T row = iterator.next();
+            if (format == Format.CSV) {
+                writeCsvLine(writer, values.stream().map(value -> value.apply(row)).toList());
+            } else {
+                writer.write(json.writeValueAsString(row));
+                writer.write('\n');
+            }
+            entityManager.detach(row);
+        }
+        writer.flush();
+    }
+
+    private void writeCsvLine(Writer writer, List<?> fields) throws IOException {
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvField(fields.get(i)));
+        }
+        writer.write("\r\n");
+    }
+
+    private static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
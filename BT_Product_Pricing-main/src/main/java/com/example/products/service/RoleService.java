@@ -1,5 +1,6 @@
 package com.example.products.service;
 
+import com.example.products.dto.RoleView;
 import com.example.products.entity.Role;
 import com.example.products.entity.Product;
 import com.example.products.repository.RoleRepository;
@@ -19,27 +20,27 @@ public class RoleService {
     private ProductRepository productRepository;
 
     // Create role for a product
-    public Role createRole(Long productId, Role role) {
+    public RoleView createRole(Long productId, Role role) {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new RuntimeException("Product not found"));
         role.setProduct(product);
-        return roleRepository.save(role);
+        return RoleView.from(roleRepository.save(role));
     }
 
     // Get roles by product
-    public List<Role> getRolesByProduct(Long productId) {
+    public List<RoleView> getRolesByProduct(Long productId) {
         return roleRepository.findByProductProductId(productId);
     }
 
     // Update role
-    public Role updateRole(Long roleId, Role updatedRole) {
+    public RoleView updateRole(Long roleId, Role updatedRole) {
         Role role = roleRepository.findById(roleId)
                 .orElseThrow(() -> new RuntimeException("Role not found"));
         role.setRoleName(updatedRole.getRoleName());
         role.setRoleDescription(updatedRole.getRoleDescription());
         role.setIsMandatory(updatedRole.getIsMandatory());
         role.setMaxCount(updatedRole.getMaxCount());
-        return roleRepository.save(role);
+        return RoleView.from(roleRepository.save(role));
     }
 
     // Delete role
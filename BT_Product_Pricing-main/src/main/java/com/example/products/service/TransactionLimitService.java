@@ -0,0 +1,350 @@
+package com.example.products.service;
+
+import com.example.products.dto.AuthorizationRequest;
+import com.example.products.dto.AuthorizationResult;
+import com.example.products.entity.TransactionLimitCounter;
+import com.example.products.entity.TransactionType;
+import com.example.products.repository.TransactionTypeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Authorizes transactions against their TransactionType limits: isAllowed, the
+ * per-transaction min and max amounts, and the per-account daily amount and count.
+ * Limits are cached per transaction type and evicted when it is written; a load
+ * that overlaps an eviction is not kept, so it cannot put the old limits back.
+ *
+ * Where daily usage is kept depends on products.limits.counters.mode:
+ *
+ * In persistent mode it is the account's row in txn_limit_counters, shared by every
+ * instance. A check locks the row (SELECT ... FOR UPDATE), checks the limits against
+ * the stored usage and writes the new usage in the same transaction, so concurrent
+ * checks on any number of instances never approve past a limit between them.
+ *
+ * In memory mode it lives in this process, one immutable Usage per account and
+ * transaction type swapped with compare-and-set, so checks never lock and never
+ * touch the database. The first check of a new day replaces the previous day's
+ * usage in the same CAS. Each instance counts on its own and usage is lost on
+ * restart, so memory mode is for a single instance only.
+ */
+@Service
+public class TransactionLimitService {
+
+    public enum Mode { MEMORY, PERSISTENT }
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionLimitService.class);
+
+    private static final String LOCK_USAGE = "SELECT usage_date, used_amount, used_count FROM "
+            + TransactionLimitCounter.TABLE + " WHERE account_id = ? AND txn_type_id = ? FOR UPDATE";
+    // Creates the row to lock on an account's first check; a row created meanwhile is left as it is
+    private static final String INSERT_IF_ABSENT = "INSERT INTO " + TransactionLimitCounter.TABLE
+            + " (account_id, txn_type_id, usage_date, used_amount, used_count) VALUES (?, ?, ?, 0, 0)"
+            + " ON DUPLICATE KEY UPDATE used_count = used_count";
+    private static final String WRITE_USAGE = "UPDATE " + TransactionLimitCounter.TABLE
+            + " SET usage_date = ?, used_amount = ?, used_count = ? WHERE account_id = ? AND txn_type_id = ?";
+
+    // Attempts of a stored check that lost a lock wait or a deadlock to a concurrent first check
+    private static final int STORED_ATTEMPTS = 3;
+
+    // Marks a counter being pruned; a check that finds it starts over on a fresh counter
+    private static final Usage PRUNED = new Usage(LocalDate.MIN, 0, 0);
+
+    private final TransactionTypeRepository transactionTypeRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Mode mode;
+
+    private final Map<Long, Limits> limits = new ConcurrentHashMap<>();
+    private final AtomicLong limitsGeneration = new AtomicLong();
+    private final Map<CounterKey, AtomicReference<Usage>> counters = new ConcurrentHashMap<>();
+    private volatile LocalDate prunedBefore = LocalDate.MIN;
+
+    public TransactionLimitService(TransactionTypeRepository transactionTypeRepository, JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${products.limits.counters.mode:memory}") String mode) {
+        this.transactionTypeRepository = transactionTypeRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.mode = Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Checks the transaction and, if it is within every limit, counts it against the
+     * account's usage for today. Empty when the transaction type does not exist.
+     */
+    public Optional<AuthorizationResult> authorize(Long txnTypeId, AuthorizationRequest request) {
+        return authorize(txnTypeId, request, LocalDate.now());
+    }
+
+    Optional<AuthorizationResult> authorize(Long txnTypeId, AuthorizationRequest request, LocalDate today) {
+        if (request.getAccountId() == null || request.getAccountId().isBlank()) {
+            throw new IllegalArgumentException("accountId is required");
+        }
+        if (request.getAmount() == null || request.getAmount().signum() < 0) {
+            throw new IllegalArgumentException("amount is required and must not be negative");
+        }
+        Limits typeLimits = limitsOf(txnTypeId);
+        if (typeLimits == null) {
+            return Optional.empty();
+        }
+        long amount = ChargeTable.toPaise(request.getAmount());
+        CounterKey key = new CounterKey(request.getAccountId(), txnTypeId);
+        return Optional.of(mode == Mode.PERSISTENT
+                ? authorizeStored(key, request, typeLimits, amount, today)
+                : authorizeInMemory(key, request, typeLimits, amount, today));
+    }
+
+    private AuthorizationResult authorizeStored(CounterKey key, AuthorizationRequest request, Limits typeLimits,
+                                                long amount, LocalDate today) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> {
+                    Usage stored = lockUsage(key);
+                    if (stored == null) {
+                        jdbcTemplate.update(INSERT_IF_ABSENT, key.accountId, key.txnTypeId, Date.valueOf(today));
+                        stored = lockUsage(key);
+                    }
+                    // A row already on a later day (another check passed midnight first) is kept
+                    Usage base = stored.day.isBefore(today) ? new Usage(today, 0, 0) : stored;
+                    String declined = typeLimits.check(base, amount);
+                    if (declined != null) {
+                        return result(key.txnTypeId, request, typeLimits, base, declined);
+                    }
+                    Usage next = new Usage(base.day, base.amount + amount, base.count + 1);
+                    jdbcTemplate.update(WRITE_USAGE, Date.valueOf(next.day), ChargeTable.fromPaise(next.amount),
+                            next.count, key.accountId, key.txnTypeId);
+                    return result(key.txnTypeId, request, typeLimits, next, null);
+                });
+            } catch (PessimisticLockingFailureException e) {
+                if (attempt == STORED_ATTEMPTS) {
+                    throw e;
+                }
+                log.debug("Transaction limit check for {} lost a row lock, retrying", key.accountId, e);
+            }
+        }
+    }
+
+    private Usage lockUsage(CounterKey key) {
+        List<Usage> rows = jdbcTemplate.query(LOCK_USAGE, (rs, i) -> new Usage(rs.getDate(1).toLocalDate(),
+                ChargeTable.toPaise(rs.getBigDecimal(2)), rs.getInt(3)), key.accountId, key.txnTypeId);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    private AuthorizationResult authorizeInMemory(CounterKey key, AuthorizationRequest request, Limits typeLimits,
+                                                  long amount, LocalDate today) {
+        while (true) {
+            AtomicReference<Usage> counter = counters.computeIfAbsent(key, k -> new AtomicReference<>(new Usage(today, 0, 0)));
+            Usage current = counter.get();
+            if (current == PRUNED) {
+                counters.remove(key, counter);
+                continue;
+            }
+            // A counter already on a later day (another thread passed midnight first) is kept
+            Usage base = current.day.isBefore(today) ? new Usage(today, 0, 0) : current;
+            String declined = typeLimits.check(base, amount);
+            if (declined != null) {
+                return result(key.txnTypeId, request, typeLimits, base, declined);
+            }
+            Usage next = new Usage(base.day, base.amount + amount, base.count + 1);
+            if (counter.compareAndSet(current, next)) {
+                return result(key.txnTypeId, request, typeLimits, next, null);
+            }
+        }
+    }
+
+    /**
+     * Drops the cached limits of the transaction types once the current transaction
+     * commits, or now without one.
+     */
+    public void evictAfterCommit(Collection<Long> txnTypeIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(txnTypeIds);
+            return;
+        }
+        List<Long> ids = List.copyOf(txnTypeIds);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(ids);
+            }
+        });
+    }
+
+    private void evict(Collection<Long> txnTypeIds) {
+        limitsGeneration.incrementAndGet();
+        txnTypeIds.forEach(limits::remove);
+    }
+
+    /**
+     * Drops in-memory counters of past days; stored rows are reset by the next check instead.
+     */
+    @Scheduled(fixedDelayString = "${products.limits.counters.prune-interval:PT1M}")
+    public void pruneCounters() {
+        prune(LocalDate.now());
+    }
+
+    void prune(LocalDate today) {
+        if (!prunedBefore.isBefore(today)) {
+            return;
+        }
+        retire(today).run();
+        prunedBefore = today;
+    }
+
+    /**
+     * Marks the counters of days before today PRUNED and returns the step that
+     * removes them. A check that meets a marked counter in between starts over on a new
+     * one, which the removal leaves alone.
+     */
+    Runnable retire(LocalDate today) {
+        Map<CounterKey, AtomicReference<Usage>> retired = new HashMap<>();
+        counters.forEach((key, counter) -> {
+            Usage usage = counter.get();
+            if (usage.day.isBefore(today) && counter.compareAndSet(usage, PRUNED)) {
+                retired.put(key, counter);
+            }
+        });
+        return () -> retired.forEach(counters::remove);
+    }
+
+    private Limits limitsOf(Long txnTypeId) {
+        Limits cached = limits.get(txnTypeId);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = limitsGeneration.get();
+        Limits loaded = transactionTypeRepository.findById(txnTypeId).map(Limits::new).orElse(null);
+        if (loaded == null) {
+            return null;
+        }
+        Limits current = limits.putIfAbsent(txnTypeId, loaded);
+        if (current != null) {
+            return current;
+        }
+        // An eviction since the read may have missed this entry; drop it so the next check reloads
+        if (limitsGeneration.get() != generation) {
+            limits.remove(txnTypeId, loaded);
+        }
+        return loaded;
+    }
+
+    private static AuthorizationResult result(Long txnTypeId, AuthorizationRequest request, Limits limits,
+                                              Usage usage, String declined) {
+        AuthorizationResult result = new AuthorizationResult();
+        result.setApproved(declined == null);
+        result.setReason(declined);
+        result.setTxnTypeId(txnTypeId);
+        result.setAccountId(request.getAccountId());
+        result.setUsedAmount(ChargeTable.fromPaise(usage.amount));
+        result.setUsedCount(usage.count);
+        if (limits.daily >= 0) {
+            result.setRemainingAmount(ChargeTable.fromPaise(Math.max(0, limits.daily - usage.amount)));
+        }
+        if (limits.frequency >= 0) {
+            result.setRemainingCount(Math.max(0, limits.frequency - usage.count));
+        }
+        return result;
+    }
+
+    /**
+     * A transaction type's limits in paise; -1 where there is no limit.
+     */
+    private static final class Limits {
+
+        final boolean allowed;
+        final long min;
+        final long max;
+        final long daily;
+        final int frequency;
+
+        Limits(TransactionType type) {
+            this.allowed = !Boolean.FALSE.equals(type.getIsAllowed());
+            this.min = paiseOrNone(type.getMinAmount());
+            this.max = paiseOrNone(type.getMaxAmount());
+            this.daily = paiseOrNone(type.getDailyLimit());
+            this.frequency = type.getFrequencyLimitPerDay() != null ? type.getFrequencyLimitPerDay() : -1;
+        }
+
+        /**
+         * Why the amount cannot be added to the usage, or null if it can.
+         */
+        String check(Usage usage, long amount) {
+            if (!allowed) {
+                return "transaction type is not allowed";
+            }
+            if (min >= 0 && amount < min) {
+                return "amount is below the minimum";
+            }
+            if (max >= 0 && amount > max) {
+                return "amount is above the maximum";
+            }
+            if (daily >= 0 && usage.amount + amount > daily) {
+                return "daily limit exceeded";
+            }
+            if (frequency >= 0 && usage.count + 1 > frequency) {
+                return "daily transaction count exceeded";
+            }
+            return null;
+        }
+
+        private static long paiseOrNone(BigDecimal amount) {
+            return amount != null ? ChargeTable.toPaise(amount) : -1;
+        }
+    }
+
+    private static final class Usage {
+
+        final LocalDate day;
+        final long amount;
+        final int count;
+
+        Usage(LocalDate day, long amount, int count) {
+            this.day = day;
+            this.amount = amount;
+            this.count = count;
+        }
+    }
+
+    private static final class CounterKey {
+
+        final String accountId;
+        final long txnTypeId;
+
+        CounterKey(String accountId, long txnTypeId) {
+            this.accountId = accountId;
+            this.txnTypeId = txnTypeId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof CounterKey key && txnTypeId == key.txnTypeId && accountId.equals(key.accountId);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * accountId.hashCode() + Long.hashCode(txnTypeId);
+        }
+    }
+}
@@ -2,8 +2,12 @@ package com.example.products.service;
 
 import com.example.products.entity.TransactionType;
 import com.example.products.repository.TransactionTypeRepository;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
 import java.util.List;
 
 @Service
@@ -12,6 +16,15 @@ public class TransactionTypeService {
     @Autowired
     private TransactionTypeRepository repository;
 
+    @Autowired
+    private JpaBatchWriter batchWriter;
+
+    @Autowired
+    private EntityPatcher entityPatcher;
+
+    @Autowired
+    private TransactionLimitService transactionLimitService;
+
     public TransactionType createTransactionType(TransactionType txn) {
         return repository.save(txn);
     }
@@ -20,12 +33,59 @@ public class TransactionTypeService {
         return repository.findByProductId(productId);
     }
 
+    @Transactional
     public TransactionType updateTransactionType(Long id, TransactionType txn) {
-        txn.setTxnTypeId(id);
-        return repository.save(txn);
+        TransactionType existing = findTransactionType(id);
+        entityPatcher.replace(existing, id, txn, "txnTypeId", "createdAt");
+        return saveChanges(existing);
+    }
+
+    /**
+     * Applies only the fields present in the patch; a stale "version" fails with an optimistic lock error.
+     */
+    @Transactional
+    public TransactionType patchTransactionType(Long id, JsonNode patch) {
+        TransactionType existing = findTransactionType(id);
+        entityPatcher.patch(existing, id, patch, "txnTypeId", "createdAt", "updatedAt");
+        return saveChanges(existing);
+    }
+
+    private TransactionType findTransactionType(Long id) {
+        return repository.findById(id)
+                .orElseThrow(() -> new RuntimeException("TransactionType not found with ID: " + id));
+    }
+
+    private TransactionType saveChanges(TransactionType existing) {
+        existing.setUpdatedAt(new Timestamp(System.currentTimeMillis()));
+        TransactionType saved = repository.saveAndFlush(existing);
+        transactionLimitService.evictAfterCommit(List.of(saved.getTxnTypeId()));
+        return saved;
     }
 
     public void deleteTransactionType(Long id) {
         repository.deleteById(id);
+        transactionLimitService.evictAfterCommit(List.of(id));
+    }
+
+    /**
+     * Creates all transaction types in one transaction, inserted in JDBC batches.
+     */
+    @Transactional
+    public List<TransactionType> createTransactionTypes(List<TransactionType> txns) {
+        txns.forEach(txn -> txn.setTxnTypeId(null));
+        return batchWriter.persistAll(txns);
+    }
+
+    /**
+     * Replaces the transaction types identified by their txnTypeId in one transaction,
+     * in JDBC batches. Fails and rolls back everything if any of them does not exist.
+     */
+    @Transactional
+    public List<TransactionType> updateTransactionTypes(List<TransactionType> txns) {
+        List<TransactionType> saved = batchWriter.updateAll(txns, TransactionType::getTxnTypeId, repository::findAllById,
+                (existing, update) -> entityPatcher.replace(existing, existing.getTxnTypeId(), update, "txnTypeId", "createdAt"),
+                "TransactionType");
+        transactionLimitService.evictAfterCommit(saved.stream().map(TransactionType::getTxnTypeId).toList());
+        return saved;
     }
 }
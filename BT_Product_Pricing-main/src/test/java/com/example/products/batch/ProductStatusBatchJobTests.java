@@ -0,0 +1,104 @@
+package com.example.products.batch;
+
+import com.example.products.entity.BatchCheckpoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The run claim on the checkpoint row: a live run of another instance is left alone,
+ * an abandoned one is resumed from its checkpoint, and a finished run releases it;
+ * and a chunk checked in parallel slices changes exactly the rows that need it.
+ */
+@SpringBootTest
+class ProductStatusBatchJobTests {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private ProductStatusBatchJob job;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long expiredId;
+
+    @BeforeEach
+    void seed() {
+        job.run(TODAY);
+        String code = "BATCH-" + System.nanoTime();
+        jdbcTemplate.update("INSERT INTO products (product_code, product_type, status, effective_date, expiry_date, "
+                + "created_at, version) VALUES (?, 'BATCH', 'ACTIVE', ?, ?, ?, 0)", code,
+                Date.valueOf(TODAY.minusYears(1)), Date.valueOf(TODAY.minusDays(1)), Timestamp.valueOf(LocalDateTime.now()));
+        expiredId = jdbcTemplate.queryForObject("SELECT product_id FROM products WHERE product_code = ?", Long.class, code);
+    }
+
+    @Test
+    void leavesARunHeldByAnotherInstanceAlone() {
+        holdRun("other@host", LocalDateTime.now());
+
+        assertThat(job.run(TODAY)).isZero();
+        assertThat(statusOf(expiredId)).isEqualTo("ACTIVE");
+        assertThat(checkpointColumn("owner")).isEqualTo("other@host");
+    }
+
+    @Test
+    void resumesARunItsOwnerAbandoned() {
+        holdRun("other@host", LocalDateTime.now().minusHours(1));
+
+        assertThat(job.run(TODAY)).isEqualTo(1);
+        assertThat(statusOf(expiredId)).isEqualTo("EXPIRED");
+        assertThat(checkpointColumn("status")).isEqualTo(BatchCheckpoint.COMPLETED);
+        assertThat(checkpointColumn("owner")).isNull();
+    }
+
+    @Test
+    void changesEveryRowOfAChunkSplitAcrossSlices() {
+        // One chunk's worth, in turn expired, not yet effective and reactivated
+        String prefix = "SLICE-" + System.nanoTime() + "-";
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 999; i++) {
+            LocalDate effective = i % 3 == 1 ? TODAY.plusDays(1) : TODAY.minusYears(1);
+            LocalDate expiry = i % 3 == 0 ? TODAY.minusDays(1) : TODAY.plusYears(1);
+            rows.add(new Object[]{prefix + i, i % 3 == 2 ? "EXPIRED" : "ACTIVE", Date.valueOf(effective),
+                    Date.valueOf(expiry), Timestamp.valueOf(LocalDateTime.now())});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO products (product_code, product_type, status, effective_date, expiry_date, "
+                + "created_at, version) VALUES (?, 'BATCH', ?, ?, ?, ?, 0)", rows);
+
+        // The seeded product plus 333 expired and 333 reactivated
+        assertThat(job.run(TODAY)).isEqualTo(667);
+        assertThat(jdbcTemplate.queryForList("SELECT status FROM products WHERE product_code LIKE ?"
+                + " ORDER BY product_id", String.class, prefix + "%"))
+                .containsExactlyElementsOf(Stream.iterate(0, i -> i + 1).limit(999)
+                        .map(i -> i % 3 == 0 ? "EXPIRED" : "ACTIVE").toList());
+    }
+
+    // Another instance's run, checkpointed just before the new product
+    private void holdRun(String owner, LocalDateTime lastAdvanced) {
+        jdbcTemplate.update("UPDATE batch_checkpoints SET status = ?, owner = ?, last_processed_id = ?, "
+                        + "rows_updated = 0, updated_at = ? WHERE job_name = ?",
+                BatchCheckpoint.RUNNING, owner, expiredId - 1, Timestamp.valueOf(lastAdvanced), ProductStatusBatchJob.JOB_NAME);
+    }
+
+    private String statusOf(long productId) {
+        return jdbcTemplate.queryForObject("SELECT status FROM products WHERE product_id = ?", String.class, productId);
+    }
+
+    private String checkpointColumn(String column) {
+        return jdbcTemplate.queryForObject("SELECT " + column + " FROM batch_checkpoints WHERE job_name = ?",
+                String.class, ProductStatusBatchJob.JOB_NAME);
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.products.config;
+
+import com.example.products.entity.Product;
+import com.example.products.repository.ProductRepository;
+import com.example.products.service.ProductService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routes between two embedded H2 databases: the usual test database as the primary
+ * and a second one as the replica, given a copy of the primary's schema. The replica
+ * reports its lag from a one-row table, so the test can move it past max-lag.
+ */
+@SpringBootTest(properties = {
+        "products.datasource.replica.url=jdbc:h2:mem:replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1",
+        "products.datasource.replica.username=sa",
+        "products.datasource.replica.password=",
+        "products.datasource.replica.driver-class-name=org.h2.Driver",
+        "products.datasource.replica.max-lag=5s",
+        "products.datasource.replica.lag-query=SELECT seconds_behind FROM replica_lag",
+        "products.datasource.replica.lag-column=seconds_behind",
+        // Checked by the test rather than on a schedule
+        "products.datasource.replica.lag-check-interval=1h",
+        "products.batch.product-status.mode=disabled"})
+class ReadReplicaRoutingTests {
+
+    private static final String BRANCH = "BR-ROUTING";
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    @Qualifier(ReadReplicaConfig.PRIMARY_POOL)
+    private DataSource primary;
+
+    @Autowired
+    @Qualifier(ReadReplicaConfig.REPLICA_POOL)
+    private DataSource replica;
+
+    @BeforeEach
+    void copySchemaToReplica() {
+        JdbcTemplate replicaJdbc = new JdbcTemplate(replica);
+        replicaJdbc.execute("DROP ALL OBJECTS");
+        for (String statement : new JdbcTemplate(primary).queryForList("SCRIPT NODATA", String.class)) {
+            if (!statement.startsWith("CREATE USER")) {
+                replicaJdbc.execute(statement);
+            }
+        }
+        replicaJdbc.execute("CREATE TABLE replica_lag (seconds_behind BIGINT)");
+        replicaJdbc.update("INSERT INTO replica_lag VALUES (0)");
+        routingDataSource.checkLag();
+    }
+
+    @Test
+    void readOnlyWorkGoesToTheReplicaAndWritesToThePrimary() {
+        double replicaReads = connections("replica", "read-only");
+        double primaryWrites = connections("primary", "read-write");
+
+        productService.saveProduct(product("RR-1"));
+        assertThat(connections("primary", "read-write")).isGreaterThan(primaryWrites);
+
+        // Not replicated yet: the read-only report sees the replica's data only
+        assertThat(routingDataSource.isReplicaUsable()).isTrue();
+        assertThat(productService.getProductsByUser(BRANCH)).isEmpty();
+        new JdbcTemplate(replica).update("INSERT INTO products (product_code, product_name, branch, created_at) "
+                + "VALUES ('RR-1', 'Replicated', ?, CURRENT_TIMESTAMP)", BRANCH);
+        assertThat(productService.getProductsByUser(BRANCH)).extracting(Product::getProductName)
+                .containsExactly("Replicated");
+        assertThat(connections("replica", "read-only")).isEqualTo(replicaReads + 2);
+    }
+
+    @Test
+    void repositoryReadsOutsideAServiceTransactionStayOnThePrimary() {
+        Product saved = productService.saveProduct(product("RR-3"));
+        double replicaReads = connections("replica", "read-only");
+
+        assertThat(productRepository.findById(saved.getProductId())).isPresent();
+        assertThat(productRepository.existsById(saved.getProductId())).isTrue();
+        assertThat(connections("replica", "read-only")).isEqualTo(replicaReads);
+    }
+
+    @Test
+    void laggingOrUnreachableReplicaFallsBackToThePrimary() {
+        productService.saveProduct(product("RR-2"));
+        JdbcTemplate replicaJdbc = new JdbcTemplate(replica);
+
+        replicaJdbc.update("UPDATE replica_lag SET seconds_behind = 60");
+        routingDataSource.checkLag();
+        assertThat(routingDataSource.isReplicaUsable()).isFalse();
+        assertThat(routingDataSource.getLagSeconds()).isEqualTo(60);
+        assertThat(meterRegistry.get(ReplicaRoutingDataSource.LAG_METRIC).gauge().value()).isEqualTo(60);
+        double fallbacks = connections("primary", "read-only");
+        assertThat(productService.getProductsBetween(LocalDate.now(), LocalDate.now()))
+                .extracting(Product::getProductCode).contains("RR-2");
+        assertThat(connections("primary", "read-only")).isEqualTo(fallbacks + 1);
+
+        replicaJdbc.update("UPDATE replica_lag SET seconds_behind = 1");
+        routingDataSource.checkLag();
+        assertThat(routingDataSource.isReplicaUsable()).isTrue();
+        assertThat(productService.getProductsBetween(LocalDate.now(), LocalDate.now())).isEmpty();
+
+        // A failing lag query (e.g. replication not configured) is treated as unknown lag
+        replicaJdbc.execute("DROP TABLE replica_lag");
+        routingDataSource.checkLag();
+        assertThat(routingDataSource.isReplicaUsable()).isFalse();
+        assertThat(routingDataSource.getLagSeconds()).isNaN();
+    }
+
+    private static Product product(String code) {
+        Product product = new Product();
+        product.setProductCode(code);
+        product.setProductName("Routed " + code);
+        product.setBranch(BRANCH);
+        return product;
+    }
+
+    private double connections(String pool, String access) {
+        Counter counter = meterRegistry.find(ReplicaRoutingDataSource.CONNECTIONS_METRIC)
+                .tags("pool", pool, "access", access).counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.products.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statements at or above the threshold are logged and counted, faster ones are not,
+ * and no path through the wrappers leads back to an untimed connection or statement.
+ */
+@ExtendWith(OutputCaptureExtension.class)
+class SlowQueryDataSourceTests {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void logsAndCountsStatementsAtOrAboveTheThreshold(CapturedOutput output) throws SQLException {
+        try (Connection connection = dataSource(Duration.ZERO).getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT ? + 1")) {
+            statement.setInt(1, 41);
+            statement.executeQuery().close();
+            statement.setInt(1, 1);
+            statement.executeQuery().close();
+        }
+
+        assertThat(slowCount()).isEqualTo(2);
+        assertThat(output).contains("Slow SQL (").contains("1 binds, executeQuery): SELECT ? + 1");
+    }
+
+    @Test
+    void leavesStatementsUnderTheThresholdAlone(CapturedOutput output) throws SQLException {
+        try (Connection connection = dataSource(Duration.ofHours(1)).getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("SELECT 1");
+        }
+
+        assertThat(slowCount()).isZero();
+        assertThat(output).doesNotContain("Slow SQL");
+    }
+
+    @Test
+    void backReferencesReturnTheWrappers() throws SQLException {
+        try (Connection connection = dataSource(Duration.ZERO).getConnection();
+             Statement statement = connection.createStatement()) {
+            assertThat(statement.getConnection()).isSameAs(connection);
+            assertThat(connection.getMetaData().getConnection()).isSameAs(connection);
+
+            ResultSet resultSet = statement.executeQuery("SELECT 1");
+            assertThat(resultSet.getStatement()).isSameAs(statement);
+            resultSet.close();
+            statement.execute("SELECT 2");
+            assertThat(statement.getResultSet().getStatement()).isSameAs(statement);
+
+            // Executed through the back reference, so still timed
+            resultSet.getStatement().getConnection().createStatement().execute("SELECT 3");
+        }
+
+        assertThat(slowCount()).isEqualTo(3);
+    }
+
+    private SlowQueryDataSource dataSource(Duration threshold) {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:slow-query");
+        return new SlowQueryDataSource(h2, threshold, () -> meterRegistry);
+    }
+
+    private double slowCount() {
+        return meterRegistry.counter(SlowQueryDataSource.SLOW_QUERY_METRIC).count();
+    }
+}
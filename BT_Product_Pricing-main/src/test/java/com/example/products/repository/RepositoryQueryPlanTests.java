@@ -0,0 +1,219 @@
+package com.example.products.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.reflect.Method;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every ProductRepository and RateMatrixRepository query against H2, captures
+ * the SQL Hibernate generates and checks its EXPLAIN plan uses the expected index.
+ * A query rewritten into a shape the index cannot serve (e.g. a function on the
+ * column) turns into a table scan and fails here.
+ */
+@DataJpaTest(showSql = false, properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.example.products.repository.RepositoryQueryPlanTests$SqlCapture")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class RepositoryQueryPlanTests {
+
+    private static final String TABLE_SCAN = "tableScan";
+    private static final String PRIMARY_KEY = "primary_key";
+    private static final String FK_PRODUCT_INDEX = "fk_rate_product_index";
+
+    // Known scans, kept explicit so new ones are a conscious decision
+    private static final Set<String> ALLOWED_SCANS = Set.of(
+            "ProductRepository.findByProductNameContainingIgnoreCase",   // LIKE '%x%'
+            "ProductRepository.findAll",
+            "ProductRepository.findAllSuggestions",
+            "ProductRepository.findContentVersion",                     // whole-table aggregate
+            "ProductRepository.findAllReportRows",                      // report aggregates (re)build
+            "RateMatrixRepository.findAll",
+            "RateMatrixRepository.findAllViews",
+            "RateMatrixRepository.findContentVersion");
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 10, 15);
+    private static final LocalDateTime NOW = TODAY.atTime(10, 0);
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private RateMatrixRepository rateMatrixRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        List<Object[]> products = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            LocalDate effective = TODAY.minusDays(i % 400);
+            products.add(new Object[]{"P" + i, "Product " + i, "TYPE" + (i % 20), Date.valueOf(effective),
+                    i % 3 == 0 ? null : Date.valueOf(effective.plusYears(1)), "BR" + (i % 50), "INR", "ACTIVE",
+                    Timestamp.valueOf(NOW.minusHours(i))});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO products (product_code, product_name, product_type, effective_date, "
+                + "expiry_date, branch, currency, status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", products);
+
+        Long firstProductId = jdbcTemplate.queryForObject("SELECT MIN(product_id) FROM products", Long.class);
+        List<Object[]> rates = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            LocalDate effective = TODAY.minusDays(i % 400);
+            rates.add(new Object[]{firstProductId + (i % 2_000), "CAT" + (i % 25), 6.5, 7.0, 6.0,
+                    Date.valueOf(effective), Date.valueOf(effective.plusDays(90))});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO rate_matrix (product_id, customer_category, base_interest_rate, "
+                + "max_interest_rate, min_interest_rate, effective_date, expiry_date) VALUES (?, ?, ?, ?, ?, ?, ?)", rates);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    static Stream<Arguments> queries() {
+        return Stream.of(
+                query("ProductRepository.findById", PRIMARY_KEY,
+                        (ProductRepository r) -> r.findById(1L)),
+                query("ProductRepository.findAll", TABLE_SCAN,
+                        (ProductRepository r) -> r.findAll()),
+                // ORDER BY the id walks the primary key rather than scanning and sorting
+                query("ProductRepository.findAllSuggestions", PRIMARY_KEY,
+                        (ProductRepository r) -> r.findAllSuggestions()),
+                query("ProductRepository.findContentVersion", TABLE_SCAN,
+                        (ProductRepository r) -> r.findContentVersion()),
+                query("ProductRepository.findByProductNameContainingIgnoreCase", TABLE_SCAN,
+                        (ProductRepository r) -> r.findByProductNameContainingIgnoreCase("duct 1")),
+                query("ProductRepository.findProductsCreatedBetween", "idx_products_created_at",
+                        (ProductRepository r) -> r.findProductsCreatedBetween(NOW.minusDays(1), NOW)),
+                query("ProductRepository.findProductsByUser", "idx_products_branch",
+                        (ProductRepository r) -> r.findProductsByUser("BR1")),
+                query("ProductRepository.findActiveProducts", "idx_products_type_dates",
+                        (ProductRepository r) -> r.findActiveProducts(TODAY, "TYPE1")),
+                query("ProductRepository.findPageAfter", PRIMARY_KEY,
+                        (ProductRepository r) -> r.findPageAfter(100L, PageRequest.ofSize(50))),
+                // A keyset page is read in id order from the cursor, filtering on created_at as it goes
+                query("ProductRepository.findPageCreatedBetween", PRIMARY_KEY,
+                        (ProductRepository r) -> r.findPageCreatedBetween(NOW.minusDays(1), NOW, 0L, PageRequest.ofSize(50))),
+                query("ProductRepository.findPageByUser", "idx_products_branch",
+                        (ProductRepository r) -> r.findPageByUser("BR1", 0L, PageRequest.ofSize(50))),
+                query("ProductRepository.findPageActive", "idx_products_type_dates",
+                        (ProductRepository r) -> r.findPageActive(TODAY, "TYPE1", 0L, PageRequest.ofSize(50))),
+                query("ProductRepository.streamProductsCreatedBetween", "idx_products_created_at",
+                        (ProductRepository r) -> drain(r.streamProductsCreatedBetween(NOW.minusDays(1), NOW))),
+                query("ProductRepository.streamActiveProducts", "idx_products_type_dates",
+                        (ProductRepository r) -> drain(r.streamActiveProducts(TODAY, "TYPE1"))),
+                query("ProductRepository.findAllReportRows", TABLE_SCAN,
+                        (ProductRepository r) -> r.findAllReportRows()),
+                query("ProductRepository.findValidityChunk", PRIMARY_KEY,
+                        (ProductRepository r) -> r.findValidityChunk(100L, PageRequest.ofSize(50))),
+                query("ProductRepository.updateStatus", PRIMARY_KEY,
+                        (ProductRepository r) -> r.updateStatus(List.of(1L, 2L, 3L), "ACTIVE", NOW)),
+
+                rateQuery("RateMatrixRepository.findById", PRIMARY_KEY,
+                        r -> r.findById(1L)),
+                rateQuery("RateMatrixRepository.findAll", TABLE_SCAN,
+                        r -> r.findAll()),
+                rateQuery("RateMatrixRepository.findAllViews", PRIMARY_KEY,
+                        r -> r.findAllViews()),
+                // H2 backs the product FK with its own index on product_id, where MySQL reuses the
+                // leftmost column of idx_rate_matrix_product_category
+                rateQuery("RateMatrixRepository.findByProduct_ProductId", FK_PRODUCT_INDEX,
+                        r -> r.findByProduct_ProductId(1L)),
+                rateQuery("RateMatrixRepository.findByProductIdIn", FK_PRODUCT_INDEX,
+                        r -> r.findByProductIdIn(List.of(1L, 2L, 3L))),
+                rateQuery("RateMatrixRepository.findContentVersion", TABLE_SCAN,
+                        r -> r.findContentVersion()),
+                rateQuery("RateMatrixRepository.findContentVersionByProductId", FK_PRODUCT_INDEX,
+                        r -> r.findContentVersionByProductId(1L)),
+                rateQuery("RateMatrixRepository.findContentVersionById", PRIMARY_KEY,
+                        r -> r.findContentVersionById(1L)),
+                rateQuery("RateMatrixRepository.findByCustomerCategoryIgnoreCase", "idx_rate_matrix_category",
+                        r -> r.findByCustomerCategoryIgnoreCase("cat1")),
+                rateQuery("RateMatrixRepository.findActiveOn", "idx_rate_matrix_dates",
+                        r -> r.findActiveOn(TODAY.minusDays(30))),
+                rateQuery("RateMatrixRepository.findPageAfter", PRIMARY_KEY,
+                        r -> r.findPageAfter(100L, PageRequest.ofSize(50))));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("queries")
+    void queryUsesExpectedIndex(String name, String expectedIndex, Consumer<RepositoryQueryPlanTests> call) {
+        SqlCapture.STATEMENTS.clear();
+        call.accept(this);
+        assertThat(SqlCapture.STATEMENTS).as("SQL issued by %s", name).isNotEmpty();
+
+        for (String sql : SqlCapture.STATEMENTS) {
+            String plan = explain(sql);
+            assertThat(plan).as("plan of %s uses %s", name, expectedIndex).containsIgnoringCase(expectedIndex);
+            if (!ALLOWED_SCANS.contains(name)) {
+                assertThat(plan).as("plan of %s", name).doesNotContain(TABLE_SCAN);
+            }
+        }
+    }
+
+    @Test
+    void everyDeclaredQueryHasAPlanCheck() {
+        Set<String> checked = queries().map(args -> (String) args.get()[0]).collect(Collectors.toSet());
+        Set<String> declared = new TreeSet<>();
+        for (Class<?> repository : List.of(ProductRepository.class, RateMatrixRepository.class)) {
+            for (Method method : repository.getDeclaredMethods()) {
+                declared.add(repository.getSimpleName() + "." + method.getName());
+            }
+        }
+        assertThat(checked).containsAll(declared);
+    }
+
+    private String explain(String sql) {
+        // H2 plans at prepare time, so the unbound parameters are left as nulls
+        int parameters = (int) sql.chars().filter(c -> c == '?').count();
+        Object[] nulls = new Object[parameters];
+        return jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, nulls).get(0);
+    }
+
+    private static Arguments query(String name, String expectedIndex, Consumer<ProductRepository> call) {
+        Consumer<RepositoryQueryPlanTests> invocation = test -> call.accept(test.productRepository);
+        return Arguments.of(name, expectedIndex, invocation);
+    }
+
+    private static Arguments rateQuery(String name, String expectedIndex, Consumer<RateMatrixRepository> call) {
+        Consumer<RepositoryQueryPlanTests> invocation = test -> call.accept(test.rateMatrixRepository);
+        return Arguments.of(name, expectedIndex, invocation);
+    }
+
+    private static void drain(Stream<?> stream) {
+        try (stream) {
+            stream.forEach(row -> { });
+        }
+    }
+
+    public static class SqlCapture implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.products.service;
+
+import com.example.products.dto.BulkQuoteItem;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bad items in the middle of a bulk request are reported in place and reading goes
+ * on, for NDJSON and for JSON arrays.
+ */
+class BulkItemReaderTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void ndjsonKeepsReadingPastMalformedAndInvalidLines() throws IOException {
+        List<BulkItemReader.Item<BulkQuoteItem>> items = readAll("""
+                {"productId": 1, "amount": 1000, "term": 90}
+                {"productId": 2, "amount": 
+                
+                {"productId": 3, "amount": "lots", "term": 90}
+                [1, 2]
+                {"productId": 4, "amount": 2500.50, "term": 365}
+                """);
+
+        assertThat(items).hasSize(5);
+        assertThat(items.get(0).value.getProductId()).isEqualTo(1L);
+        assertThat(items.get(1).error).startsWith("malformed JSON");
+        assertThat(items.get(2).error).startsWith("invalid item").contains("BigDecimal");
+        assertThat(items.get(3).error).startsWith("invalid item");
+        assertThat(items.get(4).value.getAmount()).isEqualByComparingTo("2500.50");
+    }
+
+    @Test
+    void arrayKeepsReadingPastItemsThatDoNotBind() throws IOException {
+        List<BulkItemReader.Item<BulkQuoteItem>> items = readAll("""
+                  [{"productId": 1, "amount": 1000, "term": 90},
+                   {"productId": 2, "term": "ninety"},
+                   "not an item",
+                   {"productId": 3, "amount": 10, "term": 30}]
+                """);
+
+        assertThat(items).extracting(item -> item.error == null)
+                .containsExactly(true, false, false, true);
+        assertThat(items.get(3).value.getProductId()).isEqualTo(3L);
+    }
+
+    @Test
+    void syntaxErrorInAnArrayEndsWithAnErrorItem() throws IOException {
+        List<BulkItemReader.Item<BulkQuoteItem>> items = readAll(
+                "[{\"productId\": 1, \"amount\": 1000, \"term\": 90}, {\"productId\": 2,, }, {\"productId\": 3}]");
+
+        assertThat(items).hasSize(2);
+        assertThat(items.get(0).value.getProductId()).isEqualTo(1L);
+        assertThat(items.get(1).error).startsWith("malformed JSON, rest of the array ignored");
+    }
+
+    @Test
+    void emptyBodiesHaveNoItems() throws IOException {
+        assertThat(readAll("")).isEmpty();
+        assertThat(readAll("  \n ")).isEmpty();
+        assertThat(readAll("[]")).isEmpty();
+    }
+
+    private List<BulkItemReader.Item<BulkQuoteItem>> readAll(String body) throws IOException {
+        List<BulkItemReader.Item<BulkQuoteItem>> items = new ArrayList<>();
+        try (BulkItemReader<BulkQuoteItem> reader = new BulkItemReader<>(objectMapper, BulkQuoteItem.class,
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)))) {
+            BulkItemReader.Item<BulkQuoteItem> item;
+            while ((item = reader.next()) != null) {
+                items.add(item);
+            }
+        }
+        return items;
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.products.service;
+
+import com.example.products.entity.Charge;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Paise and parts-per-million arithmetic of compiled charges: half-up rounding,
+ * thresholds, the BigDecimal fallback on overflow, and which charges are compiled.
+ */
+class ChargeTableTests {
+
+    @ParameterizedTest
+    @CsvSource({
+            "0,          0",
+            "10.004,     1000",
+            "10.005,     1001",
+            "10.0049,    1000",
+            "99999.995,  10000000",
+    })
+    void amountsRoundHalfUpToPaise(BigDecimal amount, long paise) {
+        assertThat(ChargeTable.toPaise(amount)).isEqualTo(paise);
+        assertThat(ChargeTable.fromPaise(paise)).isEqualByComparingTo(amount.setScale(2, RoundingMode.HALF_UP));
+    }
+
+    @Test
+    void amountsPastALongOfPaiseAreRejected() {
+        assertThatThrownBy(() -> ChargeTable.toPaise(new BigDecimal("100000000000000000")))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            // rate %, amount paise, charge paise
+            "0.125,    100000,  125",
+            "0.3333,   10000,   33",
+            "0.5,      100,     1",      // 0.5 paise rounds up
+            "0.5,      99,      0",      // 0.495 paise rounds down
+            "1.23456,  1000000, 12346",  // rate rounds to 12346 ppm
+            "100,      12345,   12345",
+    })
+    void percentagesRoundHalfUpToPaise(BigDecimal rate, long amountPaise, long chargePaise) {
+        assertThat(only(charge("Percentage", rate, null, null)).amountOn(amountPaise)).isEqualTo(chargePaise);
+    }
+
+    @Test
+    void overflowingProductsFallBackToBigDecimal() {
+        ChargeTable.CompiledCharge charge = only(charge("Percentage", new BigDecimal("12.3456"), null, null));
+        for (long amountPaise : new long[]{Long.MAX_VALUE / 123_456 + 1, 1_000_000_000_000_000L, Long.MAX_VALUE}) {
+            long expected = BigDecimal.valueOf(amountPaise).multiply(new BigDecimal("0.123456"))
+                    .setScale(0, RoundingMode.HALF_UP).longValueExact();
+            assertThat(charge.amountOn(amountPaise)).as("%d paise", amountPaise).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void flatChargesApplyOnlyAboveTheirThreshold() {
+        ChargeTable.CompiledCharge charge = only(charge("Flat", new BigDecimal("25.50"), new BigDecimal("1000"), null));
+        assertThat(charge.appliesTo(100_000)).isFalse();
+        assertThat(charge.appliesTo(100_001)).isTrue();
+        assertThat(charge.amountOn(100_001)).isEqualTo(2550);
+
+        ChargeTable.CompiledCharge always = only(charge("FLAT", new BigDecimal("5"), null, null));
+        assertThat(always.appliesTo(0)).isTrue();
+    }
+
+    @Test
+    void compilesOnlyPerTransactionChargesOfKnownTypes() {
+        ChargeTable table = ChargeTable.compile(List.of(
+                named("no frequency", charge("Flat", BigDecimal.ONE, null, null)),
+                named("on withdrawal", charge("Percentage", BigDecimal.ONE, null, "On Withdrawal")),
+                named("per transaction", charge("Flat", BigDecimal.ONE, null, "per transaction")),
+                named("annual", charge("Percentage", BigDecimal.TEN, null, "Annual")),
+                named("monthly", charge("Flat", BigDecimal.TEN, null, "Monthly")),
+                named("one-time", charge("Flat", BigDecimal.TEN, null, "One-time")),
+                named("slab", charge("Slab", BigDecimal.ONE, null, null)),
+                named("no rate", charge("Flat", null, null, null))));
+
+        assertThat(names(table.chargesFor(null)))
+                .containsExactly("no frequency", "on withdrawal", "per transaction");
+        assertThat(ChargeTable.compile(List.of(charge("Flat", BigDecimal.ONE, null, "Annual"))))
+                .isSameAs(ChargeTable.EMPTY);
+    }
+
+    @Test
+    void typeSpecificChargesComeWithTheProductWideOnes() {
+        Charge common = named("common", charge("Flat", BigDecimal.ONE, null, null));
+        Charge withdrawal = named("withdrawal", charge("Flat", BigDecimal.ONE, null, null));
+        withdrawal.setTxnTypeId(7L);
+        ChargeTable table = ChargeTable.compile(List.of(common, withdrawal));
+
+        assertThat(names(table.chargesFor(7L))).containsExactly("withdrawal", "common");
+        assertThat(names(table.chargesFor(8L))).containsExactly("common");
+        assertThat(names(table.chargesFor(null))).containsExactly("common");
+    }
+
+    private static ChargeTable.CompiledCharge only(Charge charge) {
+        ChargeTable.CompiledCharge[] compiled = ChargeTable.compile(List.of(charge)).chargesFor(null);
+        assertThat(compiled).hasSize(1);
+        return compiled[0];
+    }
+
+    private static List<String> names(ChargeTable.CompiledCharge[] charges) {
+        return Arrays.stream(charges).map(charge -> charge.chargeName).toList();
+    }
+
+    private static Charge named(String name, Charge charge) {
+        charge.setChargeName(name);
+        return charge;
+    }
+
+    private static Charge charge(String calculationType, BigDecimal rate, BigDecimal threshold, String frequency) {
+        Charge charge = new Charge();
+        charge.setProductId(1L);
+        charge.setChargeName(calculationType);
+        charge.setCalculationType(calculationType);
+        charge.setRate(rate);
+        charge.setThresholdAmount(threshold);
+        charge.setFrequency(frequency);
+        return charge;
+    }
+}
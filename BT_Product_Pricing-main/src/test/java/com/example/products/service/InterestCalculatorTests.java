@@ -0,0 +1,119 @@
+package com.example.products.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the fixed-point projections against a straightforward BigDecimal
+ * implementation of the same rules: every period's interest rounded half up to the
+ * paisa, simple interest for the days after the last full period.
+ */
+class InterestCalculatorTests {
+
+    private static final List<String> FREQUENCIES = List.of("Monthly", "Quarterly", "Half-Yearly", "Annually", "At Maturity");
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+    private static final BigDecimal DAYS_PER_YEAR = BigDecimal.valueOf(365);
+
+    @Test
+    void matchesBigDecimalReferenceToThePaisa() {
+        Random random = new Random(20251015);
+        for (int i = 0; i < 20_000; i++) {
+            BigDecimal principal = BigDecimal.valueOf(random.nextLong(100_000, 10_000_000_000L), 2);
+            // Mostly two-decimal rates as stored, some with the full four decimals a ppm rate keeps
+            BigDecimal rate = random.nextInt(5) == 0
+                    ? BigDecimal.valueOf(random.nextInt(150_001), 4)
+                    : BigDecimal.valueOf(random.nextInt(1_501), 2);
+            int term = 1 + random.nextInt(3_650);
+            String frequency = FREQUENCIES.get(random.nextInt(FREQUENCIES.size()));
+
+            assertMatchesReference(principal, rate, term, frequency);
+        }
+    }
+
+    @Test
+    void matchesReferenceWhenIntermediateProductsOverflowALong() {
+        // 10^15 rupees at 15%: balance in paise times rate in ppm is far beyond Long.MAX_VALUE
+        BigDecimal principal = new BigDecimal("1000000000000000.00");
+        for (String frequency : FREQUENCIES) {
+            assertMatchesReference(principal, new BigDecimal("15.00"), 3_650, frequency);
+            assertMatchesReference(principal, new BigDecimal("7.1234"), 400, frequency);
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            // principal, rate, term, frequency, expected maturity
+            "1.00, 0.50, 365, Annually, 1.01",        // 0.005 rounds half up
+            "1.00, 0.49, 365, Annually, 1.00",        // 0.0049 rounds down
+            "100000.00, 6.50, 365, Quarterly, 106660.16",   // 1625.00, 1651.41, 1678.24, 1705.51
+            "100000.00, 6.50, 400, Quarterly, 107324.96",   // then 35 days simple: 664.80
+            "100000.00, 7.00, 90, At Maturity, 101726.03",
+            "50000.00, 0.00, 730, Monthly, 50000.00"
+    })
+    void knownValues(BigDecimal principal, BigDecimal rate, int term, String frequency, BigDecimal expected) {
+        assertThat(project(principal, rate, term, frequency)).isEqualTo(expected);
+        assertMatchesReference(principal, rate, term, frequency);
+    }
+
+    @Test
+    void scheduleAddsUpToTheMaturity() {
+        long principal = 12_345_678;
+        long ratePpm = InterestCalculator.ratePpm(new BigDecimal("7.25"));
+        long[] credited = new long[1];
+        int[] days = new int[1];
+        long maturity = InterestCalculator.maturity(principal, ratePpm, 1_000, 4, (endDay, periodDays, interest, balance) -> {
+            credited[0] += interest;
+            days[0] += periodDays;
+            assertThat(balance).isEqualTo(principal + credited[0]);
+        });
+
+        assertThat(days[0]).isEqualTo(1_000);
+        assertThat(maturity).isEqualTo(principal + credited[0]);
+    }
+
+    @Test
+    void compoundingFrequencies() {
+        assertThat(InterestCalculator.periodsPerYear("Monthly")).isEqualTo(12);
+        assertThat(InterestCalculator.periodsPerYear("QUARTERLY")).isEqualTo(4);
+        assertThat(InterestCalculator.periodsPerYear("Half-Yearly")).isEqualTo(2);
+        assertThat(InterestCalculator.periodsPerYear(" annually ")).isEqualTo(1);
+        assertThat(InterestCalculator.periodsPerYear("At Maturity")).isZero();
+        assertThat(InterestCalculator.periodsPerYear(null)).isZero();
+    }
+
+    private static void assertMatchesReference(BigDecimal principal, BigDecimal rate, int term, String frequency) {
+        assertThat(project(principal, rate, term, frequency))
+                .as("%s at %s%% for %d days, %s", principal, rate, term, frequency)
+                .isEqualTo(reference(principal, rate, term, InterestCalculator.periodsPerYear(frequency)));
+    }
+
+    private static BigDecimal project(BigDecimal principal, BigDecimal rate, int term, String frequency) {
+        long maturity = InterestCalculator.maturity(ChargeTable.toPaise(principal), InterestCalculator.ratePpm(rate),
+                term, InterestCalculator.periodsPerYear(frequency));
+        return ChargeTable.fromPaise(maturity);
+    }
+
+    private static BigDecimal reference(BigDecimal principal, BigDecimal rate, int term, int periodsPerYear) {
+        BigDecimal balance = principal.setScale(2, RoundingMode.HALF_UP);
+        int day = 0;
+        if (periodsPerYear > 0) {
+            BigDecimal divisor = HUNDRED.multiply(BigDecimal.valueOf(periodsPerYear));
+            int periods = term * periodsPerYear / 365;
+            for (int k = 1; k <= periods; k++) {
+                balance = balance.add(balance.multiply(rate).divide(divisor, 2, RoundingMode.HALF_UP));
+                day = k * 365 / periodsPerYear;
+            }
+        }
+        BigDecimal days = BigDecimal.valueOf(term - day);
+        return balance.add(balance.multiply(rate).multiply(days)
+                .divide(HUNDRED.multiply(DAYS_PER_YEAR), 2, RoundingMode.HALF_UP));
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.products.service;
+
+import com.example.products.dto.PortfolioProjection;
+import com.example.products.dto.ProjectionRequest;
+import com.example.products.entity.BusinessRule;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Portfolio projection loads each product's pricing snapshot once, before the
+ * portfolio is split into fork/join slices.
+ */
+class InterestProjectionServiceTests {
+
+    @Test
+    void portfolioLoadsEachProductOnceBeforeForking() {
+        PricingRuleIndex index = mock(PricingRuleIndex.class);
+        for (long productId = 1; productId <= 3; productId++) {
+            BusinessRule rule = new BusinessRule();
+            rule.setRuleId(productId);
+            rule.setInterestRate(new BigDecimal("7.00"));
+            rule.setCompoundingFrequency("Quarterly");
+            when(index.snapshot(productId)).thenReturn(new PricingRuleIndex.Snapshot(List.of(rule), List.of(), List.of()));
+        }
+        InterestProjectionService service = new InterestProjectionService();
+        ReflectionTestUtils.setField(service, "pricingRuleIndex", index);
+
+        // Several fork/join leaves, each with deposits of every product
+        List<ProjectionRequest> deposits = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            ProjectionRequest deposit = new ProjectionRequest();
+            deposit.setProductId(1L + i % 3);
+            deposit.setAmount(new BigDecimal("10000"));
+            deposit.setTerm(365);
+            deposits.add(deposit);
+        }
+        PortfolioProjection portfolio = service.projectPortfolio(deposits);
+
+        assertThat(portfolio.getResults()).hasSize(5_000).allSatisfy(result -> assertThat(result.getError()).isNull());
+        assertThat(portfolio.getTotalPrincipal()).isEqualByComparingTo("50000000.00");
+        for (long productId = 1; productId <= 3; productId++) {
+            verify(index, times(1)).snapshot(productId);
+        }
+        verifyNoMoreInteractions(index);
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.products.service;
+
+import com.example.products.dto.BusinessRuleView;
+import com.example.products.entity.BusinessRule;
+import com.example.products.repository.BusinessRuleRepository;
+import com.example.products.repository.ChargeRepository;
+import com.example.products.repository.RateMatrixRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Rule selection by term and amount: inclusive bounds, open (null) bounds, the most
+ * specific rule winning and falling back past rules whose amount range does not fit;
+ * snapshots holding copies of the entities, and a first load that overlapped an
+ * eviction not being kept.
+ */
+class PricingRuleIndexTests {
+
+    // Terms in days, amounts in rupees; rate identifies the rule
+    private static final PricingRuleIndex.Snapshot SNAPSHOT = new PricingRuleIndex.Snapshot(List.of(
+            rule(null, 90, null, null, "5.00"),               // up to 90 days, any amount
+            rule(91, 365, "10000", "999999.99", "6.00"),
+            rule(91, 365, "1000000", null, "6.25"),            // same terms, large deposits
+            rule(180, 365, "10000", "499999.99", "6.50"),      // more specific, smaller amounts only
+            rule(731, null, null, null, "7.00")), List.of(), List.of());
+
+    @ParameterizedTest
+    @CsvSource({
+            "0,      500,        5.00",
+            "90,     500,        5.00",
+            "91,     10000,      6.00",
+            "91,     9999.99,    ",
+            "179,    999999.99,  6.00",
+            "180,    10000,      6.50",
+            "180,    499999.99,  6.50",
+            "180,    500000,     6.00",
+            "365,    1000000,    6.25",
+            "365,    999999.995, ",
+            "366,    50000,      ",
+            "730,    50000,      ",
+            "731,    1,          7.00",
+            "36500,  1,          7.00",
+    })
+    void picksTheMostSpecificRuleContainingTermAndAmount(int term, BigDecimal amount, BigDecimal expectedRate) {
+        BusinessRuleView rule = SNAPSHOT.findRule(term, amount);
+        if (expectedRate == null) {
+            assertThat(rule).isNull();
+        } else {
+            assertThat(rule).isNotNull();
+            assertThat(rule.getInterestRate()).isEqualByComparingTo(expectedRate);
+        }
+    }
+
+    @Test
+    void nullAmountMatchesOnTermAlone() {
+        assertThat(SNAPSHOT.findRule(200, null).getInterestRate()).isEqualByComparingTo("6.50");
+        assertThat(SNAPSHOT.findRule(400, null)).isNull();
+    }
+
+    @Test
+    void headlineRuleIsTheOneWithTheLowestMinTerm() {
+        assertThat(SNAPSHOT.firstRule().getInterestRate()).isEqualByComparingTo("5.00");
+        PricingRuleIndex.Snapshot empty = new PricingRuleIndex.Snapshot(List.of(), List.of(), List.of());
+        assertThat(empty.firstRule()).isNull();
+        assertThat(empty.findRule(30, BigDecimal.TEN)).isNull();
+    }
+
+    @Test
+    void matchesALinearScanOverEveryTermAndAmount() {
+        List<BusinessRuleView> rules = SNAPSHOT.getRules();
+        for (int term = 0; term <= 800; term++) {
+            for (String amount : List.of("0", "9999.99", "10000", "499999.99", "500000", "1000000", "5000000")) {
+                BigDecimal value = new BigDecimal(amount);
+                BusinessRuleView expected = null;
+                for (BusinessRuleView rule : rules) {
+                    if (fits(rule, term, value)
+                            && (expected == null || minTerm(rule) > minTerm(expected))) {
+                        expected = rule;
+                    }
+                }
+                assertThat(SNAPSHOT.findRule(term, value)).as("term %d, amount %s", term, amount).isSameAs(expected);
+            }
+        }
+    }
+
+    @Test
+    void snapshotsHoldCopiesOfTheEntities() {
+        BusinessRule entity = rule(null, null, null, null, "5.00");
+        PricingRuleIndex.Snapshot snapshot = new PricingRuleIndex.Snapshot(List.of(entity), List.of(), List.of());
+
+        entity.setInterestRate(new BigDecimal("9.00"));
+        assertThat(snapshot.findRule(30, null).getInterestRate()).isEqualByComparingTo("5.00");
+    }
+
+    @Test
+    void firstLoadOverlappingAnEvictionIsNotKept() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch evicted = new CountDownLatch(1);
+        BusinessRuleRepository rules = mock(BusinessRuleRepository.class);
+        when(rules.findByProductId(1L))
+                .thenAnswer(invocation -> {
+                    loading.countDown();
+                    evicted.await();
+                    return List.of(rule(null, null, null, null, "5.00"));
+                })
+                .thenReturn(List.of(rule(null, null, null, null, "6.00")));
+        PricingRuleIndex index = new PricingRuleIndex();
+        ReflectionTestUtils.setField(index, "businessRuleRepository", rules);
+        ReflectionTestUtils.setField(index, "rateMatrixRepository", mock(RateMatrixRepository.class));
+        ReflectionTestUtils.setField(index, "chargeRepository", mock(ChargeRepository.class));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<PricingRuleIndex.Snapshot> first = executor.submit(() -> index.snapshot(1L));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            // The rule was written and its product evicted while the load was reading the old row
+            index.evict(1L);
+            evicted.countDown();
+            assertThat(first.get(5, TimeUnit.SECONDS).findRule(30, null).getInterestRate()).isEqualByComparingTo("5.00");
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(index.snapshot(1L).findRule(30, null).getInterestRate()).isEqualByComparingTo("6.00");
+        verify(rules, times(2)).findByProductId(1L);
+    }
+
+    private static boolean fits(BusinessRuleView rule, int term, BigDecimal amount) {
+        return minTerm(rule) <= term
+                && (rule.getMaxTerm() == null || rule.getMaxTerm() >= term)
+                && (rule.getMinAmount() == null || amount.compareTo(rule.getMinAmount()) >= 0)
+                && (rule.getMaxAmount() == null || amount.compareTo(rule.getMaxAmount()) <= 0);
+    }
+
+    private static int minTerm(BusinessRuleView rule) {
+        return rule.getMinTerm() != null ? rule.getMinTerm() : 0;
+    }
+
+    private static BusinessRule rule(Integer minTerm, Integer maxTerm, String minAmount, String maxAmount, String rate) {
+        BusinessRule rule = new BusinessRule();
+        rule.setMinTerm(minTerm);
+        rule.setMaxTerm(maxTerm);
+        rule.setMinAmount(minAmount != null ? new BigDecimal(minAmount) : null);
+        rule.setMaxAmount(maxAmount != null ? new BigDecimal(maxAmount) : null);
+        rule.setInterestRate(new BigDecimal(rate));
+        return rule;
+    }
+}
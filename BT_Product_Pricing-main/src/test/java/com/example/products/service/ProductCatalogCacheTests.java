@@ -0,0 +1,124 @@
+package com.example.products.service;
+
+import com.example.products.entity.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Writes reach the cache only when their transaction commits, a load that read the
+ * table before a commit cannot put its result back after it, and cached products
+ * are copies.
+ */
+class ProductCatalogCacheTests {
+
+    private final ProductCatalogCache cache = new ProductCatalogCache(100, Duration.ofMinutes(10));
+
+    @AfterEach
+    void endTransaction() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void writesApplyOnCommitOnly() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.getById(1L, id -> load(loads, id, "v1"));
+
+        // Rolled back: the cached product stays
+        TransactionSynchronizationManager.initSynchronization();
+        cache.onWrite(product(1L, "v2"));
+        TransactionSynchronizationManager.clearSynchronization();
+        assertThat(cache.getById(1L, id -> load(loads, id, "v2")).orElseThrow().getProductName()).isEqualTo("v1");
+
+        // Committed: dropped after commit, not before
+        TransactionSynchronizationManager.initSynchronization();
+        cache.onWrite(product(1L, "v2"));
+        assertThat(cache.getById(1L, id -> load(loads, id, "v2")).orElseThrow().getProductName()).isEqualTo("v1");
+        TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        TransactionSynchronizationManager.clearSynchronization();
+        assertThat(cache.getById(1L, id -> load(loads, id, "v2")).orElseThrow().getProductName()).isEqualTo("v2");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void listLoadedBeforeAWriteIsNotKeptAfterIt() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<List<Product>> slowRead = CompletableFuture.supplyAsync(() -> cache.getAll(() -> {
+            loading.countDown();
+            await(release);
+            return List.of(product(1L, "before"));
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Commits while the read is still loading the old rows
+        cache.onWrite(product(1L, "after"));
+        release.countDown();
+        assertThat(slowRead.get(5, TimeUnit.SECONDS)).extracting(Product::getProductName).containsExactly("before");
+
+        assertThat(cache.getAll(() -> List.of(product(1L, "after"))))
+                .extracting(Product::getProductName).containsExactly("after");
+    }
+
+    @Test
+    void clearDropsProductsLoadedDuringIt() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Optional<Product>> slowRead = CompletableFuture.supplyAsync(() -> cache.getById(7L, id -> {
+            loading.countDown();
+            await(release);
+            return Optional.of(product(id, "before"));
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        cache.clear();
+        release.countDown();
+        slowRead.get(5, TimeUnit.SECONDS);
+
+        assertThat(cache.getById(7L, id -> Optional.of(product(id, "after"))).orElseThrow().getProductName())
+                .isEqualTo("after");
+    }
+
+    @Test
+    void cachesCopiesOfTheLoadedEntities() {
+        Product loaded = product(3L, "original");
+        Product cached = cache.getById(3L, id -> Optional.of(loaded)).orElseThrow();
+        loaded.setProductName("changed by its persistence context");
+
+        assertThat(cached).isNotSameAs(loaded);
+        assertThat(cache.getById(3L, id -> Optional.empty()).orElseThrow().getProductName()).isEqualTo("original");
+    }
+
+    private static Optional<Product> load(AtomicInteger loads, Long id, String name) {
+        loads.incrementAndGet();
+        return Optional.of(product(id, name));
+    }
+
+    private static Product product(Long id, String name) {
+        Product product = new Product();
+        product.setProductId(id);
+        product.setProductName(name);
+        return product;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
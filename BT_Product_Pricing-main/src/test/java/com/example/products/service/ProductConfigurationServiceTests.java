@@ -0,0 +1,101 @@
+package com.example.products.service;
+
+import com.example.products.dto.ProductConfiguration;
+import com.example.products.entity.Charge;
+import com.example.products.entity.Product;
+import com.example.products.entity.TransactionType;
+import com.example.products.repository.ChargeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Charges in a configuration link to transaction types created by the same load
+ * through txnName, and a name the load does not create, or a charge of a calculation
+ * type the charge engine cannot evaluate, rolls the whole load back.
+ */
+@SpringBootTest
+class ProductConfigurationServiceTests {
+
+    @Autowired
+    private ProductConfigurationService configurationService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ChargeRepository chargeRepository;
+
+    @Test
+    void linksChargesToTransactionTypesOfTheSameLoadByName() {
+        Long productId = product("CFG-1");
+        ProductConfiguration configuration = configuration(
+                List.of(txn("Withdrawal"), txn("Deposit")),
+                List.of(charge("Withdrawal fee", "Withdrawal"), charge("Deposit fee", "Deposit"), charge("Account fee", null)));
+
+        ProductConfiguration loaded = configurationService.load(productId, configuration).orElseThrow();
+
+        Long withdrawal = loaded.getTransactionTypes().get(0).getTxnTypeId();
+        Long deposit = loaded.getTransactionTypes().get(1).getTxnTypeId();
+        assertThat(loaded.getCharges()).extracting(Charge::getTxnTypeId).containsExactly(withdrawal, deposit, null);
+        assertThat(chargeRepository.findById(loaded.getCharges().get(0).getChargeId()).orElseThrow().getTxnTypeId())
+                .isEqualTo(withdrawal);
+    }
+
+    @Test
+    void rollsBackWhenAChargeNamesAnUnknownTransactionType() {
+        Long productId = product("CFG-2");
+        ProductConfiguration configuration = configuration(
+                List.of(txn("Withdrawal")),
+                List.of(charge("Transfer fee", "Transfer")));
+
+        assertThatThrownBy(() -> configurationService.load(productId, configuration))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Transfer");
+        assertThat(chargeRepository.findAll()).noneMatch(charge -> productId.equals(charge.getProductId()));
+    }
+
+    @Test
+    void rejectsChargesTheEngineCannotEvaluate() {
+        Long productId = product("CFG-3");
+        Charge slab = charge("Slab fee", null);
+        slab.setCalculationType("Slab");
+
+        assertThatThrownBy(() -> configurationService.load(productId, configuration(List.of(), List.of(slab))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Slab");
+    }
+
+    private Long product(String code) {
+        Product product = new Product();
+        product.setProductCode(code);
+        product.setProductName("Configuration " + code);
+        product.setProductType("CFG");
+        product.setEffectiveDate(LocalDate.now());
+        return productService.saveProduct(product).getProductId();
+    }
+
+    private static ProductConfiguration configuration(List<TransactionType> txns, List<Charge> charges) {
+        return new ProductConfiguration(new ArrayList<>(), new ArrayList<>(txns), new ArrayList<>(charges));
+    }
+
+    private static TransactionType txn(String name) {
+        TransactionType txn = new TransactionType();
+        txn.setTxnName(name);
+        return txn;
+    }
+
+    private static Charge charge(String name, String txnName) {
+        Charge charge = new Charge();
+        charge.setChargeName(name);
+        charge.setTxnName(txnName);
+        return charge;
+    }
+}
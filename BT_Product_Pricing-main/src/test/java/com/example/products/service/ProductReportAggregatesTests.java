@@ -0,0 +1,171 @@
+package com.example.products.service;
+
+import com.example.products.dto.ProductReportRow;
+import com.example.products.dto.ProductReportSummary;
+import com.example.products.entity.Product;
+import com.example.products.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Writes products through ProductService and checks the maintained counts against
+ * the list queries they replace, after each kind of write and after a rebuild.
+ * The first load scans the table without holding the lock: writes committing
+ * meanwhile are applied at once and replayed onto the scan, and readers arriving
+ * during it wait for that scan instead of starting their own.
+ */
+@SpringBootTest
+class ProductReportAggregatesTests {
+
+    private static final LocalDate TODAY = LocalDate.now();
+    private static final List<String> TYPES = List.of("AGG-FD", "AGG-RD");
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductReportAggregates reportAggregates;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void countsFollowWritesAndMatchTheListQueries() {
+        // Written around ProductService, so only counted by loading or rebuilding from the table
+        jdbcTemplate.update("INSERT INTO products (product_code, product_type, status, effective_date, created_at) "
+                + "VALUES ('AGG-OLD', 'AGG-FD', 'ACTIVE', ?, ?)",
+                Date.valueOf(TODAY.minusYears(1)), Timestamp.valueOf(TODAY.minusMonths(2).atTime(9, 0)));
+        reportAggregates.rebuild();
+        assertMatchesListQueries();
+
+        Product open = productService.saveProduct(product("AGG-1", "AGG-FD", TODAY.minusDays(10), null));
+        Product fixed = productService.saveProduct(product("AGG-2", "AGG-FD", TODAY.minusDays(5), TODAY.plusDays(5)));
+        productService.saveProduct(product("AGG-3", "AGG-RD", TODAY.plusDays(3), TODAY.plusDays(30)));
+        // Expires before it takes effect: never active
+        productService.saveProduct(product("AGG-4", "AGG-RD", TODAY, TODAY.minusDays(1)));
+        productService.saveProduct(product("AGG-5", null, TODAY, null));
+        assertMatchesListQueries();
+
+        Product changed = product("AGG-2", "AGG-RD", TODAY.minusDays(20), TODAY.minusDays(2));
+        changed.setStatus("EXPIRED");
+        productService.updateProduct(fixed.getProductId(), changed);
+        productService.deleteProduct(open.getProductId());
+        assertMatchesListQueries();
+
+        ProductReportSummary before = reportAggregates.summary(TODAY);
+        reportAggregates.rebuild();
+        ProductReportSummary after = reportAggregates.summary(TODAY);
+        assertThat(after).usingRecursiveComparison().isEqualTo(before);
+        assertThat(after.getTotalProducts()).isEqualTo(productRepository.count());
+        assertThat(after.getByStatus()).containsEntry("EXPIRED", 1L);
+        assertThat(reportAggregates.activeOn(TODAY.plusDays(3), "AGG-RD"))
+                .isEqualTo(productService.getActiveProducts(TODAY.plusDays(3), "AGG-RD").size())
+                .isPositive();
+    }
+
+    // Not a Spring test: the repository is a mock whose scan blocks until released
+    @Test
+    void writesDuringTheFirstScanDoNotWaitForItAndAreCounted() throws Exception {
+        CountDownLatch scanStarted = new CountDownLatch(1);
+        CountDownLatch finishScan = new CountDownLatch(1);
+        ProductRepository repository = mock(ProductRepository.class);
+        when(repository.findAllReportRows()).thenAnswer(invocation -> {
+            scanStarted.countDown();
+            finishScan.await();
+            return List.of(row(1L, "FD"));
+        });
+        ProductReportAggregates aggregates = new ProductReportAggregates(repository);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            CompletableFuture<ProductReportSummary> first =
+                    CompletableFuture.supplyAsync(() -> aggregates.summary(TODAY), executor);
+            assertThat(scanStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            CompletableFuture<ProductReportSummary> second =
+                    CompletableFuture.supplyAsync(() -> aggregates.summary(TODAY), executor);
+
+            // Completes while the scan is still blocked
+            CompletableFuture.runAsync(() -> aggregates.onWrite(written(2L, "RD")), executor).get(5, TimeUnit.SECONDS);
+            assertThat(first).isNotDone();
+            assertThat(second).isNotDone();
+
+            finishScan.countDown();
+            for (ProductReportSummary summary : List.of(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS))) {
+                assertThat(summary.getTotalProducts()).isEqualTo(2);
+                assertThat(summary.getByType()).containsEntry("FD", 1L).containsEntry("RD", 1L);
+                assertThat(summary.getCreatedToday()).isEqualTo(2);
+            }
+            verify(repository, times(1)).findAllReportRows();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void assertMatchesListQueries() {
+        assertThat(productService.countProductsCreatedToday())
+                .isEqualTo(productService.getProductsCreatedToday().size());
+        assertThat(productService.countProductsCreatedThisMonth())
+                .isEqualTo(productService.getProductsCreatedThisMonth().size());
+        for (String type : TYPES) {
+            for (int day = -30; day <= 40; day++) {
+                LocalDate date = TODAY.plusDays(day);
+                assertThat(productService.countActiveProducts(date, type))
+                        .as("%s active on %s", type, date)
+                        .isEqualTo(productService.getActiveProducts(date, type).size());
+            }
+        }
+        assertThat(reportAggregates.summary(TODAY).getTotalProducts()).isEqualTo(productRepository.count());
+    }
+
+    private static Product product(String code, String type, LocalDate effective, LocalDate expiry) {
+        Product product = new Product();
+        product.setProductCode(code);
+        product.setProductName("Aggregate " + code);
+        product.setProductType(type);
+        product.setStatus("ACTIVE");
+        product.setEffectiveDate(effective);
+        product.setExpiryDate(expiry);
+        return product;
+    }
+
+    private static Product written(Long id, String type) {
+        Product product = new Product();
+        product.setProductId(id);
+        product.setProductType(type);
+        product.setStatus("ACTIVE");
+        product.setCreatedAt(TODAY.atTime(10, 0));
+        return product;
+    }
+
+    private static ProductReportRow row(Long id, String type) {
+        return new ProductReportRow() {
+            public Long getProductId() { return id; }
+            public LocalDateTime getCreatedAt() { return TODAY.atTime(9, 0); }
+            public String getProductType() { return type; }
+            public String getStatus() { return "ACTIVE"; }
+            public LocalDate getEffectiveDate() { return null; }
+            public LocalDate getExpiryDate() { return null; }
+        };
+    }
+}
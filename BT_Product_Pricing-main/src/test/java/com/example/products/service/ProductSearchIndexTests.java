@@ -0,0 +1,163 @@
+package com.example.products.service;
+
+import com.example.products.dto.ProductSuggestion;
+import com.example.products.entity.Product;
+import com.example.products.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Typeahead ranking (exact, prefix, word prefix, substring), short queries matching
+ * prefixes only, writes and deletes superseding the loaded snapshot, the snapshot
+ * rebuild once the overlay passes MAX_PENDING, and writes during the first scan
+ * neither waiting for it nor being lost.
+ */
+class ProductSearchIndexTests {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void load() {
+        ProductRepository repository = mock(ProductRepository.class);
+        // Ids run against the expected rank, so position cannot explain the order
+        when(repository.findAllSuggestions()).thenReturn(List.of(
+                suggestion(1, "X4", "Silver Saver"),
+                suggestion(2, "X3", "Marigold Deposit"),
+                suggestion(3, "X2", "Senior Gold Saver"),
+                suggestion(4, "X1", "Golden Years"),
+                suggestion(5, "GOLD-PLUS", "Premium Plus"),
+                suggestion(6, "G1", "Gold"),
+                suggestion(7, "GOLD", "Premium")));
+        index = new ProductSearchIndex(repository);
+    }
+
+    @Test
+    void ranksExactThenPrefixThenWordPrefixThenSubstring() {
+        assertThat(codes("gold", 10)).containsExactly("GOLD", "G1", "GOLD-PLUS", "X1", "X2", "X3");
+        assertThat(codes("GOLD", 2)).containsExactly("GOLD", "G1");
+        assertThat(codes("rigo", 10)).containsExactly("X3");
+        assertThat(codes("bronze", 10)).isEmpty();
+    }
+
+    @Test
+    void shorterFieldsRankFirstWithinARank() {
+        // Writes before the first search are left to the load
+        assertThat(codes("fd1", 10)).isEmpty();
+        index.onWrite(product(8, "FD100", "Term Deposit"));
+        index.onWrite(product(9, "FD1", "Term Deposit"));
+        index.onWrite(product(10, "FD19", "Term Deposit"));
+
+        assertThat(codes("fd1", 10)).containsExactly("FD1", "FD19", "FD100");
+    }
+
+    @Test
+    void shortQueriesMatchOnlyCodeAndWordPrefixes() {
+        // Marigold contains "go" but no word starts with it
+        assertThat(codes("go", 10)).containsExactly("GOLD", "GOLD-PLUS", "G1", "X1", "X2");
+        assertThat(codes("s", 10)).containsExactly("X4", "X2");
+        assertThat(codes("  ", 10)).isEmpty();
+    }
+
+    @Test
+    void writesAndDeletesSupersedeTheLoadedSnapshot() {
+        assertThat(codes("gold", 10)).contains("GOLD", "G1");
+
+        index.onWrite(product(7, "SILVER-1", "Silver Plus"));
+        index.onDelete(6L);
+        index.onWrite(product(11, "NEW", "New Gold Bond"));
+
+        assertThat(codes("gold", 10)).containsExactly("GOLD-PLUS", "X1", "NEW", "X2", "X3");
+        assertThat(codes("go", 10)).containsExactly("GOLD-PLUS", "X1", "NEW", "X2");
+        assertThat(codes("silver", 10)).containsExactly("SILVER-1", "X4");
+        assertThat(codes("si", 10)).containsExactly("SILVER-1", "X4");
+    }
+
+    @Test
+    void rebuildsTheSnapshotOnceTheOverlayPassesMaxPending() {
+        codes("gold", 1);
+        for (int i = 0; i < ProductSearchIndex.MAX_PENDING; i++) {
+            index.onWrite(product(100 + i, "BULK-" + i, "Bulk product " + i));
+        }
+        assertThat(index.pendingCount()).isEqualTo(ProductSearchIndex.MAX_PENDING);
+
+        index.onWrite(product(7, "PLATINUM", "Platinum"));
+        assertThat(index.pendingCount()).isZero();
+
+        assertThat(codes("bulk-255", 10)).containsExactly("BULK-255");
+        assertThat(codes("bulk-1", 3)).containsExactly("BULK-1", "BULK-10", "BULK-11");
+        assertThat(codes("gold", 10)).containsExactly("G1", "GOLD-PLUS", "X1", "X2", "X3");
+        assertThat(codes("pl", 10)).containsExactly("PLATINUM", "GOLD-PLUS");
+
+        index.onDelete(7L);
+        assertThat(index.pendingCount()).isEqualTo(1);
+        assertThat(codes("platinum", 10)).isEmpty();
+    }
+
+    @Test
+    void writesDuringTheFirstScanDoNotWaitForItAndAreIndexed() throws Exception {
+        CountDownLatch scanStarted = new CountDownLatch(1);
+        CountDownLatch finishScan = new CountDownLatch(1);
+        ProductRepository repository = mock(ProductRepository.class);
+        when(repository.findAllSuggestions()).thenAnswer(invocation -> {
+            scanStarted.countDown();
+            finishScan.await();
+            return List.of(suggestion(1, "GOLD", "Premium"), suggestion(2, "G1", "Gold"));
+        });
+        ProductSearchIndex loading = new ProductSearchIndex(repository);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            CompletableFuture<List<ProductSuggestion>> first =
+                    CompletableFuture.supplyAsync(() -> loading.suggest("gold", 10), executor);
+            assertThat(scanStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            CompletableFuture<List<ProductSuggestion>> second =
+                    CompletableFuture.supplyAsync(() -> loading.suggest("gold", 10), executor);
+
+            // Both complete while the scan is still blocked
+            CompletableFuture.runAsync(() -> {
+                loading.onWrite(product(3, "NEW", "New Gold Bond"));
+                loading.onDelete(2L);
+            }, executor).get(5, TimeUnit.SECONDS);
+            assertThat(first).isNotDone();
+            assertThat(second).isNotDone();
+
+            finishScan.countDown();
+            for (List<ProductSuggestion> result : List.of(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS))) {
+                assertThat(result).extracting(ProductSuggestion::getProductCode).containsExactly("GOLD", "NEW");
+            }
+            assertThat(loading.pendingCount()).isEqualTo(2);
+            verify(repository, times(1)).findAllSuggestions();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<String> codes(String query, int limit) {
+        return index.suggest(query, limit).stream().map(ProductSuggestion::getProductCode).toList();
+    }
+
+    private static ProductSuggestion suggestion(long id, String code, String name) {
+        return new ProductSuggestion(id, code, name, "FD");
+    }
+
+    private static Product product(long id, String code, String name) {
+        Product product = new Product();
+        product.setProductId(id);
+        product.setProductCode(code);
+        product.setProductName(name);
+        product.setProductType("FD");
+        return product;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.products.service;
+
+import com.example.products.dto.RateMatrixView;
+import com.example.products.entity.Product;
+import com.example.products.entity.RateMatrix;
+import com.example.products.repository.RateMatrixRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Segment boundaries of a timeline, and bands saved through RateMatrixService looked
+ * up as of every date and checked against the findActiveOn query they stand in for.
+ */
+@SpringBootTest
+class RateTimelineTests {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private RateMatrixService rateMatrixService;
+
+    @Autowired
+    private RateMatrixRepository rateMatrixRepository;
+
+    @Autowired
+    private ProductService productService;
+
+    @Test
+    void laterBandsCoverEarlierOnesUntilTheDayAfterTheyExpire() {
+        RateMatrixView base = band(1, TODAY.minusDays(100), null);
+        RateMatrixView promo = band(2, TODAY.minusDays(10), TODAY.plusDays(10));
+        RateTimeline timeline = RateTimeline.of(List.of(promo, base));
+
+        assertThat(timeline.at(TODAY.minusDays(101))).isNull();
+        assertThat(timeline.at(TODAY.minusDays(100))).isSameAs(base);
+        assertThat(timeline.at(TODAY.minusDays(11))).isSameAs(base);
+        assertThat(timeline.at(TODAY.minusDays(10))).isSameAs(promo);
+        assertThat(timeline.at(TODAY.plusDays(10))).isSameAs(promo);
+        assertThat(timeline.at(TODAY.plusDays(11))).isSameAs(base);
+        assertThat(timeline.at(LocalDate.MAX)).isSameAs(base);
+    }
+
+    @Test
+    void gapsAndOpenBoundsFollowTheBandDates() {
+        RateMatrixView undated = band(1, null, TODAY.minusDays(30));
+        RateMatrixView later = band(2, TODAY, LocalDate.MAX);
+        RateTimeline timeline = RateTimeline.of(List.of(undated, later));
+
+        assertThat(timeline.at(LocalDate.MIN)).isSameAs(undated);
+        assertThat(timeline.at(TODAY.minusDays(30))).isSameAs(undated);
+        assertThat(timeline.at(TODAY.minusDays(29))).isNull();
+        assertThat(timeline.at(TODAY.minusDays(1))).isNull();
+        assertThat(timeline.at(TODAY)).isSameAs(later);
+        assertThat(timeline.at(LocalDate.MAX)).isSameAs(later);
+        assertThat(RateTimeline.EMPTY.at(TODAY)).isNull();
+        assertThat(RateTimeline.of(List.of())).isSameAs(RateTimeline.EMPTY);
+    }
+
+    @Test
+    void bandAsOfEveryDateMatchesTheActiveRatesQuery() {
+        Product product = product("TIMELINE-1");
+        // Overlapping bands, two of them open-ended, and a single-day one
+        rate(product, "Regular", TODAY.minusDays(100), null);
+        rate(product, "Regular", TODAY.minusDays(50), TODAY.minusDays(20));
+        rate(product, "Regular", TODAY.minusDays(30), TODAY.plusDays(10));
+        rate(product, "Regular", TODAY.plusDays(5), TODAY.plusDays(5));
+        rate(product, "Regular", TODAY.plusDays(40), null);
+        // Separated by a gap
+        rate(product, "Senior Citizen", TODAY.minusDays(10), TODAY.plusDays(10));
+        rate(product, "Senior Citizen", TODAY.plusDays(20), TODAY.plusDays(30));
+
+        for (String category : List.of("Regular", "Senior Citizen", "NRI")) {
+            for (int day = -120; day <= 60; day++) {
+                LocalDate date = TODAY.plusDays(day);
+                RateMatrixView expected = rateMatrixRepository.findActiveOn(date).stream()
+                        .filter(rate -> product.getProductId().equals(rate.getProductId()))
+                        .filter(rate -> category.equalsIgnoreCase(rate.getCustomerCategory()))
+                        .max(Comparator.comparing(RateMatrixView::getEffectiveDate))
+                        .orElse(null);
+                RateMatrixView actual = rateMatrixService.getRateAsOf(product.getProductId(), category, date).orElse(null);
+                assertThat(actual == null ? null : actual.getRateId())
+                        .as("%s band on %s", category, date)
+                        .isEqualTo(expected == null ? null : expected.getRateId());
+            }
+        }
+    }
+
+    private Product product(String code) {
+        Product product = new Product();
+        product.setProductCode(code);
+        product.setProductName("Timeline " + code);
+        product.setProductType("TIMELINE");
+        product.setEffectiveDate(TODAY.minusYears(1));
+        return productService.saveProduct(product);
+    }
+
+    private void rate(Product product, String category, LocalDate effective, LocalDate expiry) {
+        RateMatrix rate = new RateMatrix();
+        rate.setProduct(product);
+        rate.setCustomerCategory(category);
+        rate.setBaseInterestRate(new BigDecimal("6.50"));
+        rate.setEffectiveDate(effective);
+        rate.setExpiryDate(expiry);
+        rateMatrixService.saveRate(rate);
+    }
+
+    private static RateMatrixView band(long rateId, LocalDate effective, LocalDate expiry) {
+        return new RateMatrixView(rateId, 1L, "Regular", new BigDecimal("6.50"), null, null, effective, expiry);
+    }
+}
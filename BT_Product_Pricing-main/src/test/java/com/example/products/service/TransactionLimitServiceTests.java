@@ -0,0 +1,166 @@
+package com.example.products.service;
+
+import com.example.products.dto.AuthorizationRequest;
+import com.example.products.dto.AuthorizationResult;
+import com.example.products.entity.TransactionType;
+import com.example.products.repository.TransactionTypeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Daily usage counting: concurrent checks at the limit approve exactly up to it, a new
+ * day starts from zero, a check that meets a counter being pruned starts over without
+ * losing its count, and in persistent mode instances share one stored count.
+ */
+@SpringBootTest
+class TransactionLimitServiceTests {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 14);
+
+    @Autowired
+    private TransactionTypeRepository transactionTypeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void concurrentChecksApproveExactlyUpToTheLimit() throws Exception {
+        Long txnTypeId = txnType(100, null);
+        TransactionLimitService service = service("memory");
+        assertThat(approvals(List.of(service), txnTypeId, "ACC-RACE")).isEqualTo(100);
+
+        AuthorizationResult next = service.authorize(txnTypeId, request("ACC-RACE", "10"), DAY).orElseThrow();
+        assertThat(next.isApproved()).isFalse();
+        assertThat(next.getUsedCount()).isEqualTo(100);
+        assertThat(next.getUsedAmount()).isEqualByComparingTo("1000.00");
+    }
+
+    @Test
+    void persistentInstancesShareOneDailyLimit() throws Exception {
+        Long txnTypeId = txnType(100, null);
+        List<TransactionLimitService> instances = List.of(service("persistent"), service("persistent"));
+        assertThat(approvals(instances, txnTypeId, "ACC-SHARED")).isEqualTo(100);
+        assertThat(jdbcTemplate.queryForObject("SELECT used_count FROM txn_limit_counters"
+                + " WHERE account_id = ? AND txn_type_id = ?", Integer.class, "ACC-SHARED", txnTypeId)).isEqualTo(100);
+
+        // A restarted or newly started instance continues from the stored usage
+        AuthorizationResult next = service("persistent").authorize(txnTypeId, request("ACC-SHARED", "10"), DAY).orElseThrow();
+        assertThat(next.isApproved()).isFalse();
+        assertThat(next.getUsedCount()).isEqualTo(100);
+        assertThat(next.getUsedAmount()).isEqualByComparingTo("1000.00");
+
+        AuthorizationResult nextDay = instances.get(0).authorize(txnTypeId, request("ACC-SHARED", "10"), DAY.plusDays(1))
+                .orElseThrow();
+        assertThat(nextDay.isApproved()).isTrue();
+        assertThat(nextDay.getUsedCount()).isEqualTo(1);
+        assertThat(instances.get(1).authorize(txnTypeId, request("ACC-SHARED", "10"), DAY.plusDays(1))
+                .orElseThrow().getUsedCount()).isEqualTo(2);
+    }
+
+    @Test
+    void usageStartsOverOnANewDay() {
+        Long txnTypeId = txnType(2, "500");
+        TransactionLimitService service = service("memory");
+
+        assertThat(service.authorize(txnTypeId, request("ACC-DAY", "300"), DAY).orElseThrow().isApproved()).isTrue();
+        AuthorizationResult overDaily = service.authorize(txnTypeId, request("ACC-DAY", "300"), DAY).orElseThrow();
+        assertThat(overDaily.isApproved()).isFalse();
+        assertThat(overDaily.getReason()).isEqualTo("daily limit exceeded");
+
+        AuthorizationResult nextDay = service.authorize(txnTypeId, request("ACC-DAY", "300"), DAY.plusDays(1)).orElseThrow();
+        assertThat(nextDay.isApproved()).isTrue();
+        assertThat(nextDay.getUsedCount()).isEqualTo(1);
+        assertThat(nextDay.getUsedAmount()).isEqualByComparingTo("300.00");
+        assertThat(nextDay.getRemainingAmount()).isEqualByComparingTo("200.00");
+    }
+
+    @Test
+    void checkMeetingAPrunedCounterStartsOverAndKeepsItsCount() {
+        Long txnTypeId = txnType(1, null);
+        TransactionLimitService service = service("memory");
+        assertThat(service.authorize(txnTypeId, request("ACC-PRUNE", "10"), DAY).orElseThrow().isApproved()).isTrue();
+
+        // Marked PRUNED but not yet removed when the next day's check arrives
+        Runnable sweep = service.retire(DAY.plusDays(1));
+        AuthorizationResult retried = service.authorize(txnTypeId, request("ACC-PRUNE", "10"), DAY.plusDays(1)).orElseThrow();
+        sweep.run();
+
+        assertThat(retried.isApproved()).isTrue();
+        assertThat(retried.getUsedCount()).isEqualTo(1);
+        // The removal left the new counter in place, so the day's single transaction is used up
+        AuthorizationResult again = service.authorize(txnTypeId, request("ACC-PRUNE", "10"), DAY.plusDays(1)).orElseThrow();
+        assertThat(again.isApproved()).isFalse();
+        assertThat(again.getReason()).isEqualTo("daily transaction count exceeded");
+    }
+
+    // Races 64 threads, spread over the instances, through 10 checks of 10.00 each
+    private static int approvals(List<TransactionLimitService> instances, Long txnTypeId, String accountId)
+            throws Exception {
+        int threads = 64;
+        int checksPerThread = 10;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> approvals = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                TransactionLimitService service = instances.get(t % instances.size());
+                approvals.add(executor.submit(() -> {
+                    start.await();
+                    int approved = 0;
+                    for (int i = 0; i < checksPerThread; i++) {
+                        if (service.authorize(txnTypeId, request(accountId, "10"), DAY).orElseThrow().isApproved()) {
+                            approved++;
+                        }
+                    }
+                    return approved;
+                }));
+            }
+            start.countDown();
+            int total = 0;
+            for (Future<Integer> approved : approvals) {
+                total += approved.get();
+            }
+            return total;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private TransactionLimitService service(String mode) {
+        return new TransactionLimitService(transactionTypeRepository, jdbcTemplate, transactionManager, mode);
+    }
+
+    private Long txnType(Integer frequencyLimitPerDay, String dailyLimit) {
+        TransactionType type = new TransactionType();
+        type.setProductId(1L);
+        type.setTxnName("Limited");
+        type.setIsAllowed(true);
+        type.setFrequencyLimitPerDay(frequencyLimitPerDay);
+        type.setDailyLimit(dailyLimit != null ? new BigDecimal(dailyLimit) : null);
+        return transactionTypeRepository.save(type).getTxnTypeId();
+    }
+
+    private static AuthorizationRequest request(String accountId, String amount) {
+        AuthorizationRequest request = new AuthorizationRequest();
+        request.setAccountId(accountId);
+        request.setAmount(new BigDecimal(amount));
+        return request;
+    }
+}